@@ -6,11 +6,14 @@ import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -30,7 +33,17 @@ public class BookingClient extends BaseClient {
     public ResponseEntity<Object> getBookings(Long userId,
                                               BookingState state,
                                               Integer from,
-                                              Integer size) {
+                                              Integer size,
+                                              String cursor) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "state", state.name(),
+                    "cursor", cursor,
+                    "size", size
+            );
+            return get("?state={state}&cursor={cursor}&size={size}", userId, parameters);
+        }
+
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
@@ -42,7 +55,17 @@ public class BookingClient extends BaseClient {
     public ResponseEntity<Object> getOwnerBookings(Long userId,
                                                    BookingState state,
                                                    Integer from,
-                                                   Integer size) {
+                                                   Integer size,
+                                                   String cursor) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "state", state.name(),
+                    "cursor", cursor,
+                    "size", size
+            );
+            return get("/owner?state={state}&cursor={cursor}&size={size}", userId, parameters);
+        }
+
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
@@ -51,11 +74,20 @@ public class BookingClient extends BaseClient {
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
 
+    public ResponseEntity<StreamingResponseBody> exportOwnerBookings(Long userId) throws IOException {
+        return stream("/owner/export", userId);
+    }
+
     public ResponseEntity<Object> createBooking(Long userId,
                                                 BookingDto bookingDto) {
         return post("", userId, bookingDto);
     }
 
+    public ResponseEntity<Object> createBookings(Long userId,
+                                                 List<BookingDto> bookingDtos) {
+        return post("/batch", userId, bookingDtos);
+    }
+
     public ResponseEntity<Object> getBooking(Long userId,
                                              Long bookingId) {
         return get("/" + bookingId, userId);
@@ -1,18 +1,24 @@
 package ru.practicum.shareit.booking.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.client.BookingClient;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.validation.Marker;
 
+import java.io.IOException;
+import java.util.List;
+
 @Slf4j
 @RestController
 @AllArgsConstructor
@@ -30,6 +36,17 @@ public class BookingController {
         return bookingClient.createBooking(userId, bookingDto);
     }
 
+    @PostMapping("/batch")
+    @Validated(Marker.OnCreate.class)
+    public ResponseEntity<Object> createBookings(@NotEmpty(groups = Marker.OnCreate.class)
+                                                 @Size(max = 100, groups = Marker.OnCreate.class) @RequestBody
+                                                 List<@Valid BookingDto> bookingDtos,
+                                                 @RequestHeader("X-Sharer-User-Id") Long userId) {
+
+        log.debug("Попытка пользователем {} создания {} запросов бронирования.", userId, bookingDtos.size());
+        return bookingClient.createBookings(userId, bookingDtos);
+    }
+
     @PatchMapping("/{bookingId}")
     public ResponseEntity<Object> approveBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                  @PathVariable("bookingId") Long bookingId,
@@ -54,10 +71,11 @@ public class BookingController {
                                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
                                               Integer from,
                                               @Positive @RequestParam(name = "size", defaultValue = "10")
-                                              Integer size) {
+                                              Integer size,
+                                              @RequestParam(name = "cursor", required = false) String cursor) {
 
         log.debug("Попытка пользователем {} получения информации о всех бронированиях.", userId);
-        return bookingClient.getBookings(userId, state, from, size);
+        return bookingClient.getBookings(userId, state, from, size, cursor);
     }
 
     @GetMapping("/owner")
@@ -67,9 +85,18 @@ public class BookingController {
                                                    @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
                                                    Integer from,
                                                    @Positive @RequestParam(name = "size", defaultValue = "10")
-                                                   Integer size) {
+                                                   Integer size,
+                                                   @RequestParam(name = "cursor", required = false) String cursor) {
 
         log.debug("Попытка пользователем {} получения информации о бронировании вещей пользователя.", userId);
-        return bookingClient.getOwnerBookings(userId, state, from, size);
+        return bookingClient.getOwnerBookings(userId, state, from, size, cursor);
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId)
+            throws IOException {
+
+        log.debug("Попытка пользователем {} выгрузки бронирований вещей пользователя.", userId);
+        return bookingClient.exportOwnerBookings(userId);
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,16 @@
 package ru.practicum.shareit.client;
 
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -75,6 +81,49 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    protected ResponseEntity<StreamingResponseBody> stream(String path, long userId) throws IOException {
+        ClientHttpRequest request = rest.getRequestFactory()
+                .createRequest(rest.getUriTemplateHandler().expand(path), HttpMethod.GET);
+        request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+        return forward(request.execute());
+    }
+
+    protected ResponseEntity<StreamingResponseBody> upload(String path, long userId, String contentType,
+                                                           InputStream body) throws IOException {
+        ClientHttpRequest request = rest.getRequestFactory()
+                .createRequest(rest.getUriTemplateHandler().expand(path), HttpMethod.POST);
+        request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+        request.getHeaders().set(HttpHeaders.CONTENT_TYPE, contentType);
+        if (request instanceof StreamingHttpOutputMessage streamingRequest) {
+            streamingRequest.setBody(outputStream -> StreamUtils.copy(body, outputStream));
+        } else {
+            StreamUtils.copy(body, request.getBody());
+        }
+        return forward(request.execute());
+    }
+
+    private static ResponseEntity<StreamingResponseBody> forward(ClientHttpResponse shareitServerResponse)
+            throws IOException {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(shareitServerResponse.getStatusCode());
+        MediaType contentType = shareitServerResponse.getHeaders().getContentType();
+        if (contentType != null) {
+            responseBuilder.contentType(contentType);
+        }
+
+        if (!shareitServerResponse.getStatusCode().is2xxSuccessful()) {
+            try (shareitServerResponse) {
+                byte[] body = StreamUtils.copyToByteArray(shareitServerResponse.getBody());
+                return responseBuilder.body(outputStream -> outputStream.write(body));
+            }
+        }
+
+        return responseBuilder.body(outputStream -> {
+            try (shareitServerResponse) {
+                StreamUtils.copy(shareitServerResponse.getBody(), outputStream);
+            }
+        });
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
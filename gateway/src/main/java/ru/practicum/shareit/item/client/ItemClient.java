@@ -6,11 +6,15 @@ import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.Map;
 
@@ -31,17 +35,48 @@ public class ItemClient extends BaseClient {
     public ResponseEntity<Object> searchItems(String text,
                                               Long userId,
                                               Integer from,
-                                              Integer size) {
+                                              Integer size,
+                                              Boolean ranked,
+                                              LocalDateTime start,
+                                              LocalDateTime end) {
         if (text == null || text.trim().isEmpty()) {
             return ResponseEntity.ok(Collections.emptyList());
         }
 
+        if (start != null && end != null) {
+            Map<String, Object> parameters = Map.of(
+                    "text", text,
+                    "from", from,
+                    "size", size,
+                    "ranked", ranked,
+                    "start", start,
+                    "end", end
+            );
+            return get("/search?text={text}&from={from}&size={size}&ranked={ranked}&start={start}&end={end}",
+                    userId, parameters);
+        }
+
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
+                "size", size,
+                "ranked", ranked
+        );
+        return get("/search?text={text}&from={from}&size={size}&ranked={ranked}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> suggestItemNames(String prefix,
+                                                   Long userId,
+                                                   Integer size) {
+        if (prefix == null || prefix.isBlank()) {
+            return ResponseEntity.ok(Collections.emptyList());
+        }
+
+        Map<String, Object> parameters = Map.of(
+                "prefix", prefix,
                 "size", size
         );
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        return get("/suggest?prefix={prefix}&size={size}", userId, parameters);
     }
 
     public ResponseEntity<Object> createComment(CommentDto commentDto,
@@ -50,6 +85,24 @@ public class ItemClient extends BaseClient {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
 
+    public ResponseEntity<Object> getComments(Long itemId,
+                                              Long userId,
+                                              String cursor,
+                                              Integer size) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "cursor", cursor,
+                    "size", size
+            );
+            return get("/" + itemId + "/comment?cursor={cursor}&size={size}", userId, parameters);
+        }
+
+        Map<String, Object> parameters = Map.of(
+                "size", size
+        );
+        return get("/" + itemId + "/comment?size={size}", userId, parameters);
+    }
+
     public ResponseEntity<Object> updateItem(ItemDto itemDto,
                                              Long itemId,
                                              Long userId) {
@@ -71,6 +124,12 @@ public class ItemClient extends BaseClient {
         return post("", userId, itemDto);
     }
 
+    public ResponseEntity<StreamingResponseBody> importItems(Long userId,
+                                                             String contentType,
+                                                             InputStream body) throws IOException {
+        return upload("/import", userId, contentType, body);
+    }
+
     public ResponseEntity<Object> getItem(Long itemId,
                                           Long userId) {
         return get("/" + itemId, userId);
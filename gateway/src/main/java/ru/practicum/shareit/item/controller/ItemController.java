@@ -3,16 +3,22 @@ package ru.practicum.shareit.item.controller;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.item.client.ItemClient;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.validation.Marker;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+
 @Slf4j
 @RestController
 @Validated
@@ -29,6 +35,14 @@ public class ItemController {
         return itemClient.createItem(itemDto, userId);
     }
 
+    @PostMapping(path = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<StreamingResponseBody> importItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                             @RequestHeader("Content-Type") String contentType,
+                                                             HttpServletRequest request) throws IOException {
+        log.debug("Попытка импорта предметов в формате {}.", contentType);
+        return itemClient.importItems(userId, contentType, request.getInputStream());
+    }
+
     @PatchMapping("/{itemId}")
     @Validated(Marker.OnUpdate.class)
     public ResponseEntity<Object> updateItem(@Valid @RequestBody ItemDto itemDto,
@@ -51,9 +65,30 @@ public class ItemController {
                                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
                                               Integer from,
                                               @Positive @RequestParam(name = "size", defaultValue = "10")
-                                              Integer size) {
+                                              Integer size,
+                                              @RequestParam(name = "ranked", defaultValue = "false")
+                                              Boolean ranked,
+                                              @RequestParam(name = "start", required = false)
+                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                              @RequestParam(name = "end", required = false)
+                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
         log.debug("Попытка поиска предмета по описанию: {}.", searchText);
-        return itemClient.searchItems(searchText, userId, from, size);
+        if ((start == null) != (end == null)) {
+            throw new IllegalArgumentException("Для поиска свободных предметов нужны оба параметра start и end");
+        }
+        if (start != null && !end.isAfter(start)) {
+            throw new IllegalArgumentException("Окончание периода должно быть позже его начала");
+        }
+        return itemClient.searchItems(searchText, userId, from, size, ranked, start, end);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<Object> suggestItemNames(@RequestParam(name = "prefix") String prefix,
+                                                   @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                   @Positive @RequestParam(name = "size", defaultValue = "10")
+                                                   Integer size) {
+        log.debug("Попытка получения подсказок названий по префиксу: {}.", prefix);
+        return itemClient.suggestItemNames(prefix, userId, size);
     }
 
     @GetMapping
@@ -75,4 +110,14 @@ public class ItemController {
         if (userId == null) throw new IllegalArgumentException("Field userId is null");
         return itemClient.createComment(commentDto, itemId, userId);
     }
-}
\ No newline at end of file
+
+    @GetMapping("{itemId}/comment")
+    public ResponseEntity<Object> getItemComments(@PathVariable Long itemId,
+                                                  @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                  @RequestParam(name = "cursor", required = false) String cursor,
+                                                  @Positive @RequestParam(name = "size", defaultValue = "10")
+                                                  Integer size) {
+        log.debug("Попытка получения комментариев к предмету {}.", itemId);
+        return itemClient.getComments(itemId, userId, cursor, size);
+    }
+}
@@ -6,10 +6,12 @@ import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.itemRequest.dto.ItemRequestDto;
 
+import java.io.IOException;
 import java.util.Map;
 
 @Service
@@ -30,7 +32,15 @@ public class ItemRequestClient extends BaseClient {
 
     }
 
-    public ResponseEntity<Object> getAllItemRequests(Integer from, Integer size, Long userId) {
+    public ResponseEntity<Object> getAllItemRequests(Integer from, Integer size, String cursor, Long userId) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "cursor", cursor,
+                    "size", size
+            );
+            return get("/all?cursor={cursor}&size={size}", userId, parameters);
+        }
+
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -49,4 +59,8 @@ public class ItemRequestClient extends BaseClient {
         );
         return get("?from={from}&size={size}", userId, parameters);
     }
-}
\ No newline at end of file
+
+    public ResponseEntity<StreamingResponseBody> exportItemRequests(Long userId) throws IOException {
+        return stream("/export", userId);
+    }
+}
@@ -8,10 +8,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.itemRequest.client.ItemRequestClient;
 import ru.practicum.shareit.itemRequest.dto.ItemRequestDto;
 import ru.practicum.shareit.validation.Marker;
 
+import java.io.IOException;
+
 @Slf4j
 @RestController
 @Validated
@@ -38,14 +41,23 @@ public class ItemRequestController {
         return itemRequestClient.getItemRequests(userId, from, size);
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportItemRequests(@RequestHeader("X-Sharer-User-Id") Long userId)
+            throws IOException {
+
+        log.debug("Попытка выгрузки всех запросов на предметы пользователем {}.", userId);
+        return itemRequestClient.exportItemRequests(userId);
+    }
+
     @GetMapping("/all")
     public ResponseEntity<Object> getAllItemRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                      @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
                                                      Integer from,
                                                      @Positive @RequestParam(name = "size", defaultValue = "10")
-                                                     Integer size) {
+                                                     Integer size,
+                                                     @RequestParam(name = "cursor", required = false) String cursor) {
         log.debug("Попытка получения запросов на предметы всех пользователей.");
-        return itemRequestClient.getAllItemRequests(from, size, userId);
+        return itemRequestClient.getAllItemRequests(from, size, cursor, userId);
     }
 
     @GetMapping("{requestId}")
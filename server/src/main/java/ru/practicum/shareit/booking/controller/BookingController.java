@@ -2,20 +2,30 @@ package ru.practicum.shareit.booking.controller;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingWindowDto;
 import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.service.BookingExportService;
 import ru.practicum.shareit.booking.service.BookingService;
 
 import java.util.Collection;
+import java.util.List;
 
 @Slf4j
 @RestController
 @AllArgsConstructor
 @RequestMapping(path = "/bookings")
 public class BookingController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String NDJSON = "application/x-ndjson";
     private final BookingService bookingService;
+    private final BookingExportService bookingExportService;
 
     @PostMapping
     public BookingDto create(@RequestBody BookingCreateDto bookingCreateDto,
@@ -24,6 +34,13 @@ public class BookingController {
         return bookingService.create(userId, bookingCreateDto);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> createAll(@RequestBody List<BookingCreateDto> bookingCreateDtos,
+                                                 @RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.debug("Попытка пользователем {} создания {} запросов бронирования.", userId, bookingCreateDtos.size());
+        return bookingService.createAll(userId, bookingCreateDtos);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto update(@RequestHeader("X-Sharer-User-Id") Long userId,
                              @PathVariable("bookingId") Long bookingId,
@@ -40,22 +57,42 @@ public class BookingController {
     }
 
     @GetMapping
-    public Collection<BookingDto> getAllUserBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                     @RequestParam(name = "state", required = false,
-                                                             defaultValue = "ALL") BookingState state,
-                                                     @RequestParam(required = false) Integer from,
-                                                     @RequestParam(required = false) Integer size) {
+    public ResponseEntity<Collection<BookingDto>> getAllUserBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                     @RequestParam(name = "state", required = false,
+                                                                             defaultValue = "ALL") BookingState state,
+                                                                     @RequestParam(required = false) Integer from,
+                                                                     @RequestParam(required = false) Integer size,
+                                                                     @RequestParam(required = false) String cursor) {
         log.debug("Попытка пользователем {} получения информации о всех бронированиях.", userId);
-        return bookingService.findAllUserBookings(userId, state, from, size);
+        if (cursor != null) return toResponse(bookingService.scrollUserBookings(userId, state, cursor, size));
+        return ResponseEntity.ok(bookingService.findAllUserBookings(userId, state, from, size));
     }
 
     @GetMapping("/owner")
-    public Collection<BookingDto> getAllOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                      @RequestParam(name = "state", required = false,
-                                                              defaultValue = "ALL") BookingState state,
-                                                      @RequestParam(required = false) Integer from,
-                                                      @RequestParam(required = false) Integer size) {
+    public ResponseEntity<Collection<BookingDto>> getAllOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                      @RequestParam(name = "state", required = false,
+                                                                              defaultValue = "ALL") BookingState state,
+                                                                      @RequestParam(required = false) Integer from,
+                                                                      @RequestParam(required = false) Integer size,
+                                                                      @RequestParam(required = false) String cursor) {
         log.debug("Попытка пользователем {} получения информации о бронировании вещей пользователя.", userId);
-        return bookingService.findAllOwnerBookings(userId, state, from, size);
+        if (cursor != null) return toResponse(bookingService.scrollOwnerBookings(userId, state, cursor, size));
+        return ResponseEntity.ok(bookingService.findAllOwnerBookings(userId, state, from, size));
+    }
+
+    @GetMapping(path = "/owner/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.debug("Попытка пользователем {} выгрузки бронирований вещей пользователя.", userId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(bookingExportService.exportOwnerBookings(userId));
+    }
+
+    private ResponseEntity<Collection<BookingDto>> toResponse(BookingWindowDto bookingWindowDto) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (bookingWindowDto.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, bookingWindowDto.getNextCursor());
+        }
+        return response.body(bookingWindowDto.getBookings());
     }
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.time.LocalDateTime;
+
+public record BookingCursor(LocalDateTime start, Long id) {
+    public static final BookingCursor FIRST = new BookingCursor(null, null);
+}
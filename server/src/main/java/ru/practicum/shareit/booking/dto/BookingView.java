@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+public record BookingView(Long id,
+                          LocalDateTime start,
+                          LocalDateTime end,
+                          Long itemId,
+                          String itemName,
+                          Long bookerId,
+                          Long ownerId,
+                          BookingStatus status) {
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Collection;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class BookingWindowDto {
+    private Collection<BookingDto> bookings;
+    private String nextCursor;
+}
@@ -0,0 +1,168 @@
+package ru.practicum.shareit.booking.index;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class BookingIntervalIndex {
+    private final BookingRepository bookingRepository;
+    private final Duration idleTtl;
+    private final int maxItems;
+    private final ConcurrentMap<Long, ItemIntervals> intervalsByItem = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final AtomicLong version = new AtomicLong();
+
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+                                @Value("${shareit.booking-index.idle-ttl:PT1H}") Duration idleTtl,
+                                @Value("${shareit.booking-index.max-items:100000}") int maxItems) {
+        this.bookingRepository = bookingRepository;
+        this.idleTtl = idleTtl;
+        this.maxItems = maxItems;
+    }
+
+    public boolean hasOverlap(Long itemId, LocalDateTime start, LocalDateTime end) {
+        ItemIntervals intervals = intervals(itemId);
+        if (!intervals.covers(start)) {
+            return bookingRepository.existsOverlap(itemId, BookingStatus.APPROVED, start, end);
+        }
+        return intervals.overlaps(start, end);
+    }
+
+    public List<Long> findFree(List<Long> itemIds, LocalDateTime start, LocalDateTime end) {
+        preload(itemIds);
+        Set<Long> busy = new HashSet<>();
+        List<Long> uncovered = new ArrayList<>();
+        for (Long itemId : itemIds) {
+            ItemIntervals intervals = intervals(itemId);
+            if (!intervals.covers(start)) {
+                uncovered.add(itemId);
+            } else if (intervals.overlaps(start, end)) {
+                busy.add(itemId);
+            }
+        }
+        // окно, начатое до горизонта индекса (например, с начала сегодняшнего дня), проверяется в базе
+        // одним запросом на все такие предметы
+        if (!uncovered.isEmpty()) {
+            busy.addAll(bookingRepository.findOverlappingItemIds(uncovered, BookingStatus.APPROVED, start, end));
+        }
+        return itemIds.stream()
+                .filter(itemId -> !busy.contains(itemId))
+                .toList();
+    }
+
+    public void preload(Collection<Long> itemIds) {
+        List<Long> missing = itemIds.stream()
+                .distinct()
+                .filter(itemId -> !intervalsByItem.containsKey(itemId))
+                .toList();
+        if (missing.isEmpty()) return;
+
+        long loadedAt = version.get();
+        LocalDateTime horizon = LocalDateTime.now();
+        Map<Long, List<BookingInterval>> intervals = bookingRepository.findIntervalsByItemIdInAndStatus(missing,
+                        BookingStatus.APPROVED, horizon).stream()
+                .collect(Collectors.groupingBy(ItemBookingInterval::itemId,
+                        Collectors.mapping(interval -> new BookingInterval(interval.start(), interval.end()),
+                                Collectors.toList())));
+        long now = System.currentTimeMillis();
+        // подтверждение, пришедшее во время запроса, могло не попасть в выборку - такие предметы загрузятся лениво
+        missing.forEach(itemId -> intervalsByItem.compute(itemId, (id, current) -> current != null ? current :
+                version.get() == loadedAt ? ItemIntervals.of(intervals.getOrDefault(id, List.of()), horizon, now)
+                        : null));
+        misses.add(missing.size());
+        log.debug("Загружены в индекс подтвержденные бронирования {} предметов.", missing.size());
+    }
+
+    public void add(Long itemId, LocalDateTime start, LocalDateTime end) {
+        version.incrementAndGet();
+        intervalsByItem.computeIfPresent(itemId, (id, intervals) -> intervals.with(start, end));
+    }
+
+    public void invalidate(Long itemId) {
+        intervalsByItem.remove(itemId);
+    }
+
+    public void invalidateAll() {
+        intervalsByItem.clear();
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking-index.prune-interval:PT10M}",
+            initialDelayString = "${shareit.booking-index.prune-interval:PT10M}")
+    public void prune() {
+        prune(LocalDateTime.now(), System.currentTimeMillis());
+    }
+
+    // закончившиеся брони не нужны для проверок новых окон, а давно не запрошенные предметы загрузятся снова
+    void prune(LocalDateTime now, long nowMillis) {
+        long idleBefore = nowMillis - idleTtl.toMillis();
+        int evicted = 0;
+        for (Long itemId : intervalsByItem.keySet()) {
+            ItemIntervals pruned = intervalsByItem.computeIfPresent(itemId, (id, intervals) ->
+                    intervals.lastAccess() < idleBefore ? null : intervals.prunedBefore(now));
+            if (pruned == null) evicted++;
+        }
+        int excess = intervalsByItem.size() - maxItems;
+        if (excess > 0) {
+            List<Long> oldest = intervalsByItem.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().lastAccess()))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            oldest.forEach(intervalsByItem::remove);
+            evicted += oldest.size();
+        }
+        evictions.add(evicted);
+        log.debug("Индекс бронирований очищен: вытеснено {} предметов, осталось {}.", evicted,
+                intervalsByItem.size());
+    }
+
+    public BookingIntervalIndexStats stats() {
+        long intervals = intervalsByItem.values().stream()
+                .mapToLong(ItemIntervals::size)
+                .sum();
+        return new BookingIntervalIndexStats(intervalsByItem.size(), intervals, hits.sum(), misses.sum(),
+                evictions.sum());
+    }
+
+    private ItemIntervals intervals(Long itemId) {
+        ItemIntervals intervals = intervalsByItem.get(itemId);
+        if (intervals != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            intervals = intervalsByItem.computeIfAbsent(itemId, this::load);
+        }
+        intervals.touch(System.currentTimeMillis());
+        return intervals;
+    }
+
+    private ItemIntervals load(Long itemId) {
+        LocalDateTime horizon = LocalDateTime.now();
+        ItemIntervals intervals = ItemIntervals.of(bookingRepository.findIntervalsByItemIdAndStatus(itemId,
+                BookingStatus.APPROVED, horizon), horizon, System.currentTimeMillis());
+        log.debug("Загружено в индекс {} подтвержденных бронирований предмета {}.", intervals.size(), itemId);
+        return intervals;
+    }
+}
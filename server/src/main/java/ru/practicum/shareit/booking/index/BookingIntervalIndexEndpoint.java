@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.index;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "bookingindex")
+public class BookingIntervalIndexEndpoint {
+    private final BookingIntervalIndex bookingIntervalIndex;
+
+    @ReadOperation
+    public BookingIntervalIndexStats stats() {
+        return bookingIntervalIndex.stats();
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.index;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BookingIntervalIndexStats {
+    private int items;
+    private long intervals;
+    private long hits;
+    private long misses;
+    private long evictions;
+}
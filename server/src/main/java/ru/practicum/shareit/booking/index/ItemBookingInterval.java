@@ -0,0 +1,6 @@
+package ru.practicum.shareit.booking.index;
+
+import java.time.LocalDateTime;
+
+public record ItemBookingInterval(Long itemId, LocalDateTime start, LocalDateTime end) {
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.booking.index;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+
+final class ItemIntervals {
+    private final LocalDateTime[] starts;
+    private final LocalDateTime[] ends;
+    // maxEnds[i] - максимальное окончание среди интервалов 0..i, отсортированных по началу
+    private final LocalDateTime[] maxEnds;
+    // интервалы, закончившиеся раньше horizon, в индексе не хранятся
+    private final LocalDateTime horizon;
+    private volatile long lastAccess;
+
+    private ItemIntervals(LocalDateTime[] starts, LocalDateTime[] ends, LocalDateTime horizon, long lastAccess) {
+        this.starts = starts;
+        this.ends = ends;
+        this.horizon = horizon;
+        this.lastAccess = lastAccess;
+        this.maxEnds = new LocalDateTime[ends.length];
+        for (int i = 0; i < ends.length; i++) {
+            maxEnds[i] = i == 0 || ends[i].isAfter(maxEnds[i - 1]) ? ends[i] : maxEnds[i - 1];
+        }
+    }
+
+    static ItemIntervals of(Collection<BookingInterval> intervals, LocalDateTime horizon, long now) {
+        BookingInterval[] sorted = intervals.stream()
+                .filter(interval -> !interval.end().isBefore(horizon))
+                .sorted(Comparator.comparing(BookingInterval::start))
+                .toArray(BookingInterval[]::new);
+        return new ItemIntervals(Arrays.stream(sorted).map(BookingInterval::start).toArray(LocalDateTime[]::new),
+                Arrays.stream(sorted).map(BookingInterval::end).toArray(LocalDateTime[]::new), horizon, now);
+    }
+
+    // false - индекс не может ответить: окно начинается раньше горизонта и нужна проверка в базе
+    boolean covers(LocalDateTime start) {
+        return !start.isBefore(horizon);
+    }
+
+    boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        int last = lastStartingNotAfter(end);
+        return last >= 0 && !maxEnds[last].isBefore(start);
+    }
+
+    ItemIntervals with(LocalDateTime start, LocalDateTime end) {
+        if (end.isBefore(horizon)) return this;
+        int position = lastStartingNotAfter(start) + 1;
+        LocalDateTime[] newStarts = new LocalDateTime[starts.length + 1];
+        LocalDateTime[] newEnds = new LocalDateTime[ends.length + 1];
+        System.arraycopy(starts, 0, newStarts, 0, position);
+        System.arraycopy(ends, 0, newEnds, 0, position);
+        newStarts[position] = start;
+        newEnds[position] = end;
+        System.arraycopy(starts, position, newStarts, position + 1, starts.length - position);
+        System.arraycopy(ends, position, newEnds, position + 1, ends.length - position);
+        return new ItemIntervals(newStarts, newEnds, horizon, lastAccess);
+    }
+
+    ItemIntervals prunedBefore(LocalDateTime newHorizon) {
+        int kept = 0;
+        for (LocalDateTime end : ends) {
+            if (!end.isBefore(newHorizon)) kept++;
+        }
+        if (kept == ends.length) return this;
+        LocalDateTime[] newStarts = new LocalDateTime[kept];
+        LocalDateTime[] newEnds = new LocalDateTime[kept];
+        int position = 0;
+        for (int i = 0; i < ends.length; i++) {
+            if (!ends[i].isBefore(newHorizon)) {
+                newStarts[position] = starts[i];
+                newEnds[position++] = ends[i];
+            }
+        }
+        return new ItemIntervals(newStarts, newEnds, newHorizon, lastAccess);
+    }
+
+    void touch(long now) {
+        lastAccess = now;
+    }
+
+    long lastAccess() {
+        return lastAccess;
+    }
+
+    int size() {
+        return starts.length;
+    }
+
+    private int lastStartingNotAfter(LocalDateTime moment) {
+        int low = 0;
+        int high = starts.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid].isAfter(moment)) {
+                high = mid - 1;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return high;
+    }
+}
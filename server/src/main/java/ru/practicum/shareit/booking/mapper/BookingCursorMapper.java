@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking.mapper;
+
+import jakarta.validation.ValidationException;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingView;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public class BookingCursorMapper {
+    private static final String SEPARATOR = "|";
+
+    public static String toCursor(BookingView booking) {
+        String cursor = booking.start() + SEPARATOR + booking.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BookingCursor toBookingCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return BookingCursor.FIRST;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            return new BookingCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new ValidationException("Некорректный курсор " + cursor);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking.mapper;
 
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
@@ -31,14 +32,30 @@ public class BookingMapper {
         );
     }
 
-    public static Booking toBooking(BookingCreateDto bookingCreateDto, Long bookerId, String itemName) {
+    public static BookingDto toBookingDto(BookingView booking) {
+        return new BookingDto(booking.id(),
+                booking.start(),
+                booking.end(),
+                Item.builder()
+                        .id(booking.itemId())
+                        .name(booking.itemName())
+                        .build(),
+                User.builder()
+                        .id(booking.bookerId())
+                        .build(),
+                booking.status()
+        );
+    }
+
+    public static Booking toBooking(BookingCreateDto bookingCreateDto, Long bookerId, Item item) {
         return Booking.builder()
                 .start(bookingCreateDto.getStart())
                 .endTime(bookingCreateDto.getEnd())
                 .item(Item.builder()
                         .id(bookingCreateDto.getItemId())
-                        .name(itemName)
+                        .name(item.getName())
                         .build())
+                .ownerId(item.getOwner().getId())
                 .booker(User.builder()
                         .id(bookerId)
                         .build())
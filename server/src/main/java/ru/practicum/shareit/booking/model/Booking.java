@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 @Builder
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "at_start")
@@ -36,4 +37,17 @@ public class Booking {
     @Column(name = "status")
     @Enumerated(EnumType.STRING)
     private BookingStatus status;
+
+    // владелец предмета дублируется в брони, чтобы выборки владельца шли по индексу без соединения с items
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @PrePersist
+    void fillOwnerId() {
+        if (ownerId != null) return;
+        if (item == null || item.getOwner() == null) {
+            throw new IllegalStateException("Не задан владелец предмета для новой брони");
+        }
+        ownerId = item.getOwner().getId();
+    }
 }
\ No newline at end of file
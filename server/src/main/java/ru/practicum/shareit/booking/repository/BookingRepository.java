@@ -1,101 +1,278 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.index.BookingInterval;
+import ru.practicum.shareit.booking.index.ItemBookingInterval;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.summary.ItemBookingTime;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    String SELECT_VIEW = """
+            SELECT new ru.practicum.shareit.booking.dto.BookingView(b.id, b.start, b.endTime, i.id, i.name,
+            b.booker.id, b.ownerId, b.status)
+            FROM Booking b
+            JOIN b.item i
+            """;
+    String CURRENT = "AND b.start < :now AND b.endTime > :now ";
+    String PAST = "AND b.endTime < :now ";
+    String FUTURE = "AND b.start > :now ";
+    // сравнение пар (start, id) раскрывается в условие индексов (booker_id|owner_id, at_start DESC, id DESC)
+    String BEFORE_CURSOR = "AND (b.start, b.id) < (:cursorStart, :cursorId) ";
+    String ORDER_BY_START_DESC = "ORDER BY b.start DESC, b.id DESC";
 
     @EntityGraph(attributePaths = {"item", "item.owner"})
     Optional<Booking> findBookingWithGraphById(Long bookingId);
 
-    @EntityGraph(attributePaths = {"item", "item.owner"})
-    Page<Booking> findAllByBooker_Id(Long bookerId, Pageable pageable);
+    @Query(SELECT_VIEW + "WHERE b.id = :id")
+    Optional<BookingView> findViewById(@Param("id") Long bookingId);
 
-    @EntityGraph(attributePaths = {"item", "item.owner"})
-    Page<Booking> findAllByItem_Id(Long itemId,
-                                   Pageable pageable);
+    @Query("SELECT b.status FROM Booking b WHERE b.id = :id")
+    BookingStatus findStatusById(@Param("id") Long bookingId);
 
     @EntityGraph(attributePaths = {"item", "item.owner"})
     Collection<Booking> findAllByItem_Id(Long itemId);
 
-    @EntityGraph(attributePaths = {"item", "item.owner"})
-    Page<Booking> findAllByItem_IdIn(List<Long> itemIds,
-                                     Pageable pageable);
+    // по одной последней завершившейся (дольше секунды) и ближайшей будущей брони предмета в статусе status
+    @Query(nativeQuery = true, value = """
+            SELECT id, at_start, at_end, item_id, booker_id, status, owner_id
+            FROM (SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.at_end DESC, b.id DESC) AS rn
+                  FROM bookings b
+                  WHERE b.item_id IN (:itemIds)
+                  AND b.status = :status
+                  AND b.at_end < :now
+                  AND b.at_end >= b.at_start + INTERVAL '2' SECOND) last_bookings
+            WHERE rn = 1
+            UNION ALL
+            SELECT id, at_start, at_end, item_id, booker_id, status, owner_id
+            FROM (SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.at_start, b.id) AS rn
+                  FROM bookings b
+                  WHERE b.item_id IN (:itemIds)
+                  AND b.status = :status
+                  AND b.at_start > :now) next_bookings
+            WHERE rn = 1
+            """)
+    List<Booking> findLastAndNextByItemIdIn(@Param("itemIds") Collection<Long> itemIds,
+                                            @Param("status") String status,
+                                            @Param("now") LocalDateTime now);
 
-    @EntityGraph(attributePaths = {"item", "item.owner"})
-    Page<Booking> findAllByBooker_IdAndStatusAndStartBeforeAndEndTimeAfter(Long bookerId,
-                                                                           BookingStatus bookingStatus,
-                                                                           LocalDateTime startAfter,
-                                                                           LocalDateTime endBefore,
-                                                                           Pageable pageable);
+    @Query("""
+            SELECT new ru.practicum.shareit.item.summary.ItemBookingTime(b.item.id, MIN(b.endTime))
+            FROM Booking b
+            WHERE b.item.id IN :itemIds
+            AND b.status = :status
+            AND b.endTime >= :now
+            GROUP BY b.item.id
+            """)
+    List<ItemBookingTime> findEarliestEndsByItemIdIn(@Param("itemIds") Collection<Long> itemIds,
+                                                     @Param("status") BookingStatus status,
+                                                     @Param("now") LocalDateTime now);
 
-    @EntityGraph(attributePaths = {"item", "item.owner"})
-    Page<Booking> findAllByBooker_IdAndStatusAndEndTimeBefore(Long bookerId, BookingStatus bookingStatus,
-                                                              LocalDateTime endBefore,
-                                                              Pageable pageable);
+    @Query(SELECT_VIEW + "WHERE b.booker.id = :userId " + ORDER_BY_START_DESC)
+    Slice<BookingView> findBookerViews(@Param("userId") Long bookerId, Pageable pageable);
 
-    @EntityGraph(attributePaths = {"item", "item.owner"})
-    Page<Booking> findAllByBooker_IdAndStatusAndStartAfter(@Param("id") Long bookerId,
-                                                           @Param("status") BookingStatus bookingStatus,
-                                                           @Param("today") LocalDateTime startAfter,
-                                                           Pageable pageable);
+    @Query(SELECT_VIEW + "WHERE b.booker.id = :userId " + BEFORE_CURSOR + ORDER_BY_START_DESC)
+    Slice<BookingView> findBookerViewsAfter(@Param("userId") Long bookerId,
+                                            @Param("cursorStart") LocalDateTime cursorStart,
+                                            @Param("cursorId") Long cursorId,
+                                            Pageable pageable);
 
-    @EntityGraph(attributePaths = {"item", "item.owner"})
-    Page<Booking> findAllByBooker_IdAndStatus(Long bookerId, BookingStatus bookingStatus,
+    @Query(SELECT_VIEW + "WHERE b.booker.id = :userId AND b.status = :status " + ORDER_BY_START_DESC)
+    Slice<BookingView> findBookerViewsByStatus(@Param("userId") Long bookerId,
+                                               @Param("status") BookingStatus status,
+                                               Pageable pageable);
+
+    @Query(SELECT_VIEW + "WHERE b.booker.id = :userId AND b.status = :status " + BEFORE_CURSOR
+            + ORDER_BY_START_DESC)
+    Slice<BookingView> findBookerViewsByStatusAfter(@Param("userId") Long bookerId,
+                                                    @Param("status") BookingStatus status,
+                                                    @Param("cursorStart") LocalDateTime cursorStart,
+                                                    @Param("cursorId") Long cursorId,
+                                                    Pageable pageable);
+
+    @Query(SELECT_VIEW + "WHERE b.booker.id = :userId AND b.status = :status " + CURRENT + ORDER_BY_START_DESC)
+    Slice<BookingView> findCurrentBookerViews(@Param("userId") Long bookerId,
+                                              @Param("status") BookingStatus status,
+                                              @Param("now") LocalDateTime now,
                                               Pageable pageable);
 
-    @EntityGraph(attributePaths = {"item", "item.owner"})
-    Page<Booking> findAllByItem_Owner_Id(Long ownerId,
-                                         Pageable pageable);
+    @Query(SELECT_VIEW + "WHERE b.booker.id = :userId AND b.status = :status " + CURRENT + BEFORE_CURSOR
+            + ORDER_BY_START_DESC)
+    Slice<BookingView> findCurrentBookerViewsAfter(@Param("userId") Long bookerId,
+                                                   @Param("status") BookingStatus status,
+                                                   @Param("now") LocalDateTime now,
+                                                   @Param("cursorStart") LocalDateTime cursorStart,
+                                                   @Param("cursorId") Long cursorId,
+                                                   Pageable pageable);
 
-    @EntityGraph(attributePaths = {"item", "item.owner"})
-    Page<Booking> findAllByItem_Owner_IdAndStatusAndStartBeforeAndEndTimeAfter(Long ownerId,
-                                                                               BookingStatus bookingStatus,
-                                                                               LocalDateTime startBefore,
-                                                                               LocalDateTime endAfter,
-                                                                               Pageable pageable);
+    @Query(SELECT_VIEW + "WHERE b.booker.id = :userId AND b.status = :status " + PAST + ORDER_BY_START_DESC)
+    Slice<BookingView> findPastBookerViews(@Param("userId") Long bookerId,
+                                           @Param("status") BookingStatus status,
+                                           @Param("now") LocalDateTime now,
+                                           Pageable pageable);
 
-    @EntityGraph(attributePaths = {"item", "item.owner"})
-    Page<Booking> findAllByItem_Owner_IdAndStatusAndEndTimeBefore(Long ownerId, BookingStatus bookingStatus,
-                                                                  LocalDateTime endBefore,
-                                                                  Pageable pageable);
+    @Query(SELECT_VIEW + "WHERE b.booker.id = :userId AND b.status = :status " + PAST + BEFORE_CURSOR
+            + ORDER_BY_START_DESC)
+    Slice<BookingView> findPastBookerViewsAfter(@Param("userId") Long bookerId,
+                                                @Param("status") BookingStatus status,
+                                                @Param("now") LocalDateTime now,
+                                                @Param("cursorStart") LocalDateTime cursorStart,
+                                                @Param("cursorId") Long cursorId,
+                                                Pageable pageable);
 
-    @EntityGraph(attributePaths = {"item", "item.owner"})
-    Page<Booking> findAllByItem_Owner_IdAndStatusAndStartAfter(Long ownerId, BookingStatus bookingStatus,
-                                                               LocalDateTime startAfter,
-                                                               Pageable pageable);
+    @Query(SELECT_VIEW + "WHERE b.booker.id = :userId AND b.status = :status " + FUTURE + ORDER_BY_START_DESC)
+    Slice<BookingView> findFutureBookerViews(@Param("userId") Long bookerId,
+                                             @Param("status") BookingStatus status,
+                                             @Param("now") LocalDateTime now,
+                                             Pageable pageable);
 
-    @EntityGraph(attributePaths = {"item", "item.owner"})
-    Page<Booking> findAllByItem_Owner_IdAndStatus(Long ownerId, BookingStatus bookingStatus,
+    @Query(SELECT_VIEW + "WHERE b.booker.id = :userId AND b.status = :status " + FUTURE + BEFORE_CURSOR
+            + ORDER_BY_START_DESC)
+    Slice<BookingView> findFutureBookerViewsAfter(@Param("userId") Long bookerId,
+                                                  @Param("status") BookingStatus status,
+                                                  @Param("now") LocalDateTime now,
+                                                  @Param("cursorStart") LocalDateTime cursorStart,
+                                                  @Param("cursorId") Long cursorId,
                                                   Pageable pageable);
 
+    @Query(SELECT_VIEW + "WHERE b.ownerId = :userId " + ORDER_BY_START_DESC)
+    Slice<BookingView> findOwnerViews(@Param("userId") Long ownerId, Pageable pageable);
+
+    @Query(SELECT_VIEW + "WHERE b.ownerId = :userId " + BEFORE_CURSOR + ORDER_BY_START_DESC)
+    Slice<BookingView> findOwnerViewsAfter(@Param("userId") Long ownerId,
+                                           @Param("cursorStart") LocalDateTime cursorStart,
+                                           @Param("cursorId") Long cursorId,
+                                           Pageable pageable);
+
+    @Query(SELECT_VIEW + "WHERE b.ownerId = :userId AND b.status = :status " + ORDER_BY_START_DESC)
+    Slice<BookingView> findOwnerViewsByStatus(@Param("userId") Long ownerId,
+                                              @Param("status") BookingStatus status,
+                                              Pageable pageable);
+
+    @Query(SELECT_VIEW + "WHERE b.ownerId = :userId AND b.status = :status " + BEFORE_CURSOR
+            + ORDER_BY_START_DESC)
+    Slice<BookingView> findOwnerViewsByStatusAfter(@Param("userId") Long ownerId,
+                                                   @Param("status") BookingStatus status,
+                                                   @Param("cursorStart") LocalDateTime cursorStart,
+                                                   @Param("cursorId") Long cursorId,
+                                                   Pageable pageable);
+
+    @Query(SELECT_VIEW + "WHERE b.ownerId = :userId AND b.status = :status " + CURRENT + ORDER_BY_START_DESC)
+    Slice<BookingView> findCurrentOwnerViews(@Param("userId") Long ownerId,
+                                             @Param("status") BookingStatus status,
+                                             @Param("now") LocalDateTime now,
+                                             Pageable pageable);
+
+    @Query(SELECT_VIEW + "WHERE b.ownerId = :userId AND b.status = :status " + CURRENT + BEFORE_CURSOR
+            + ORDER_BY_START_DESC)
+    Slice<BookingView> findCurrentOwnerViewsAfter(@Param("userId") Long ownerId,
+                                                  @Param("status") BookingStatus status,
+                                                  @Param("now") LocalDateTime now,
+                                                  @Param("cursorStart") LocalDateTime cursorStart,
+                                                  @Param("cursorId") Long cursorId,
+                                                  Pageable pageable);
+
+    @Query(SELECT_VIEW + "WHERE b.ownerId = :userId AND b.status = :status " + PAST + ORDER_BY_START_DESC)
+    Slice<BookingView> findPastOwnerViews(@Param("userId") Long ownerId,
+                                          @Param("status") BookingStatus status,
+                                          @Param("now") LocalDateTime now,
+                                          Pageable pageable);
+
+    @Query(SELECT_VIEW + "WHERE b.ownerId = :userId AND b.status = :status " + PAST + BEFORE_CURSOR
+            + ORDER_BY_START_DESC)
+    Slice<BookingView> findPastOwnerViewsAfter(@Param("userId") Long ownerId,
+                                               @Param("status") BookingStatus status,
+                                               @Param("now") LocalDateTime now,
+                                               @Param("cursorStart") LocalDateTime cursorStart,
+                                               @Param("cursorId") Long cursorId,
+                                               Pageable pageable);
+
+    @Query(SELECT_VIEW + "WHERE b.ownerId = :userId AND b.status = :status " + FUTURE + ORDER_BY_START_DESC)
+    Slice<BookingView> findFutureOwnerViews(@Param("userId") Long ownerId,
+                                            @Param("status") BookingStatus status,
+                                            @Param("now") LocalDateTime now,
+                                            Pageable pageable);
+
+    @Query(SELECT_VIEW + "WHERE b.ownerId = :userId AND b.status = :status " + FUTURE + BEFORE_CURSOR
+            + ORDER_BY_START_DESC)
+    Slice<BookingView> findFutureOwnerViewsAfter(@Param("userId") Long ownerId,
+                                                 @Param("status") BookingStatus status,
+                                                 @Param("now") LocalDateTime now,
+                                                 @Param("cursorStart") LocalDateTime cursorStart,
+                                                 @Param("cursorId") Long cursorId,
+                                                 Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query(SELECT_VIEW + "WHERE b.ownerId = :userId " + ORDER_BY_START_DESC)
+    Stream<BookingView> streamOwnerViews(@Param("userId") Long ownerId);
+
     @EntityGraph(attributePaths = {"item", "item.owner"})
     Optional<Booking> findByBooker_IdAndItem_IdAndStatusAndEndTimeBefore(Long bookerId, Long itemId, BookingStatus status,
                                                                          LocalDateTime endBefore);
 
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.index.BookingInterval(b.start, b.endTime)
+            FROM Booking b
+            WHERE b.item.id = :id
+            AND b.status = :status
+            AND b.endTime >= :from
+            """)
+    List<BookingInterval> findIntervalsByItemIdAndStatus(@Param("id") Long itemId,
+                                                         @Param("status") BookingStatus bookingStatus,
+                                                         @Param("from") LocalDateTime from);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.index.ItemBookingInterval(b.item.id, b.start, b.endTime)
+            FROM Booking b
+            WHERE b.item.id IN :ids
+            AND b.status = :status
+            AND b.endTime >= :from
+            """)
+    List<ItemBookingInterval> findIntervalsByItemIdInAndStatus(@Param("ids") Collection<Long> itemIds,
+                                                               @Param("status") BookingStatus bookingStatus,
+                                                               @Param("from") LocalDateTime from);
+
     @Query("""
             SELECT COUNT(b) > 0
             FROM Booking b
             WHERE b.item.id = :id
             AND b.status = :status
+            AND b.start <= :end
             AND b.endTime >= :start
+            """)
+    boolean existsOverlap(@Param("id") Long itemId,
+                          @Param("status") BookingStatus bookingStatus,
+                          @Param("start") LocalDateTime start,
+                          @Param("end") LocalDateTime end);
+
+    @Query("""
+            SELECT DISTINCT b.item.id
+            FROM Booking b
+            WHERE b.item.id IN :ids
+            AND b.status = :status
             AND b.start <= :end
+            AND b.endTime >= :start
             """)
-    boolean hasOverlappingBooking(@Param("id") Long itemId,
-                                  @Param("status") BookingStatus bookingStatus,
-                                  @Param("start") LocalDateTime start,
-                                  @Param("end") LocalDateTime end);
-}
\ No newline at end of file
+    List<Long> findOverlappingItemIds(@Param("ids") Collection<Long> itemIds,
+                                      @Param("status") BookingStatus bookingStatus,
+                                      @Param("start") LocalDateTime start,
+                                      @Param("end") LocalDateTime end);
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.booking.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class BookingExportService {
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final ObjectWriter bookingWriter;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public BookingExportService(BookingRepository bookingRepository,
+                                UserRepository userRepository,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.userRepository = userRepository;
+        this.bookingWriter = objectMapper.writerFor(BookingDto.class);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public StreamingResponseBody exportOwnerBookings(Long userId) {
+        checkUserExists(userId);
+        return outputStream -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<BookingView> bookings = bookingRepository.streamOwnerViews(userId)) {
+                long count = writeBookings(bookings.iterator(), outputStream);
+                log.debug("Выгружено {} бронирований вещей пользователя {}", count, userId);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private long writeBookings(Iterator<BookingView> bookings, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        long count = 0;
+        while (bookings.hasNext()) {
+            writer.write(bookingWriter.writeValueAsString(BookingMapper.toBookingDto(bookings.next())));
+            writer.write('\n');
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private void checkUserExists(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            log.error("Пользователь {} не найден!", userId);
+            throw new EntityNotFoundException("Пользователь", userId);
+        }
+    }
+}
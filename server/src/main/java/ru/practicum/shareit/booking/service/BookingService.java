@@ -1,14 +1,19 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingWindowDto;
 import ru.practicum.shareit.booking.model.BookingState;
 
 import java.util.Collection;
+import java.util.List;
 
 public interface BookingService {
     BookingDto create(Long userId, BookingCreateDto bookingCreateDto);
 
+    List<BookingBatchResultDto> createAll(Long userId, List<BookingCreateDto> bookingCreateDtos);
+
     BookingDto update(Long userId, Long bookingId, boolean approve);
 
     BookingDto find(Long userId, Long bookingId);
@@ -16,4 +21,8 @@ public interface BookingService {
     Collection<BookingDto> findAllUserBookings(Long userId, BookingState state, Integer from, Integer size);
 
     Collection<BookingDto> findAllOwnerBookings(Long userId, BookingState state, Integer from, Integer size);
+
+    BookingWindowDto scrollUserBookings(Long userId, BookingState state, String cursor, Integer size);
+
+    BookingWindowDto scrollOwnerBookings(Long userId, BookingState state, String cursor, Integer size);
 }
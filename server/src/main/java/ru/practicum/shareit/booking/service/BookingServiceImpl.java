@@ -2,13 +2,19 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.dto.BookingWindowDto;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
+import ru.practicum.shareit.booking.mapper.BookingCursorMapper;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
@@ -20,15 +26,22 @@ import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.ItemUnavailableException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
 import ru.practicum.shareit.request.Pagination;
+import ru.practicum.shareit.transaction.AfterCommit;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -37,15 +50,16 @@ public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemSummaryService itemSummaryService;
 
     @Override
     public BookingDto create(Long userId, BookingCreateDto bookingCreateDto) {
         checkUserExists(userId);
         Item item = fetchItemAndCheckAvailability(bookingCreateDto.getItemId());
-        checkItemAvailability(bookingCreateDto, item, userId);
 
-        Booking booking = BookingMapper.toBooking(bookingCreateDto, userId, item.getName());
-        Booking savedBooking = bookingRepository.save(booking);
+        checkItemAvailability(bookingCreateDto, item, userId);
+        Booking savedBooking = bookingRepository.save(BookingMapper.toBooking(bookingCreateDto, userId, item));
 
         BookingDto bookingDto = BookingMapper.toBookingDto(savedBooking, userId);
 
@@ -54,14 +68,63 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public BookingDto update(Long userId, Long bookingId, boolean approve) {
-        Booking bookingUpdate = checkBookingExist(bookingId);
+    public List<BookingBatchResultDto> createAll(Long userId, List<BookingCreateDto> bookingCreateDtos) {
+        checkUserExists(userId);
+        List<Long> itemIds = bookingCreateDtos.stream()
+                .map(BookingCreateDto::getItemId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        bookingIntervalIndex.preload(items.keySet());
+
+        List<BookingBatchResultDto> results = new ArrayList<>();
+        List<Booking> bookings = new ArrayList<>();
+        for (BookingCreateDto bookingCreateDto : bookingCreateDtos) {
+            BookingBatchResultDto result = new BookingBatchResultDto(bookingCreateDto.getItemId(), null, null);
+            try {
+                Item item = checkItemAvailability(checkItemExists(items, bookingCreateDto.getItemId()));
+                checkItemAvailability(bookingCreateDto, item, userId);
+                bookings.add(BookingMapper.toBooking(bookingCreateDto, userId, item));
+            } catch (EntityNotFoundException | ItemUnavailableException e) {
+                result.setError(e.getMessage());
+            }
+            results.add(result);
+        }
+        Iterator<Booking> savedBookings = bookingRepository.saveAll(bookings).iterator();
+        results.stream()
+                .filter(result -> result.getError() == null)
+                .forEach(result -> result.setBooking(BookingMapper.toBookingDto(savedBookings.next(), userId)));
 
-        checkBookingAccessForOwner(bookingUpdate, userId);
-        checkBookingWaitingStatus(bookingUpdate.getStatus());
+        log.debug("Создано {} запросов на бронирование из {}", bookings.size(), results.size());
+        return results;
+    }
+
+    @Override
+    @Transactional
+    public BookingDto update(Long userId, Long bookingId, boolean approve) {
+        Booking booking = checkBookingExist(bookingId);
+        checkBookingAccessForOwner(booking, userId);
+        Long itemId = booking.getItem().getId();
+
+        // строка предмета заблокирована до конца транзакции: решения по броням одной вещи идут по очереди
+        // на всех экземплярах приложения, а статус и пересечения читаются уже после блокировки
+        itemRepository.findLockedById(itemId);
+        checkBookingWaitingStatus(bookingRepository.findStatusById(bookingId));
+        if (approve) {
+            checkApprovedOverlap(booking);
+        }
 
-        bookingUpdate.setStatus(approve ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        BookingDto bookingDto = BookingMapper.toBookingDto(bookingRepository.save(bookingUpdate), bookingUpdate.getBooker().getId());
+        booking.setStatus(approve ? BookingStatus.APPROVED : BookingStatus.REJECTED);
+        BookingDto bookingDto = BookingMapper.toBookingDto(bookingRepository.save(booking),
+                booking.getBooker().getId());
+        if (approve) {
+            AfterCommit.run(() -> {
+                bookingIntervalIndex.add(itemId, booking.getStart(), booking.getEndTime());
+                itemSummaryService.refreshBookings(List.of(itemId));
+            });
+        }
 
         log.debug("Изменен статус бронирования {}", bookingDto);
         return bookingDto;
@@ -69,10 +132,10 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public BookingDto find(Long userId, Long bookingId) {
-        Booking booking = checkBookingExist(bookingId);
+        BookingView booking = checkBookingViewExist(bookingId);
 
         checkBookingAccessForUserOrOwner(booking, userId);
-        BookingDto bookingDto = BookingMapper.toBookingDto(booking, booking.getBooker().getId());
+        BookingDto bookingDto = BookingMapper.toBookingDto(booking);
 
         log.debug("Найдено бронирование {}", bookingDto);
         return bookingDto;
@@ -82,13 +145,12 @@ public class BookingServiceImpl implements BookingService {
     public Collection<BookingDto> findAllUserBookings(Long userId, BookingState state, Integer from, Integer size) {
         checkUserExists(userId);
 
-        PageRequest pageRequest = Pagination.makePageRequest(from, size);
-        Page<Booking> bookings = getBookingsByStateAndUser(userId, state, false, pageRequest);
+        Pageable pageable = Objects.requireNonNullElseGet(Pagination.makePageRequest(from, size), Pageable::unpaged);
+        Slice<BookingView> bookings = getBookingViewsByStateAndUser(userId, state, false, BookingCursor.FIRST,
+                pageable);
         List<BookingDto> bookingDtoList = bookings.stream()
-                .map(booking -> BookingMapper.toBookingDto(booking, userId))
-                .sorted(Comparator.comparing(BookingDto::getStart).reversed())
+                .map(BookingMapper::toBookingDto)
                 .toList();
-        ;
 
         log.debug("Найден список всех бронирований пользователя {}", bookingDtoList);
         return bookingDtoList;
@@ -98,22 +160,48 @@ public class BookingServiceImpl implements BookingService {
     public Collection<BookingDto> findAllOwnerBookings(Long userId, BookingState state, Integer from, Integer size) {
         checkUserExists(userId);
 
-        PageRequest pageRequest = Pagination.makePageRequest(from, size);
-        Page<Booking> bookings = getBookingsByStateAndUser(userId, state, true, pageRequest);
+        Pageable pageable = Objects.requireNonNullElseGet(Pagination.makePageRequest(from, size), Pageable::unpaged);
+        Slice<BookingView> bookings = getBookingViewsByStateAndUser(userId, state, true, BookingCursor.FIRST,
+                pageable);
         List<BookingDto> bookingDtoList = bookings.stream()
-                .map(booking -> BookingMapper.toBookingDto(booking, userId))
-                .sorted(Comparator.comparing(BookingDto::getStart).reversed())
+                .map(BookingMapper::toBookingDto)
                 .toList();
 
-
         log.debug("Найден список бронирования всех предметов пользователя {}", bookingDtoList);
         return bookingDtoList;
     }
 
+    @Override
+    public BookingWindowDto scrollUserBookings(Long userId, BookingState state, String cursor, Integer size) {
+        checkUserExists(userId);
+
+        Slice<BookingView> bookings = getBookingViewsByStateAndUser(userId, state, false,
+                BookingCursorMapper.toBookingCursor(cursor), Pagination.makeFirstPageRequest(size));
+        BookingWindowDto bookingWindowDto = mapBookingSliceToWindowDto(bookings);
+
+        log.debug("Найдена страница бронирований пользователя {}", bookingWindowDto);
+        return bookingWindowDto;
+    }
+
+    @Override
+    public BookingWindowDto scrollOwnerBookings(Long userId, BookingState state, String cursor, Integer size) {
+        checkUserExists(userId);
+
+        Slice<BookingView> bookings = getBookingViewsByStateAndUser(userId, state, true,
+                BookingCursorMapper.toBookingCursor(cursor), Pagination.makeFirstPageRequest(size));
+        BookingWindowDto bookingWindowDto = mapBookingSliceToWindowDto(bookings);
+
+        log.debug("Найдена страница бронирований предметов пользователя {}", bookingWindowDto);
+        return bookingWindowDto;
+    }
+
     private Item fetchItemAndCheckAvailability(Long itemId) {
-        Item item = checkItemExists(itemId);
+        return checkItemAvailability(checkItemExists(itemId));
+    }
+
+    private Item checkItemAvailability(Item item) {
         if (!item.getAvailable()) {
-            log.error("Предмет с ID={} недоступен для бронирования", itemId);
+            log.error("Предмет с ID={} недоступен для бронирования", item.getId());
             throw new ItemUnavailableException(String.format("Предмет с ID_%d недоступен для бронирования", item.getId()));
         }
         return item;
@@ -126,6 +214,13 @@ public class BookingServiceImpl implements BookingService {
         });
     }
 
+    private BookingView checkBookingViewExist(Long bookingId) {
+        return bookingRepository.findViewById(bookingId).orElseThrow(() -> {
+            log.error("Бронирование {} не найдено.", bookingId);
+            return new EntityNotFoundException("Бронирование", bookingId);
+        });
+    }
+
     private User checkUserExists(Long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> {
@@ -141,6 +236,15 @@ public class BookingServiceImpl implements BookingService {
         });
     }
 
+    private Item checkItemExists(Map<Long, Item> items, Long id) {
+        Item item = items.get(id);
+        if (item == null) {
+            log.error("Предмет {} не найден", id);
+            throw new EntityNotFoundException("Предмет", id);
+        }
+        return item;
+    }
+
     private void checkBookingAccessForOwner(Booking booking, Long userId) {
         if (!booking.getItem().getOwner().getId().equals(userId)) {
             log.error("Подтвердить или отменить бронирование может только владелец вещи");
@@ -148,8 +252,8 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
-    private void checkBookingAccessForUserOrOwner(Booking booking, Long userId) {
-        if (!(booking.getBooker().getId().equals(userId) || booking.getItem().getOwner().getId().equals(userId))) {
+    private void checkBookingAccessForUserOrOwner(BookingView booking, Long userId) {
+        if (!(booking.bookerId().equals(userId) || booking.ownerId().equals(userId))) {
             log.error("Просмотреть бронирование может только владелец вещи либо автор бронирования");
             throw new AccessDeniedException("Просмотреть бронирование может только владелец вещи либо автор бронирования");
         }
@@ -160,16 +264,22 @@ public class BookingServiceImpl implements BookingService {
         LocalDateTime endBooking = bookingCreateDto.getEnd();
 
         if (item.getOwner().getId().equals(userId) ||
-                bookingRepository.hasOverlappingBooking(bookingCreateDto.getItemId(),
-                        BookingStatus.APPROVED,
-                        startBooking,
-                        endBooking)) {
+                bookingIntervalIndex.hasOverlap(bookingCreateDto.getItemId(), startBooking, endBooking)) {
             log.error("Предмет с ID={} недоступен для бронирования", bookingCreateDto.getItemId());
             throw new ItemUnavailableException(String.format("Предмет с ID_%d недоступен для бронирования",
                     bookingCreateDto.getItemId()));
         }
     }
 
+    private void checkApprovedOverlap(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        if (bookingRepository.existsOverlap(itemId, BookingStatus.APPROVED, booking.getStart(), booking.getEndTime())) {
+            log.error("Бронирование {} пересекается с подтвержденным бронированием предмета {}", booking.getId(),
+                    itemId);
+            throw new ItemUnavailableException(String.format("Предмет с ID_%d уже забронирован на эти даты", itemId));
+        }
+    }
+
     private void checkBookingWaitingStatus(BookingStatus bookingStatus) {
         if (!bookingStatus.equals(BookingStatus.WAITING)) {
             log.error("Статус комментария не ожидание подтверждения.");
@@ -177,52 +287,75 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
-    private Page<Booking> getBookingsByStateAndUser(Long userId, BookingState state, boolean isOwner, PageRequest pageRequest) {
+    private Slice<BookingView> getBookingViewsByStateAndUser(Long userId, BookingState state, boolean isOwner,
+                                                             BookingCursor cursor, Pageable pageable) {
         LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cursorStart = cursor.start();
+        Long cursorId = cursor.id();
 
-        if (isOwner) {
+        if (isOwner && cursorStart == null) {
             return switch (state) {
-                case ALL -> bookingRepository.findAllByItem_Owner_Id(userId, pageRequest);
-                case CURRENT -> bookingRepository.findAllByItem_Owner_IdAndStatusAndStartBeforeAndEndTimeAfter(userId,
-                        BookingStatus.APPROVED,
-                        now, now, pageRequest);
-                case PAST -> bookingRepository.findAllByItem_Owner_IdAndStatusAndEndTimeBefore(userId,
-                        BookingStatus.APPROVED,
-                        now, pageRequest);
-                case FUTURE -> bookingRepository.findAllByItem_Owner_IdAndStatusAndStartAfter(userId,
-                        BookingStatus.APPROVED,
-                        now, pageRequest);
-                case WAITING -> bookingRepository.findAllByItem_Owner_IdAndStatus(userId, BookingStatus.WAITING,
-                        pageRequest);
-                case REJECTED -> bookingRepository.findAllByItem_Owner_IdAndStatus(userId, BookingStatus.REJECTED,
-                        pageRequest);
-                default -> new PageImpl<>(Collections.emptyList(), Pageable.unpaged(), 0);
+                case ALL -> bookingRepository.findOwnerViews(userId, pageable);
+                case CURRENT -> bookingRepository.findCurrentOwnerViews(userId, BookingStatus.APPROVED, now,
+                        pageable);
+                case PAST -> bookingRepository.findPastOwnerViews(userId, BookingStatus.APPROVED, now, pageable);
+                case FUTURE -> bookingRepository.findFutureOwnerViews(userId, BookingStatus.APPROVED, now,
+                        pageable);
+                case WAITING -> bookingRepository.findOwnerViewsByStatus(userId, BookingStatus.WAITING, pageable);
+                case REJECTED -> bookingRepository.findOwnerViewsByStatus(userId, BookingStatus.REJECTED, pageable);
+                default -> new SliceImpl<>(Collections.emptyList());
+            };
+        } else if (isOwner) {
+            return switch (state) {
+                case ALL -> bookingRepository.findOwnerViewsAfter(userId, cursorStart, cursorId, pageable);
+                case CURRENT -> bookingRepository.findCurrentOwnerViewsAfter(userId, BookingStatus.APPROVED, now,
+                        cursorStart, cursorId, pageable);
+                case PAST -> bookingRepository.findPastOwnerViewsAfter(userId, BookingStatus.APPROVED, now,
+                        cursorStart, cursorId, pageable);
+                case FUTURE -> bookingRepository.findFutureOwnerViewsAfter(userId, BookingStatus.APPROVED, now,
+                        cursorStart, cursorId, pageable);
+                case WAITING -> bookingRepository.findOwnerViewsByStatusAfter(userId, BookingStatus.WAITING,
+                        cursorStart, cursorId, pageable);
+                case REJECTED -> bookingRepository.findOwnerViewsByStatusAfter(userId, BookingStatus.REJECTED,
+                        cursorStart, cursorId, pageable);
+                default -> new SliceImpl<>(Collections.emptyList());
+            };
+        } else if (cursorStart == null) {
+            return switch (state) {
+                case ALL -> bookingRepository.findBookerViews(userId, pageable);
+                case CURRENT -> bookingRepository.findCurrentBookerViews(userId, BookingStatus.APPROVED, now,
+                        pageable);
+                case PAST -> bookingRepository.findPastBookerViews(userId, BookingStatus.APPROVED, now, pageable);
+                case FUTURE -> bookingRepository.findFutureBookerViews(userId, BookingStatus.APPROVED, now,
+                        pageable);
+                case WAITING -> bookingRepository.findBookerViewsByStatus(userId, BookingStatus.WAITING, pageable);
+                case REJECTED -> bookingRepository.findBookerViewsByStatus(userId, BookingStatus.REJECTED, pageable);
+                default -> new SliceImpl<>(Collections.emptyList());
             };
         } else {
             return switch (state) {
-                case ALL -> bookingRepository.findAllByBooker_Id(userId, pageRequest);
-                case CURRENT -> bookingRepository.findAllByBooker_IdAndStatusAndStartBeforeAndEndTimeAfter(userId,
-                        BookingStatus.APPROVED,
-                        now, now, pageRequest);
-                case PAST -> bookingRepository.findAllByBooker_IdAndStatusAndEndTimeBefore(userId,
-                        BookingStatus.APPROVED,
-                        now, pageRequest);
-                case FUTURE -> bookingRepository.findAllByBooker_IdAndStatusAndStartAfter(userId,
-                        BookingStatus.APPROVED,
-                        now, pageRequest);
-                case WAITING -> bookingRepository.findAllByBooker_IdAndStatus(userId, BookingStatus.WAITING,
-                        pageRequest);
-                case REJECTED -> bookingRepository.findAllByBooker_IdAndStatus(userId, BookingStatus.REJECTED,
-                        pageRequest);
-                default -> new PageImpl<>(Collections.emptyList(), Pageable.unpaged(), 0);
+                case ALL -> bookingRepository.findBookerViewsAfter(userId, cursorStart, cursorId, pageable);
+                case CURRENT -> bookingRepository.findCurrentBookerViewsAfter(userId, BookingStatus.APPROVED, now,
+                        cursorStart, cursorId, pageable);
+                case PAST -> bookingRepository.findPastBookerViewsAfter(userId, BookingStatus.APPROVED, now,
+                        cursorStart, cursorId, pageable);
+                case FUTURE -> bookingRepository.findFutureBookerViewsAfter(userId, BookingStatus.APPROVED, now,
+                        cursorStart, cursorId, pageable);
+                case WAITING -> bookingRepository.findBookerViewsByStatusAfter(userId, BookingStatus.WAITING,
+                        cursorStart, cursorId, pageable);
+                case REJECTED -> bookingRepository.findBookerViewsByStatusAfter(userId, BookingStatus.REJECTED,
+                        cursorStart, cursorId, pageable);
+                default -> new SliceImpl<>(Collections.emptyList());
             };
         }
     }
 
-    private List<BookingDto> mapBookingsToDtoList(Collection<Booking> bookings, Long userId) {
-        return bookings.stream()
-                .map(booking -> BookingMapper.toBookingDto(booking, userId))
-                .sorted(Comparator.comparing(BookingDto::getStart).reversed())
+    private BookingWindowDto mapBookingSliceToWindowDto(Slice<BookingView> bookings) {
+        List<BookingDto> bookingDtoList = bookings.stream()
+                .map(BookingMapper::toBookingDto)
                 .toList();
+        String nextCursor = bookings.hasNext() ?
+                BookingCursorMapper.toCursor(bookings.getContent().get(bookings.getNumberOfElements() - 1)) : null;
+        return new BookingWindowDto(bookingDtoList, nextCursor);
     }
-}
\ No newline at end of file
+}
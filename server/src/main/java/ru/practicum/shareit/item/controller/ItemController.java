@@ -2,20 +2,32 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentWindowDto;
 import ru.practicum.shareit.item.dto.ItemAllFieldsDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.importer.ItemImportFormat;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 @Slf4j
 @RestController
 @AllArgsConstructor
 @RequestMapping("/items")
 public class ItemController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     private final ItemService itemService;
+    private final ItemImportService itemImportService;
 
     @PostMapping
     public ItemDto create(@RequestBody ItemDto itemDto, @RequestHeader("X-Sharer-User-Id") Long userId) {
@@ -23,6 +35,14 @@ public class ItemController {
         return itemService.create(itemDto, userId);
     }
 
+    @PostMapping(path = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public List<ItemImportResultDto> importItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                 @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                 InputStream body) {
+        log.debug("Попытка пользователем {} импорта предметов в формате {}.", userId, contentType);
+        return itemImportService.importItems(userId, ItemImportFormat.of(contentType), body);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto update(@RequestBody ItemDto itemDto,
                           @RequestHeader("X-Sharer-User-Id") Long userId,
@@ -42,11 +62,26 @@ public class ItemController {
     public Collection<ItemDto> searchItems(@RequestParam(name = "text") String searchText,
                                            @RequestHeader("X-Sharer-User-Id") Long userId,
                                            @RequestParam(required = false) Integer from,
-                                           @RequestParam(required = false) Integer size) {
+                                           @RequestParam(required = false) Integer size,
+                                           @RequestParam(defaultValue = "false") boolean ranked,
+                                           @RequestParam(required = false)
+                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                           @RequestParam(required = false)
+                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
         log.debug("Попытка создания предмета по описанию: {}.", searchText);
+        if (start != null || end != null) return itemService.searchFree(searchText, start, end, ranked, from, size);
+        if (ranked) return itemService.searchRanked(searchText, from, size);
         return itemService.search(searchText, from, size);
     }
 
+    @GetMapping("/suggest")
+    public Collection<String> suggest(@RequestParam String prefix,
+                                      @RequestHeader("X-Sharer-User-Id") Long userId,
+                                      @RequestParam(required = false) Integer size) {
+        log.debug("Попытка получения подсказок названий по префиксу: {}.", prefix);
+        return itemService.suggest(prefix, size);
+    }
+
     @GetMapping
     public Collection<ItemAllFieldsDto> getAll(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                @RequestParam(required = false) Integer from,
@@ -62,4 +97,18 @@ public class ItemController {
         log.debug("Попытка создания комментария к предмету {}.", itemId);
         return itemService.createComment(commentDto, itemId, userId);
     }
-}
\ No newline at end of file
+
+    @GetMapping("{itemId}/comment")
+    public ResponseEntity<Collection<CommentDto>> getComments(@PathVariable Long itemId,
+                                                              @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(required = false) Integer size) {
+        log.debug("Попытка получения комментариев к предмету {}.", itemId);
+        CommentWindowDto commentWindowDto = itemService.findComments(itemId, cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (commentWindowDto.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, commentWindowDto.getNextCursor());
+        }
+        return response.body(commentWindowDto.getComments());
+    }
+}
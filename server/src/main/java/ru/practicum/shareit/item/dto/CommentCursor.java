@@ -0,0 +1,7 @@
+package ru.practicum.shareit.item.dto;
+
+import java.time.LocalDateTime;
+
+public record CommentCursor(LocalDateTime created, Long id) {
+    public static final CommentCursor FIRST = new CommentCursor(null, null);
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Collection;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class CommentWindowDto {
+    private Collection<CommentDto> comments;
+    private String nextCursor;
+}
@@ -18,4 +18,6 @@ public class ItemAllFieldsDto {
     private BookingDto lastBooking;
     private BookingDto nextBooking;
     private Collection<CommentDto> comments;
+    private Long commentCount;
+    private String commentsCursor;
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.item.importer;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "shareit.item-import.loader", havingValue = "batch")
+public class BatchItemLoader implements ItemLoader {
+    private final ItemRepository itemRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transaction;
+
+    public BatchItemLoader(ItemRepository itemRepository,
+                           EntityManager entityManager,
+                           PlatformTransactionManager transactionManager) {
+        this.itemRepository = itemRepository;
+        this.entityManager = entityManager;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public List<Item> load(List<Item> items) {
+        return transaction.execute(status -> {
+            List<Item> saved = itemRepository.saveAll(items);
+            entityManager.flush();
+            // open-in-view держит контекст до конца запроса: тысячи загруженных предметов в нем не нужны
+            saved.forEach(entityManager::detach);
+            return saved;
+        });
+    }
+}
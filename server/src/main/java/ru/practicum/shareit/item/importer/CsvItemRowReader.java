@@ -0,0 +1,142 @@
+package ru.practicum.shareit.item.importer;
+
+import jakarta.validation.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class CsvItemRowReader implements ItemRowReader {
+    private static final int NONE = -2;
+    private static final List<String> COLUMNS = List.of("name", "description", "available", "requestid");
+    private static final int NAME = 0;
+    private static final int DESCRIPTION = 1;
+    private static final int AVAILABLE = 2;
+    private static final int REQUEST_ID = 3;
+
+    private final BufferedReader reader;
+    private int[] columns;
+    private int peeked = NONE;
+    private long line = 1;
+
+    public CsvItemRowReader(Reader reader) {
+        this.reader = new BufferedReader(reader);
+    }
+
+    @Override
+    public ItemImportRow next() throws IOException {
+        if (columns == null) readHeader();
+
+        long start;
+        List<String> record;
+        do {
+            start = line;
+            record = readRecord();
+            if (record == null) return null;
+        } while (record.size() == 1 && record.get(0).isBlank());
+        return toRow(start, record);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        List<String> header = readRecord();
+        columns = new int[COLUMNS.size()];
+        for (int column = 0; column < COLUMNS.size(); column++) {
+            columns[column] = header == null ? -1 : indexOf(header, COLUMNS.get(column));
+        }
+        if (header != null && columns[NAME] < 0) {
+            throw new ValidationException("В заголовке CSV нет колонки name");
+        }
+    }
+
+    private ItemImportRow toRow(long line, List<String> record) {
+        String available = field(record, AVAILABLE);
+        if (available != null && !available.isBlank()
+                && !available.trim().equalsIgnoreCase("true") && !available.trim().equalsIgnoreCase("false")) {
+            return ItemImportRow.failed(line, "Доступность вещи должна быть true или false");
+        }
+
+        String requestId = field(record, REQUEST_ID);
+        Long request = null;
+        if (requestId != null && !requestId.isBlank()) {
+            try {
+                request = Long.parseLong(requestId.trim());
+            } catch (NumberFormatException e) {
+                return ItemImportRow.failed(line, "Некорректный id запроса: " + requestId);
+            }
+        }
+
+        return ItemImportRow.of(line, new ItemDto(null,
+                field(record, NAME),
+                field(record, DESCRIPTION),
+                available == null || available.isBlank() ? null : Boolean.valueOf(available.trim()),
+                request));
+    }
+
+    private String field(List<String> record, int column) {
+        int index = columns[column];
+        return index >= 0 && index < record.size() ? record.get(index) : null;
+    }
+
+    // RFC 4180: поля в кавычках могут содержать запятые, переводы строк и удвоенные кавычки
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == -1) return null;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (; c != -1; c = read()) {
+            if (quoted) {
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        peeked = following;
+                    }
+                } else {
+                    if (c == '\n') line++;
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                line++;
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private int read() throws IOException {
+        if (peeked == NONE) return reader.read();
+        int c = peeked;
+        peeked = NONE;
+        return c;
+    }
+
+    private static int indexOf(List<String> header, String column) {
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT)
+                    .replace("_", "");
+            if (name.equals(column)) return i;
+        }
+        return -1;
+    }
+}
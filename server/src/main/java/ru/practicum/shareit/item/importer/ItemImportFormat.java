@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.importer;
+
+import jakarta.validation.ValidationException;
+import org.springframework.http.MediaType;
+
+public enum ItemImportFormat {
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final MediaType mediaType;
+
+    ItemImportFormat(String mediaType) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+    }
+
+    public String mediaType() {
+        return mediaType.toString();
+    }
+
+    public static ItemImportFormat of(String contentType) {
+        MediaType requested = MediaType.parseMediaType(contentType);
+        for (ItemImportFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(requested)) return format;
+        }
+        throw new ValidationException("Неподдерживаемый формат импорта: " + contentType);
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.importer;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+
+public record ItemImportRow(long line, ItemDto item, String error) {
+    public static ItemImportRow of(long line, ItemDto item) {
+        return new ItemImportRow(line, item, null);
+    }
+
+    public static ItemImportRow failed(long line, String error) {
+        return new ItemImportRow(line, null, error);
+    }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.importer;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+public interface ItemLoader {
+    // сохраняет новые предметы и возвращает их в том же порядке уже с id
+    List<Item> load(List<Item> items);
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface ItemRowReader extends Closeable {
+    // null, когда строки закончились
+    ItemImportRow next() throws IOException;
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.item.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+public class NdjsonItemRowReader implements ItemRowReader {
+    private final BufferedReader reader;
+    private final ObjectReader itemReader;
+    private long line;
+
+    public NdjsonItemRowReader(Reader reader, ObjectReader itemReader) {
+        this.reader = new BufferedReader(reader);
+        this.itemReader = itemReader;
+    }
+
+    @Override
+    public ItemImportRow next() throws IOException {
+        String json;
+        do {
+            json = reader.readLine();
+            if (json == null) return null;
+            line++;
+        } while (json.isBlank());
+
+        try {
+            return ItemImportRow.of(line, itemReader.readValue(json));
+        } catch (JsonProcessingException e) {
+            return ItemImportRow.failed(line, "Некорректный JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
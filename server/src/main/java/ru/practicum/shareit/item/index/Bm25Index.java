@@ -0,0 +1,311 @@
+package ru.practicum.shareit.item.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+final class Bm25Index {
+    private static final int REMOVED = -1;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double NAME_BOOST = 3.0;
+    // каждая правка в слове запроса вдвое снижает вклад найденного по опечатке слова
+    private static final double TYPO_PENALTY = 0.5;
+    private static final int MAX_EXPANSIONS = 8;
+    private static final int TF_BITS = 16;
+    private static final int TF_MASK = (1 << TF_BITS) - 1;
+
+    private final Map<Long, Integer> docByItemId = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    // слова не удаляются из дерева: исчезнувшие отсекаются по postings
+    private final BkTree vocabulary = new BkTree();
+    private long[] itemIds = new long[1024];
+    private int[] nameLengths = new int[1024];
+    private int[] descriptionLengths = new int[1024];
+    // списки слов документа, null - документ удален
+    private Postings[][] docTerms = new Postings[1024][];
+    private int docs;
+    private int live;
+    private long nameLengthSum;
+    private long descriptionLengthSum;
+
+    void put(long itemId, String name, String description) {
+        remove(itemId);
+        add(itemId, name, description);
+    }
+
+    void putIfAbsent(long itemId, String name, String description) {
+        if (!docByItemId.containsKey(itemId)) {
+            add(itemId, name, description);
+        }
+    }
+
+    void remove(long itemId) {
+        Integer doc = docByItemId.put(itemId, REMOVED);
+        if (doc == null || doc == REMOVED) return;
+
+        for (Postings list : docTerms[doc]) {
+            list.live--;
+        }
+        docTerms[doc] = null;
+        nameLengthSum -= nameLengths[doc];
+        descriptionLengthSum -= descriptionLengths[doc];
+        live--;
+        if (docs - live > Math.max(1024, live)) {
+            compact();
+        }
+    }
+
+    // limit лучших предметов; оценки копятся только для документов из затронутых списков
+    long[] search(String text, int limit) {
+        List<String> terms = tokenize(text).stream().distinct().toList();
+        if (terms.isEmpty() || live == 0 || limit <= 0) return new long[0];
+
+        double averageName = Math.max(1.0, (double) nameLengthSum / live);
+        double averageDescription = Math.max(1.0, (double) descriptionLengthSum / live);
+        DocScores scores = new DocScores();
+        for (String term : terms) {
+            // опечатка и точное слово не суммируются: у документа берется лучший вариант слова запроса
+            DocScores best = new DocScores();
+            for (BkTree.Match match : expand(term)) {
+                Postings list = postings.get(match.term());
+                double idf = Math.log(1 + (live - list.live + 0.5) / (list.live + 0.5));
+                double weight = idf * Math.pow(TYPO_PENALTY, match.distance());
+                for (int i = 0; i < list.size; i++) {
+                    int doc = list.docs[i];
+                    if (docTerms[doc] == null) continue;
+                    double tf = NAME_BOOST * (list.frequencies[i] >>> TF_BITS)
+                            / norm(nameLengths[doc], averageName)
+                            + (list.frequencies[i] & TF_MASK) / norm(descriptionLengths[doc], averageDescription);
+                    best.max(doc, weight * tf * (K1 + 1) / (tf + K1));
+                }
+            }
+            for (int i = 0; i < best.size; i++) {
+                scores.add(best.docs[i], best.values[i]);
+            }
+        }
+
+        return top(scores, limit);
+    }
+
+    int size() {
+        return live;
+    }
+
+    int terms() {
+        return postings.size();
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private List<BkTree.Match> expand(String term) {
+        int maxDistance = term.length() <= 3 ? 0 : term.length() <= 6 ? 1 : 2;
+        if (maxDistance == 0) {
+            return isLive(term) ? List.of(new BkTree.Match(term, 0)) : List.of();
+        }
+        return vocabulary.search(term, maxDistance).stream()
+                .filter(match -> isLive(match.term()))
+                .sorted(Comparator.comparingInt(BkTree.Match::distance))
+                .limit(MAX_EXPANSIONS)
+                .toList();
+    }
+
+    private boolean isLive(String term) {
+        Postings list = postings.get(term);
+        return list != null && list.live > 0;
+    }
+
+    private void add(long itemId, String name, String description) {
+        List<String> nameTerms = tokenize(name);
+        List<String> descriptionTerms = tokenize(description);
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        nameTerms.forEach(term -> frequencies.merge(term, 1 << TF_BITS, Integer::sum));
+        descriptionTerms.forEach(term -> frequencies.merge(term, 1, Integer::sum));
+
+        int doc = newDoc(itemId, nameTerms.size(), descriptionTerms.size());
+        Postings[] terms = new Postings[frequencies.size()];
+        int position = 0;
+        for (Map.Entry<String, Integer> frequency : frequencies.entrySet()) {
+            Postings list = postings.get(frequency.getKey());
+            if (list == null) {
+                list = new Postings();
+                postings.put(frequency.getKey(), list);
+                vocabulary.add(frequency.getKey());
+            }
+            list.add(doc, frequency.getValue());
+            terms[position++] = list;
+        }
+        docTerms[doc] = terms;
+    }
+
+    private int newDoc(long itemId, int nameLength, int descriptionLength) {
+        if (docs == itemIds.length) {
+            itemIds = Arrays.copyOf(itemIds, docs * 2);
+            nameLengths = Arrays.copyOf(nameLengths, docs * 2);
+            descriptionLengths = Arrays.copyOf(descriptionLengths, docs * 2);
+            docTerms = Arrays.copyOf(docTerms, docs * 2);
+        }
+        int doc = docs++;
+        itemIds[doc] = itemId;
+        nameLengths[doc] = nameLength;
+        descriptionLengths[doc] = descriptionLength;
+        docByItemId.put(itemId, doc);
+        nameLengthSum += nameLength;
+        descriptionLengthSum += descriptionLength;
+        live++;
+        return doc;
+    }
+
+    // номера удаленных документов выбрасываются из массивов и списков, живые перенумеровываются по порядку
+    private void compact() {
+        int[] renumbered = new int[docs];
+        int kept = 0;
+        for (int doc = 0; doc < docs; doc++) {
+            if (docTerms[doc] == null) {
+                renumbered[doc] = REMOVED;
+                continue;
+            }
+            renumbered[doc] = kept;
+            itemIds[kept] = itemIds[doc];
+            nameLengths[kept] = nameLengths[doc];
+            descriptionLengths[kept] = descriptionLengths[doc];
+            docTerms[kept] = docTerms[doc];
+            docByItemId.put(itemIds[kept], kept);
+            kept++;
+        }
+        Arrays.fill(docTerms, kept, docs, null);
+        docs = kept;
+        // отметки REMOVED остаются: загрузчик не должен вернуть удаленный во время загрузки предмет
+        postings.values().removeIf(list -> list.live == 0);
+        postings.values().forEach(list -> list.renumber(renumbered));
+    }
+
+    // в куче остаются limit лучших документов, наверху - худший из них
+    private long[] top(DocScores scores, int limit) {
+        Comparator<Integer> byRank = Comparator.<Integer>comparingDouble(i -> -scores.values[i])
+                .thenComparingLong(i -> itemIds[scores.docs[i]]);
+        PriorityQueue<Integer> heap = new PriorityQueue<>(byRank.reversed());
+        for (int i = 0; i < scores.size; i++) {
+            if (scores.values[i] <= 0) continue;
+            heap.add(i);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+
+        return heap.stream()
+                .sorted(byRank)
+                .mapToLong(i -> itemIds[scores.docs[i]])
+                .toArray();
+    }
+
+    private static double norm(int length, double averageLength) {
+        return 1 - B + B * length / averageLength;
+    }
+
+    // оценки документов в открытой адресации: память растет с числом найденных документов, а не всего индекса
+    private static final class DocScores {
+        // номер записи + 1, 0 - свободная ячейка
+        private int[] slots = new int[16];
+        private int[] docs = new int[8];
+        private double[] values = new double[8];
+        private int size;
+
+        private void add(int doc, double value) {
+            int index = indexOf(doc);
+            values[index] += value;
+        }
+
+        private void max(int doc, double value) {
+            int index = indexOf(doc);
+            values[index] = Math.max(values[index], value);
+        }
+
+        private int indexOf(int doc) {
+            int slot = find(slots, docs, doc);
+            if (slots[slot] != 0) return slots[slot] - 1;
+
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            docs[size] = doc;
+            values[size] = 0;
+            slots[slot] = ++size;
+            if (size * 2 > slots.length) {
+                rehash();
+            }
+            return size - 1;
+        }
+
+        private void rehash() {
+            int[] grown = new int[slots.length * 2];
+            for (int i = 0; i < size; i++) {
+                grown[find(grown, docs, docs[i])] = i + 1;
+            }
+            slots = grown;
+        }
+
+        private static int find(int[] slots, int[] docs, int doc) {
+            int mask = slots.length - 1;
+            int hash = doc * 0x9E3779B9;
+            int slot = (hash ^ hash >>> 16) & mask;
+            while (slots[slot] != 0 && docs[slots[slot] - 1] != doc) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+
+    private static final class Postings {
+        private int[] docs = new int[4];
+        // частота в названии << 16 | частота в описании
+        private int[] frequencies = new int[4];
+        private int size;
+        private int live;
+
+        private void add(int doc, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = frequency;
+            size++;
+            live++;
+        }
+
+        private void renumber(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = renumbered[docs[i]];
+                if (doc == REMOVED) continue;
+                docs[kept] = doc;
+                frequencies[kept] = frequencies[i];
+                kept++;
+            }
+            size = kept;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.item.index;
+
+import ru.practicum.shareit.item.model.Item;
+
+public interface ItemIndex {
+    void index(Item item);
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.item.index;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemNameIndex implements ItemIndex {
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private final PrefixIndex index = new PrefixIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long afterId = 0;
+        List<ItemText> batch;
+        do {
+            batch = itemRepository.findAvailableTextsByIdAfter(afterId, Limit.of(LOAD_BATCH_SIZE));
+            lock.writeLock().lock();
+            try {
+                batch.forEach(item -> index.putIfAbsent(item.id(), item.name()));
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).id();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        log.info("Индекс названий предметов построен: {} предметов, {} названий.", index.size(),
+                index.distinctNames());
+    }
+
+    @Override
+    public void index(Item item) {
+        lock.writeLock().lock();
+        try {
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                index.put(item.getId(), item.getName());
+            } else {
+                index.remove(item.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            return index.suggest(prefix, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
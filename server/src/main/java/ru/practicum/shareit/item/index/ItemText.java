@@ -0,0 +1,4 @@
+package ru.practicum.shareit.item.index;
+
+public record ItemText(Long id, String name, String description) {
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.item.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class PrefixIndex {
+    private static final String REMOVED = "";
+    // результат запоминается только для префиксов, под которыми много имен
+    private static final int CACHED_RANGE = 256;
+    private static final int MAX_CACHED_PREFIXES = 10_000;
+    // сначала имена, которые носит больше предметов, при равенстве - по алфавиту
+    private static final Comparator<Map.Entry<String, Name>> BY_POPULARITY =
+            Comparator.<Map.Entry<String, Name>>comparingInt(entry -> entry.getValue().count()).reversed()
+                    .thenComparing(Map.Entry::getKey);
+
+    // имя в нижнем регистре -> имя в исходном написании и число предметов с ним
+    private final TreeMap<String, Name> names = new TreeMap<>();
+    // REMOVED - предмет удален из индекса и не должен вернуться при начальной загрузке
+    private final Map<Long, String> keyByItemId = new HashMap<>();
+    // префикс -> самые частые имена под ним; читатели заполняют кэш параллельно, поэтому он конкурентный
+    private final Map<String, Suggestions> topByPrefix = new ConcurrentHashMap<>();
+    private int live;
+
+    void put(long itemId, String name) {
+        remove(itemId);
+        add(itemId, name);
+    }
+
+    void putIfAbsent(long itemId, String name) {
+        if (!keyByItemId.containsKey(itemId)) {
+            add(itemId, name);
+        }
+    }
+
+    void remove(long itemId) {
+        String key = keyByItemId.put(itemId, REMOVED);
+        if (key != null && !key.equals(REMOVED)) {
+            names.computeIfPresent(key, (k, name) -> name.count() == 1 ? null
+                    : new Name(name.text(), name.count() - 1));
+            invalidate(key);
+            live--;
+        }
+    }
+
+    List<String> suggest(String prefix, int limit) {
+        // пробел в конце префикса значим: "drill " подсказывает следующее слово
+        String key = prefix == null ? "" : prefix.stripLeading().toLowerCase(Locale.ROOT);
+        if (key.isEmpty() || limit <= 0) return List.of();
+
+        Suggestions cached = topByPrefix.get(key);
+        if (cached != null && (cached.complete() || cached.names().size() >= limit)) {
+            return cached.names().subList(0, Math.min(limit, cached.names().size()));
+        }
+
+        // в куче остаются limit самых частых имен с префиксом, наверху - наименее подходящее из них
+        PriorityQueue<Map.Entry<String, Name>> top = new PriorityQueue<>(limit + 1, BY_POPULARITY.reversed());
+        int scanned = 0;
+        for (Map.Entry<String, Name> entry : names.tailMap(key, true).entrySet()) {
+            if (!entry.getKey().startsWith(key)) break;
+            scanned++;
+            top.add(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Map.Entry<String, Name>> ranked = new ArrayList<>(top);
+        ranked.sort(BY_POPULARITY);
+        List<String> found = ranked.stream()
+                .map(entry -> entry.getValue().text())
+                .toList();
+        if (scanned > CACHED_RANGE) {
+            if (topByPrefix.size() >= MAX_CACHED_PREFIXES) {
+                topByPrefix.clear();
+            }
+            topByPrefix.put(key, new Suggestions(found, scanned <= limit));
+        }
+        return found;
+    }
+
+    int size() {
+        return live;
+    }
+
+    int distinctNames() {
+        return names.size();
+    }
+
+    private void add(long itemId, String name) {
+        String key = normalize(name);
+        if (key.isEmpty()) return;
+
+        keyByItemId.put(itemId, key);
+        names.merge(key, new Name(name.trim(), 1), (existing, added) -> new Name(existing.text(),
+                existing.count() + 1));
+        invalidate(key);
+        live++;
+    }
+
+    // число предметов с именем изменилось: сохраненные подсказки всех его префиксов устарели
+    private void invalidate(String key) {
+        if (topByPrefix.isEmpty()) return;
+        for (int length = 1; length <= key.length(); length++) {
+            topByPrefix.remove(key.substring(0, length));
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Name(String text, int count) {
+    }
+
+    // complete - под префиксом не больше имен, чем в списке, и он подходит для любого limit
+    private record Suggestions(List<String> names, boolean complete) {
+    }
+}
@@ -0,0 +1,155 @@
+package ru.practicum.shareit.item.index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+final class TrigramIndex {
+    private static final int REMOVED = -1;
+    private static final char SEPARATOR = '\u0000';
+
+    private final Map<Long, Integer> docByItemId = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private long[] itemIds = new long[1024];
+    // name и description в верхнем регистре через разделитель, null - документ удален
+    private String[] texts = new String[1024];
+    private int docs;
+    private int live;
+
+    void put(long itemId, String name, String description) {
+        remove(itemId);
+        add(itemId, name, description);
+    }
+
+    void putIfAbsent(long itemId, String name, String description) {
+        if (!docByItemId.containsKey(itemId)) {
+            add(itemId, name, description);
+        }
+    }
+
+    void remove(long itemId) {
+        Integer doc = docByItemId.put(itemId, REMOVED);
+        if (doc != null && doc != REMOVED) {
+            texts[doc] = null;
+            live--;
+            if (docs - live > Math.max(1024, live)) {
+                compact();
+            }
+        }
+    }
+
+    long[] search(String text) {
+        String query = normalize(text);
+        if (query.isEmpty() || query.indexOf(SEPARATOR) >= 0) return new long[0];
+
+        int[] candidates = query.length() < 3 ? null : candidates(query);
+        long[] found = new long[candidates == null ? live : candidates.length];
+        int count = 0;
+        int limit = candidates == null ? docs : candidates.length;
+        for (int i = 0; i < limit; i++) {
+            int doc = candidates == null ? i : candidates[i];
+            String docText = texts[doc];
+            if (docText != null && docText.contains(query)) {
+                found[count++] = itemIds[doc];
+            }
+        }
+        long[] result = Arrays.copyOf(found, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    int size() {
+        return live;
+    }
+
+    private void add(long itemId, String name, String description) {
+        if (docs == texts.length) {
+            itemIds = Arrays.copyOf(itemIds, docs * 2);
+            texts = Arrays.copyOf(texts, docs * 2);
+        }
+        int doc = docs++;
+        String docText = normalize(name) + SEPARATOR + normalize(description);
+        itemIds[doc] = itemId;
+        texts[doc] = docText;
+        docByItemId.put(itemId, doc);
+        live++;
+        for (int i = 0; i + 3 <= docText.length(); i++) {
+            if (docText.charAt(i) == SEPARATOR || docText.charAt(i + 1) == SEPARATOR
+                    || docText.charAt(i + 2) == SEPARATOR) continue;
+            postings.computeIfAbsent(trigram(docText, i), key -> new Postings()).add(doc);
+        }
+    }
+
+    private int[] candidates(String query) {
+        Postings[] lists = new Postings[query.length() - 2];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = postings.get(trigram(query, i));
+            if (lists[i] == null) return new int[0];
+        }
+        Arrays.sort(lists, (first, second) -> Integer.compare(first.size, second.size));
+
+        int[] result = Arrays.copyOf(lists[0].docs, lists[0].size);
+        int size = result.length;
+        for (int i = 1; i < lists.length && size > 0; i++) {
+            if (lists[i] == lists[i - 1]) continue;
+            size = intersect(result, size, lists[i]);
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static int intersect(int[] result, int size, Postings other) {
+        int count = 0;
+        int position = 0;
+        for (int i = 0; i < size; i++) {
+            position = Arrays.binarySearch(other.docs, position, other.size, result[i]);
+            if (position >= 0) {
+                result[count++] = result[i];
+            } else {
+                position = -position - 1;
+                if (position == other.size) break;
+            }
+        }
+        return count;
+    }
+
+    private void compact() {
+        long[] oldItemIds = itemIds;
+        String[] oldTexts = texts;
+        int oldDocs = docs;
+        // отметки REMOVED остаются: загрузчик не должен вернуть удаленный во время загрузки предмет
+        postings.clear();
+        itemIds = new long[Math.max(1024, live * 2)];
+        texts = new String[itemIds.length];
+        docs = 0;
+        live = 0;
+        for (int doc = 0; doc < oldDocs; doc++) {
+            String docText = oldTexts[doc];
+            if (docText != null) {
+                int separator = docText.indexOf(SEPARATOR);
+                add(oldItemIds[doc], docText.substring(0, separator), docText.substring(separator + 1));
+            }
+        }
+    }
+
+    private static long trigram(String text, int from) {
+        return ((long) text.charAt(from) << 32) | ((long) text.charAt(from + 1) << 16) | text.charAt(from + 2);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toUpperCase(Locale.ROOT);
+    }
+
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int size;
+
+        void add(int doc) {
+            if (size > 0 && docs[size - 1] == doc) return;
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size + (size >> 1) + 1);
+            }
+            docs[size++] = doc;
+        }
+    }
+}
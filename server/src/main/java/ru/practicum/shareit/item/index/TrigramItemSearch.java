@@ -0,0 +1,112 @@
+package ru.practicum.shareit.item.index;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearch;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item-search.mode", havingValue = "ngram")
+public class TrigramItemSearch implements ItemSearch, ItemIndex {
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private final TrigramIndex index = new TrigramIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long afterId = 0;
+        List<ItemText> batch;
+        do {
+            batch = itemRepository.findAvailableTextsByIdAfter(afterId, Limit.of(LOAD_BATCH_SIZE));
+            lock.writeLock().lock();
+            try {
+                batch.forEach(item -> index.putIfAbsent(item.id(), item.name(), item.description()));
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).id();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        ready = true;
+        log.info("Поисковый индекс предметов построен: {} предметов.", index.size());
+    }
+
+    @Override
+    public void index(Item item) {
+        lock.writeLock().lock();
+        try {
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                index.put(item.getId(), item.getName(), item.getDescription());
+            } else {
+                index.remove(item.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Slice<Item> search(String text, Pageable pageable) {
+        if (!ready) return itemRepository.search(text, pageable);
+
+        long[] itemIds;
+        lock.readLock().lock();
+        try {
+            itemIds = index.search(text);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Pageable page = Objects.requireNonNullElseGet(pageable, Pageable::unpaged);
+        int from = page.isPaged() ? (int) Math.min(page.getOffset(), itemIds.length) : 0;
+        int to = page.isPaged() ? (int) Math.min((long) from + page.getPageSize(), itemIds.length) : itemIds.length;
+        List<Long> pageIds = Arrays.stream(itemIds, from, to).boxed().toList();
+        if (pageIds.isEmpty()) return new SliceImpl<>(List.of(), page, false);
+
+        Map<Long, Item> items = itemRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        List<Item> content = pageIds.stream()
+                .map(items::get)
+                .filter(item -> item != null && Boolean.TRUE.equals(item.getAvailable()))
+                .toList();
+        return new SliceImpl<>(content, page, to < itemIds.length);
+    }
+
+    @Override
+    public List<Long> searchIds(String text) {
+        if (!ready) return itemRepository.searchIds(text);
+
+        long[] itemIds;
+        lock.readLock().lock();
+        try {
+            itemIds = index.search(text);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return Arrays.stream(itemIds).boxed().toList();
+    }
+}
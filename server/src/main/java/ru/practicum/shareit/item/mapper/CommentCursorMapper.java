@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item.mapper;
+
+import jakarta.validation.ValidationException;
+import ru.practicum.shareit.item.dto.CommentCursor;
+import ru.practicum.shareit.item.dto.CommentDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public class CommentCursorMapper {
+    private static final String SEPARATOR = "|";
+
+    public static String toCursor(CommentDto comment) {
+        String cursor = comment.getCreated() + SEPARATOR + comment.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CommentCursor toCommentCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return CommentCursor.FIRST;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            return new CommentCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new ValidationException("Некорректный курсор " + cursor);
+        }
+    }
+}
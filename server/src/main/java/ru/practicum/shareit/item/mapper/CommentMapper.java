@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item.mapper;
 
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemCommentView;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
@@ -18,6 +19,15 @@ public class CommentMapper {
         );
     }
 
+    public static CommentDto toCommentDto(ItemCommentView comment) {
+        return new CommentDto(
+                comment.getId(),
+                comment.getText(),
+                comment.getAuthorName(),
+                comment.getCreated()
+        );
+    }
+
     public static Comment toComment(CommentDto commentDto, User author, Long itemId) {
         return Comment.builder()
                 .text(commentDto.getText())
@@ -4,7 +4,6 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemAllFieldsDto;
 import ru.practicum.shareit.item.dto.ItemDto;
-import ru.practicum.shareit.item.dto.ItemRequestItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.itemRequest.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
@@ -22,16 +21,12 @@ public class ItemMapper {
         );
     }
 
-    public static ItemRequestItemDto toItemRequestItemDto(Item item) {
-        return new ItemRequestItemDto(item.getId(),
-                item.getName(),
-                item.getOwner().getId());
-    }
-
     public static ItemAllFieldsDto toItemAllFieldsDto(Item item,
                                                       BookingDto endBooking,
                                                       BookingDto startNextBooking,
-                                                      Collection<CommentDto> comments) {
+                                                      Collection<CommentDto> comments,
+                                                      Long commentCount,
+                                                      String commentsCursor) {
         return new ItemAllFieldsDto(
                 item.getId(),
                 item.getName(),
@@ -39,7 +34,9 @@ public class ItemMapper {
                 item.getAvailable(),
                 endBooking,
                 startNextBooking,
-                comments
+                comments,
+                commentCount,
+                commentsCursor
         );
     }
 
@@ -1,18 +1,60 @@
 package ru.practicum.shareit.item.repository;
 
-import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemCommentView;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.summary.ItemCommentCount;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    @EntityGraph(attributePaths = {"item", "author"})
-    Collection<Comment> findAllByItemId(@Param("id") Long itemId);
+    String SELECT_COMMENT = """
+            SELECT new ru.practicum.shareit.item.dto.CommentDto(c.id, c.text, a.name, c.created)
+            FROM Comment c
+            JOIN c.author a
+            WHERE c.item.id = :itemId
+            """;
+    String ORDER_BY_CREATED_DESC = "ORDER BY c.created DESC, c.id DESC";
 
-    List<Comment> findAllByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
-}
\ No newline at end of file
+    @Query(SELECT_COMMENT + ORDER_BY_CREATED_DESC)
+    List<CommentDto> findCommentPage(@Param("itemId") Long itemId, Limit limit);
+
+    @Query(SELECT_COMMENT + "AND (c.created, c.id) < (:cursorCreated, :cursorId) " + ORDER_BY_CREATED_DESC)
+    List<CommentDto> findCommentPageAfter(@Param("itemId") Long itemId,
+                                          @Param("cursorCreated") LocalDateTime cursorCreated,
+                                          @Param("cursorId") Long cursorId,
+                                          Limit limit);
+
+    // последние limit комментариев каждого предмета вместе с именами авторов, от старых к новым
+    @Query(nativeQuery = true, value = """
+            SELECT item_id AS itemId, id, text, author_name AS authorName, created
+            FROM (SELECT c.item_id, c.id, c.text, u.name AS author_name, c.created,
+                         ROW_NUMBER() OVER (PARTITION BY c.item_id ORDER BY c.created DESC, c.id DESC) AS rn
+                  FROM comments c
+                  JOIN users u ON u.id = c.author_id
+                  WHERE c.item_id IN (:itemIds)) latest_comments
+            WHERE rn <= :limit
+            ORDER BY item_id, created, id
+            """)
+    List<ItemCommentView> findLatestByItemIdIn(@Param("itemIds") Collection<Long> itemIds,
+                                               @Param("limit") int limit);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.item.summary.ItemCommentCount(c.item.id, COUNT(c))
+            FROM Comment c
+            WHERE c.item.id IN :itemIds
+            GROUP BY c.item.id
+            """)
+    List<ItemCommentCount> countByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
+
+    @Query("SELECT DISTINCT c.item.id FROM Comment c WHERE c.author.id = :authorId")
+    List<Long> findItemIdsByAuthorId(@Param("authorId") Long authorId);
+}
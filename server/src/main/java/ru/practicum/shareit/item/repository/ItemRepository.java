@@ -1,32 +1,75 @@
 package ru.practicum.shareit.item.repository;
 
-import org.springframework.data.domain.Page;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.index.ItemText;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.itemRequest.dto.RequestItemView;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    Page<Item> findByOwnerIdOrderById(Long userId, Pageable pageable);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :id")
+    Optional<Item> findLockedById(@Param("id") Long itemId);
 
-    @Query("""
-            select i
+    Slice<Item> findByOwnerIdOrderById(Long userId, Pageable pageable);
+
+    String SEARCH = """
             from Item i
             where (upper(i.name) like upper(concat('%', ?1, '%'))
             or upper(i.description) like upper(concat('%', ?1, '%')))
             and i.available = true
-            """)
-    Page<Item> search(String text, Pageable pageable);
+            order by i.id
+            """;
+    // только для PostgreSQL: search_vector и trigram-индексы создаются в schema-postgres.sql
+    String FULL_TEXT_SEARCH = """
+            FROM items i
+            WHERE i.is_available = true
+            AND (i.search_vector @@ plainto_tsquery('simple', :text)
+            OR i.name ILIKE '%' || :text || '%'
+            OR i.description ILIKE '%' || :text || '%')
+            ORDER BY ts_rank(i.search_vector, plainto_tsquery('simple', :text)) DESC, i.id
+            """;
+
+    @Query("select i " + SEARCH)
+    Slice<Item> search(String text, Pageable pageable);
+
+    @Query("select i.id " + SEARCH)
+    List<Long> searchIds(String text);
+
+    @Query(nativeQuery = true, value = "SELECT i.id, i.name, i.description, i.is_available, i.owner_id, i.request_id "
+            + FULL_TEXT_SEARCH)
+    Slice<Item> fullTextSearch(@Param("text") String text, Pageable pageable);
 
-    @EntityGraph(attributePaths = {"owner", "request"})
-    Collection<Item> findAllByRequest_IdIn(Collection<Long> requestsIds);
+    @Query(nativeQuery = true, value = "SELECT i.id " + FULL_TEXT_SEARCH)
+    List<Long> fullTextSearchIds(@Param("text") String text);
 
-    @EntityGraph(attributePaths = {"owner", "request"})
-    Collection<Item> findAllByRequest_Id(Long requestId);
+    @Query("""
+            SELECT new ru.practicum.shareit.item.index.ItemText(i.id, i.name, i.description)
+            FROM Item i
+            WHERE i.available = true
+            AND i.id > :afterId
+            ORDER BY i.id
+            """)
+    List<ItemText> findAvailableTextsByIdAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.itemRequest.dto.RequestItemView(i.request.id, i.id, i.name, i.owner.id)
+            FROM Item i
+            WHERE i.request.id IN :requestIds
+            ORDER BY i.request.id, i.id
+            """)
+    List<RequestItemView> findRequestItemViews(@Param("requestIds") Collection<Long> requestIds);
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(name = "shareit.item-search.mode", havingValue = "fulltext")
+public class FullTextItemSearch implements ItemSearch {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public Slice<Item> search(String text, Pageable pageable) {
+        return itemRepository.fullTextSearch(text, pageable);
+    }
+
+    @Override
+    public List<Long> searchIds(String text) {
+        return itemRepository.fullTextSearchIds(text);
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+public interface ItemSearch {
+    Slice<Item> search(String text, Pageable pageable);
+
+    // все совпадения в порядке выдачи search, без загрузки предметов
+    List<Long> searchIds(String text);
+}
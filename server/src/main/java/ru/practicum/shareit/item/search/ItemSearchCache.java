@@ -0,0 +1,154 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class ItemSearchCache {
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoTime;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long version;
+    private long hits;
+    private long misses;
+    private long puts;
+    private long evictions;
+    private long loads;
+    private long loadNanos;
+
+    @Autowired
+    public ItemSearchCache(@Value("${shareit.item-search.cache.max-size:1000}") int maxSize,
+                           @Value("${shareit.item-search.cache.ttl:5m}") Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    ItemSearchCache(int maxSize, Duration ttl, LongSupplier nanoTime) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    public List<ItemDto> get(String text, Integer from, Integer size, Supplier<List<ItemDto>> loader) {
+        if (maxSize <= 0) return loader.get();
+
+        Key key = new Key(normalize(text), from, size);
+        long loadedAt;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt - nanoTime.getAsLong() > 0) {
+                hits++;
+                return entry.items;
+            }
+            if (entry != null) {
+                entries.remove(key);
+                evictions++;
+            }
+            misses++;
+            loadedAt = version;
+        }
+
+        long start = nanoTime.getAsLong();
+        List<ItemDto> items = List.copyOf(loader.get());
+        long now = nanoTime.getAsLong();
+
+        synchronized (this) {
+            loads++;
+            loadNanos += now - start;
+            // пока шел запрос, предмет мог измениться - такой результат не кэшируем
+            if (version == loadedAt) {
+                entries.put(key, new Entry(items, now + ttlNanos));
+                puts++;
+                evictOverflow();
+            }
+        }
+        return items;
+    }
+
+    public void invalidate(SearchableText before, SearchableText after) {
+        int removed = 0;
+        synchronized (this) {
+            version++;
+            Iterator<Key> keys = entries.keySet().iterator();
+            while (keys.hasNext()) {
+                Key key = keys.next();
+                if ((before != null && before.mayMatch(key.words())) || after.mayMatch(key.words())) {
+                    keys.remove();
+                    removed++;
+                }
+            }
+        }
+        log.debug("Из кэша поиска удалено {} результатов.", removed);
+    }
+
+    public synchronized void invalidateAll() {
+        version++;
+        entries.clear();
+    }
+
+    public synchronized long size() {
+        return entries.size();
+    }
+
+    public synchronized long hitCount() {
+        return hits;
+    }
+
+    public synchronized long missCount() {
+        return misses;
+    }
+
+    public synchronized long putCount() {
+        return puts;
+    }
+
+    public synchronized long evictionCount() {
+        return evictions;
+    }
+
+    public synchronized long loadCount() {
+        return loads;
+    }
+
+    public synchronized double loadTimeNanos() {
+        return loadNanos;
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxSize && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private record Key(String text, Integer from, Integer size) {
+        List<String> words() {
+            return Arrays.stream(text.split("\\s+"))
+                    .filter(word -> !word.isEmpty())
+                    .toList();
+        }
+    }
+
+    private record Entry(List<ItemDto> items, long expiresAt) {
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class ItemSearchCacheMetrics extends CacheMeterBinder<ItemSearchCache> {
+    public ItemSearchCacheMetrics(ItemSearchCache itemSearchCache) {
+        super(itemSearchCache, "itemSearch", Tags.empty());
+    }
+
+    @Override
+    protected Long size() {
+        return getCache().size();
+    }
+
+    @Override
+    protected long hitCount() {
+        return getCache().hitCount();
+    }
+
+    @Override
+    protected Long missCount() {
+        return getCache().missCount();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        return getCache().evictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+        return getCache().putCount();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        FunctionTimer.builder("cache.load", getCache(), ItemSearchCache::loadCount, ItemSearchCache::loadTimeNanos,
+                        TimeUnit.NANOSECONDS)
+                .tags(getTagsWithCacheName())
+                .description("Time spent loading search results that missed the cache")
+                .register(registry);
+    }
+}
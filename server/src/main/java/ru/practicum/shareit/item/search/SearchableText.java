@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.Locale;
+
+public record SearchableText(String name, String description, boolean available) {
+    public static SearchableText of(Item item) {
+        return new SearchableText(item.getName(), item.getDescription(), Boolean.TRUE.equals(item.getAvailable()));
+    }
+
+    // с запасом: хватает совпадения любого слова запроса, чтобы покрыть и полнотекстовый режим
+    public boolean mayMatch(List<String> words) {
+        if (!available) return false;
+        if (words.isEmpty()) return true;
+        String text = (name + '\u0000' + description).toLowerCase(Locale.ROOT);
+        return words.stream().anyMatch(text::contains);
+    }
+}
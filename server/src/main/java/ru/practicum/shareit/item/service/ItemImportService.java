@@ -0,0 +1,178 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.importer.CsvItemRowReader;
+import ru.practicum.shareit.item.importer.ItemImportFormat;
+import ru.practicum.shareit.item.importer.ItemImportRow;
+import ru.practicum.shareit.item.importer.ItemLoader;
+import ru.practicum.shareit.item.importer.ItemRowReader;
+import ru.practicum.shareit.item.importer.NdjsonItemRowReader;
+import ru.practicum.shareit.item.index.ItemIndex;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.itemRequest.repository.ItemRequestRepository;
+import ru.practicum.shareit.transaction.AfterCommit;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class ItemImportService {
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int MAX_DESCRIPTION_LENGTH = 200;
+
+    private final UserRepository userRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemLoader itemLoader;
+    private final List<ItemIndex> itemIndexes;
+    private final ItemSearchCache itemSearchCache;
+    private final ObjectReader itemReader;
+
+    public ItemImportService(UserRepository userRepository,
+                             ItemRequestRepository itemRequestRepository,
+                             ItemLoader itemLoader,
+                             List<ItemIndex> itemIndexes,
+                             ItemSearchCache itemSearchCache,
+                             ObjectMapper objectMapper) {
+        this.userRepository = userRepository;
+        this.itemRequestRepository = itemRequestRepository;
+        this.itemLoader = itemLoader;
+        this.itemIndexes = itemIndexes;
+        this.itemSearchCache = itemSearchCache;
+        this.itemReader = objectMapper.readerFor(ItemDto.class);
+    }
+
+    public List<ItemImportResultDto> importItems(Long userId, ItemImportFormat format, InputStream inputStream) {
+        checkUserExists(userId);
+
+        List<ItemImportResultDto> results = new ArrayList<>();
+        List<ItemImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (ItemRowReader reader = openReader(format, inputStream)) {
+            for (ItemImportRow row = reader.next(); row != null; row = reader.next()) {
+                chunk.add(row);
+                if (chunk.size() == CHUNK_SIZE) {
+                    results.addAll(importChunk(userId, chunk));
+                    chunk.clear();
+                }
+            }
+            results.addAll(importChunk(userId, chunk));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        log.debug("Импортировано {} предметов пользователя {} из {} строк.", results.stream()
+                .filter(result -> result.getError() == null)
+                .count(), userId, results.size());
+        return results;
+    }
+
+    private List<ItemImportResultDto> importChunk(Long userId, List<ItemImportRow> rows) {
+        Set<Long> requestIds = rows.stream()
+                .filter(row -> row.error() == null)
+                .map(row -> row.item().getRequestId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existingRequestIds = requestIds.isEmpty() ? Set.of()
+                : itemRequestRepository.findIdsByIdIn(requestIds);
+
+        List<ItemImportResultDto> results = new ArrayList<>(rows.size());
+        List<ItemDto> valid = new ArrayList<>();
+        List<ItemImportResultDto> pending = new ArrayList<>();
+        for (ItemImportRow row : rows) {
+            String error = row.error() != null ? row.error() : checkItem(row.item(), existingRequestIds);
+            ItemImportResultDto result = new ItemImportResultDto(row.line(), null, error);
+            if (error == null) {
+                valid.add(row.item());
+                pending.add(result);
+            }
+            results.add(result);
+        }
+        if (valid.isEmpty()) return results;
+
+        List<Item> saved = new ArrayList<>(valid.size());
+        load(userId, valid, pending, saved);
+        if (saved.isEmpty()) return results;
+
+        AfterCommit.run(() -> {
+            saved.forEach(item -> itemIndexes.forEach(itemIndex -> itemIndex.index(item)));
+            if (saved.stream().anyMatch(item -> Boolean.TRUE.equals(item.getAvailable()))) {
+                itemSearchCache.invalidateAll();
+            }
+        });
+        return results;
+    }
+
+    // пакет, который отвергла база, делится пополам, пока ошибка не останется за отдельными строками;
+    // предметы собираются заново на каждую попытку - у неудачной могли остаться выданные id
+    private void load(Long userId, List<ItemDto> rows, List<ItemImportResultDto> results, List<Item> saved) {
+        List<Item> loaded;
+        try {
+            loaded = itemLoader.load(rows.stream()
+                    .map(row -> ItemMapper.toItem(row, userId))
+                    .toList());
+        } catch (DataAccessException e) {
+            if (rows.size() == 1) {
+                log.error("Не удалось сохранить импортируемый предмет '{}': {}", rows.get(0).getName(),
+                        e.getMessage());
+                results.get(0).setError("Не удалось сохранить предмет");
+                return;
+            }
+            int middle = rows.size() / 2;
+            load(userId, rows.subList(0, middle), results.subList(0, middle), saved);
+            load(userId, rows.subList(middle, rows.size()), results.subList(middle, rows.size()), saved);
+            return;
+        }
+
+        for (int i = 0; i < loaded.size(); i++) {
+            results.get(i).setItem(ItemMapper.toItemDto(loaded.get(i)));
+        }
+        saved.addAll(loaded);
+    }
+
+    private ItemRowReader openReader(ItemImportFormat format, InputStream inputStream) {
+        InputStreamReader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+        return switch (format) {
+            case CSV -> new CsvItemRowReader(reader);
+            case NDJSON -> new NdjsonItemRowReader(reader, itemReader);
+        };
+    }
+
+    private static String checkItem(ItemDto item, Set<Long> existingRequestIds) {
+        if (item.getId() != null) return "При добавлении вещи id должен быть null";
+        if (item.getName() == null || item.getName().isBlank()) return "Название вещи не должно быть пустым";
+        if (item.getName().length() > MAX_NAME_LENGTH) return "Длина названия превышает 255 символов";
+        if (item.getDescription() == null) return "Описание вещи не может быть null";
+        if (item.getDescription().length() > MAX_DESCRIPTION_LENGTH) return "Длина описания превышает 200 символов";
+        if (item.getAvailable() == null) return "Доступность вещи не может быть null";
+        if (item.getRequestId() != null && !existingRequestIds.contains(item.getRequestId())) {
+            return String.format("Запрос вещи с ID_%s не найден", item.getRequestId());
+        }
+        return null;
+    }
+
+    private void checkUserExists(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            log.error("Пользователь {} не найден!", userId);
+            throw new EntityNotFoundException("Пользователь", userId);
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentWindowDto;
 import ru.practicum.shareit.item.dto.ItemAllFieldsDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 
 public interface ItemService {
@@ -17,5 +19,14 @@ public interface ItemService {
 
     Collection<ItemDto> search(String text, Integer from, Integer size);
 
+    Collection<ItemDto> searchRanked(String text, Integer from, Integer size);
+
+    Collection<ItemDto> searchFree(String text, LocalDateTime start, LocalDateTime end, boolean ranked,
+                                   Integer from, Integer size);
+
+    Collection<String> suggest(String prefix, Integer size);
+
     CommentDto createComment(CommentDto commentDto, Long itemId, Long userId);
+
+    CommentWindowDto findComments(Long itemId, String cursor, Integer size);
 }
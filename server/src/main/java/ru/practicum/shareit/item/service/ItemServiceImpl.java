@@ -1,57 +1,78 @@
 package ru.practicum.shareit.item.service;
 
+import jakarta.validation.ValidationException;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
-import ru.practicum.shareit.booking.dto.BookingDto;
-import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.CommentCreationException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.dto.CommentCursor;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentWindowDto;
 import ru.practicum.shareit.item.dto.ItemAllFieldsDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.index.ItemIndex;
+import ru.practicum.shareit.item.index.ItemNameIndex;
+import ru.practicum.shareit.item.index.RankedItemSearch;
+import ru.practicum.shareit.item.mapper.CommentCursorMapper;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearch;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.SearchableText;
+import ru.practicum.shareit.item.summary.ItemSummary;
+import ru.practicum.shareit.item.summary.ItemSummaryMapper;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
+import ru.practicum.shareit.item.view.ItemView;
+import ru.practicum.shareit.item.view.ItemViewCache;
 import ru.practicum.shareit.itemRequest.repository.ItemRequestRepository;
 import ru.practicum.shareit.request.Pagination;
+import ru.practicum.shareit.transaction.AfterCommit;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @AllArgsConstructor
 public class ItemServiceImpl implements ItemService {
+    private static final int DEFAULT_COMMENTS_PAGE_SIZE = 10;
+    private static final int DEFAULT_SUGGESTIONS = 10;
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final int FREE_SEARCH_BATCH_SIZE = 200;
+
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearch itemSearch;
+    private final List<ItemIndex> itemIndexes;
+    private final ItemSearchCache itemSearchCache;
+    private final ItemSummaryService itemSummaryService;
+    private final ItemViewCache itemViewCache;
+    private final ItemNameIndex itemNameIndex;
+    private final RankedItemSearch rankedItemSearch;
+    private final BookingIntervalIndex bookingIntervalIndex;
 
     @Override
     public ItemAllFieldsDto find(Long itemId, Long userId) {
-        Item item = itemExistCheck(itemId);
-
-        Collection<Booking> bookings = bookingRepository.findAllByItem_Id(itemId);
-        Collection<CommentDto> comments = commentRepository.findAllByItemId(itemId)
-                .stream()
-                .map(CommentMapper::toCommentDto)
-                .toList();
-
-        ItemAllFieldsDto itemAllFieldsDto = createItemAllFieldsDtoWithBookingsAndComments(item, bookings, comments, userId);
+        ItemAllFieldsDto itemAllFieldsDto = itemViewCache.get(itemId, this::loadItemView).viewFor(userId);
 
         log.debug("Получен предмет {}.", itemAllFieldsDto);
         return itemAllFieldsDto;
@@ -62,24 +83,14 @@ public class ItemServiceImpl implements ItemService {
         userExistCheck(userId);
 
         PageRequest pageRequest = Pagination.makePageRequest(from, size);
-        Page<Item> items = itemRepository.findByOwnerIdOrderById(userId, pageRequest);
+        Slice<Item> items = itemRepository.findByOwnerIdOrderById(userId, pageRequest);
 
         List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
-
-        Map<Long, List<Booking>> bookingsMap = bookingRepository.findAllByItem_IdIn(itemIds, pageRequest).stream()
-                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
-
-        Map<Long, List<CommentDto>> commentsMap = commentRepository.findAllByItemIdIn(itemIds).stream()
-                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
-                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
+        Map<Long, ItemSummary> summaries = itemSummaryService.getAll(itemIds);
 
         List<ItemAllFieldsDto> itemAllFieldsDtos = items.stream()
-                .map(item -> {
-                    List<Booking> bookings = bookingsMap.getOrDefault(item.getId(), Collections.emptyList());
-                    List<CommentDto> comments = commentsMap.getOrDefault(item.getId(), Collections.emptyList());
-
-                    return createItemAllFieldsDtoWithBookingsAndComments(item, bookings, comments, userId);
-                })
+                .map(item -> createItemAllFieldsDto(item, summaries.get(item.getId()),
+                        item.getOwner().getId().equals(userId)))
                 .collect(Collectors.toList());
 
         log.debug("Получен список всех предметов {}.", itemAllFieldsDtos);
@@ -92,7 +103,12 @@ public class ItemServiceImpl implements ItemService {
         userExistCheck(userId);
         if (itemDto.getRequestId() != null) itemRequestExistCheck(itemDto.getRequestId());
 
-        ItemDto itemDtoNew = ItemMapper.toItemDto(itemRepository.save(ItemMapper.toItem(itemDto, userId)));
+        Item item = itemRepository.save(ItemMapper.toItem(itemDto, userId));
+        AfterCommit.run(() -> {
+            itemIndexes.forEach(itemIndex -> itemIndex.index(item));
+            if (Boolean.TRUE.equals(item.getAvailable())) itemSearchCache.invalidate(null, SearchableText.of(item));
+        });
+        ItemDto itemDtoNew = ItemMapper.toItemDto(item);
 
         log.debug("Создан новый предмет {}", itemDtoNew);
         return itemDtoNew;
@@ -104,6 +120,7 @@ public class ItemServiceImpl implements ItemService {
         Item itemUpdate = itemExistCheck(itemId);
 
         itemOwnershipCheck(itemUpdate, userId);
+        SearchableText before = SearchableText.of(itemUpdate);
 
         if (itemUpdateDto.getName() != null && !itemUpdateDto.getName().isBlank())
             itemUpdate.setName(itemUpdateDto.getName());
@@ -111,7 +128,14 @@ public class ItemServiceImpl implements ItemService {
             itemUpdate.setDescription(itemUpdateDto.getDescription());
         if (itemUpdateDto.getAvailable() != null) itemUpdate.setAvailable(itemUpdateDto.getAvailable());
 
-        ItemDto itemDto = ItemMapper.toItemDto(itemRepository.save(itemUpdate));
+        Item item = itemRepository.save(itemUpdate);
+        SearchableText after = SearchableText.of(item);
+        AfterCommit.run(() -> {
+            itemIndexes.forEach(itemIndex -> itemIndex.index(item));
+            if (!before.equals(after)) itemSearchCache.invalidate(before, after);
+            itemViewCache.invalidate(item.getId());
+        });
+        ItemDto itemDto = ItemMapper.toItemDto(item);
 
         log.debug("Обновлен предмет {}.", itemDto);
         return itemDto;
@@ -119,17 +143,79 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public Collection<ItemDto> search(String text, Integer from, Integer size) {
+        List<ItemDto> itemList = itemSearchCache.get(text, from, size, () -> {
+            PageRequest pageRequest = Pagination.makePageRequest(from, size);
+            return itemSearch.search(text, pageRequest).stream()
+                    .map(ItemMapper::toItemDto)
+                    .toList();
+        });
+
+        log.debug("Получен через поиск список предметов по запросу '{}': {}.", text, itemList);
+
+        return itemList;
+    }
+
+    @Override
+    public Collection<ItemDto> searchRanked(String text, Integer from, Integer size) {
+        // ответ строится из индекса в памяти, поэтому кэш поиска здесь не нужен
         PageRequest pageRequest = Pagination.makePageRequest(from, size);
-        Page<Item> items = itemRepository.search(text, pageRequest);
-        List<ItemDto> itemList = items.stream()
+        List<ItemDto> itemList = rankedItemSearch.search(text, pageRequest).stream()
                 .map(ItemMapper::toItemDto)
                 .toList();
 
-        log.debug("Получен через поиск список предметов по запросу '{}': {}.", text, itemList);
+        log.debug("Получен через ранжированный поиск список предметов по запросу '{}': {}.", text, itemList);
+        return itemList;
+    }
 
+    @Override
+    public Collection<ItemDto> searchFree(String text, LocalDateTime start, LocalDateTime end, boolean ranked,
+                                          Integer from, Integer size) {
+        checkSearchWindow(start, end);
+        PageRequest pageRequest = Pagination.makePageRequest(from, size);
+        long skip = pageRequest == null ? 0 : pageRequest.getOffset();
+        int limit = pageRequest == null ? Integer.MAX_VALUE : pageRequest.getPageSize();
+
+        // текстовый поиск выполняется один раз; занятость совпадений проверяется по индексу бронирований
+        // пачками в порядке выдачи, пока не наберется страница
+        List<Long> matched = ranked ? rankedItemSearch.searchIds(text) : itemSearch.searchIds(text);
+        List<Long> freeIds = new ArrayList<>();
+        for (int batchStart = 0; batchStart < matched.size() && freeIds.size() < limit;
+             batchStart += FREE_SEARCH_BATCH_SIZE) {
+            List<Long> batch = matched.subList(batchStart,
+                    Math.min(batchStart + FREE_SEARCH_BATCH_SIZE, matched.size()));
+            for (Long itemId : bookingIntervalIndex.findFree(batch, start, end)) {
+                if (skip > 0) {
+                    skip--;
+                } else if (freeIds.size() < limit) {
+                    freeIds.add(itemId);
+                }
+            }
+        }
+
+        Map<Long, Item> items = freeIds.isEmpty() ? Map.of() : itemRepository.findAllById(freeIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        List<ItemDto> itemList = freeIds.stream()
+                .map(items::get)
+                .filter(item -> item != null && Boolean.TRUE.equals(item.getAvailable()))
+                .map(ItemMapper::toItemDto)
+                .toList();
+
+        log.debug("Получен через поиск список свободных с {} по {} предметов по запросу '{}': {}.", start, end,
+                text, itemList);
         return itemList;
     }
 
+    @Override
+    public Collection<String> suggest(String prefix, Integer size) {
+        int limit = size == null ? DEFAULT_SUGGESTIONS : size;
+        if (limit <= 0) throw new ValidationException("Число подсказок должно быть больше нуля");
+
+        List<String> names = itemNameIndex.suggest(prefix, Math.min(limit, MAX_SUGGESTIONS));
+
+        log.debug("Получены подсказки названий по префиксу '{}': {}.", prefix, names);
+        return names;
+    }
+
     @Override
     public CommentDto createComment(CommentDto commentDto, Long itemId, Long userId) {
         User author = userExistCheck(userId);
@@ -141,36 +227,65 @@ public class ItemServiceImpl implements ItemService {
                         "только пользователь, который брал вещь в аренду и только после окончания срока аренды"));
 
         CommentDto commentDtoNew = CommentMapper.toCommentDto(commentRepository.save(CommentMapper.toComment(commentDto, author, itemId)));
+        AfterCommit.run(() -> itemSummaryService.addComment(itemId, commentDtoNew));
 
         log.debug("Создан комментарий {}.", commentDtoNew);
         return commentDtoNew;
     }
 
-    private ItemAllFieldsDto createItemAllFieldsDtoWithBookingsAndComments(
-            Item item,
-            Collection<Booking> bookings,
-            Collection<CommentDto> comments,
-            Long userId) {
-
-        BookingDto endBooking = null;
-        BookingDto startNextBooking = null;
-
-        if (!bookings.isEmpty() && item.getOwner().getId().equals(userId)) {
-            endBooking = bookings.stream()
-                    .filter(booking -> booking.getEndTime().isBefore(LocalDateTime.now()) &&
-                            Duration.between(booking.getStart(), booking.getEndTime()).toSeconds() > 1)
-                    .max(Comparator.comparing(Booking::getEndTime))
-                    .map(booking -> BookingMapper.toBookingDto(booking, booking.getBooker().getId()))
-                    .orElse(null);
-
-            startNextBooking = bookings.stream()
-                    .filter(booking -> booking.getStart().isAfter(LocalDateTime.now()))
-                    .min(Comparator.comparing(Booking::getStart))
-                    .map(booking -> BookingMapper.toBookingDto(booking, booking.getBooker().getId()))
-                    .orElse(null);
-        }
+    @Override
+    public CommentWindowDto findComments(Long itemId, String cursor, Integer size) {
+        if (!itemRepository.existsById(itemId)) throw new EntityNotFoundException("Предмет", itemId);
+        int pageSize = size == null ? DEFAULT_COMMENTS_PAGE_SIZE : size;
+        if (pageSize <= 0) throw new ValidationException("Размер страницы должен быть больше нуля");
+
+        CommentCursor commentCursor = CommentCursorMapper.toCommentCursor(cursor);
+        Limit limit = Limit.of(pageSize + 1);
+        List<CommentDto> comments = commentCursor.created() == null
+                ? commentRepository.findCommentPage(itemId, limit)
+                : commentRepository.findCommentPageAfter(itemId, commentCursor.created(), commentCursor.id(), limit);
+        boolean hasNext = comments.size() > pageSize;
+        List<CommentDto> page = hasNext ? comments.subList(0, pageSize) : comments;
+        CommentWindowDto commentWindowDto = new CommentWindowDto(page,
+                hasNext ? CommentCursorMapper.toCursor(page.get(page.size() - 1)) : null);
+
+        log.debug("Получены комментарии к предмету {}: {}.", itemId, commentWindowDto);
+        return commentWindowDto;
+    }
 
-        return ItemMapper.toItemAllFieldsDto(item, endBooking, startNextBooking, comments);
+    private ItemView loadItemView(Long itemId) {
+        Item item = itemExistCheck(itemId);
+        ItemSummary summary = itemSummaryService.get(itemId);
+
+        return new ItemView(item.getOwner().getId(),
+                createItemAllFieldsDto(item, summary, true),
+                createItemAllFieldsDto(item, summary, false),
+                summary.getRefreshAt());
+    }
+
+    private ItemAllFieldsDto createItemAllFieldsDto(Item item, ItemSummary summary, boolean owner) {
+        return ItemMapper.toItemAllFieldsDto(item,
+                owner ? ItemSummaryMapper.toLastBookingDto(item, summary) : null,
+                owner ? ItemSummaryMapper.toNextBookingDto(item, summary) : null,
+                summary.getLatestComments(),
+                summary.getCommentCount(),
+                toCommentsCursor(summary));
+    }
+
+    // остальные комментарии читаются постранично, начиная со старейшего из показанных
+    private static String toCommentsCursor(ItemSummary summary) {
+        List<CommentDto> latest = summary.getLatestComments();
+        if (latest.isEmpty() || summary.getCommentCount() <= latest.size()) return null;
+        return CommentCursorMapper.toCursor(latest.get(0));
+    }
+
+    private void checkSearchWindow(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null) {
+            throw new ValidationException("Для поиска свободных предметов нужны начало и окончание периода");
+        }
+        if (!end.isAfter(start)) {
+            throw new ValidationException("Окончание периода должно быть позже его начала");
+        }
     }
 
     private User userExistCheck(Long id) {
@@ -188,11 +303,10 @@ public class ItemServiceImpl implements ItemService {
     }
 
     private void itemRequestExistCheck(Long id) {
-        itemRequestRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.error("Запрос вещи {} не найден.", id);
-                    return new EntityNotFoundException("Запрос вещи", id);
-                });
+        if (!itemRequestRepository.existsById(id)) {
+            log.error("Запрос вещи {} не найден.", id);
+            throw new EntityNotFoundException("Запрос вещи", id);
+        }
     }
 
     private void itemOwnershipCheck(Item item, Long ownerId) {
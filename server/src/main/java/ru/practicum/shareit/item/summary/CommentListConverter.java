@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.summary;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import ru.practicum.shareit.item.dto.CommentDto;
+
+import java.util.List;
+
+@Converter
+public class CommentListConverter implements AttributeConverter<List<CommentDto>, String> {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private static final TypeReference<List<CommentDto>> COMMENT_LIST = new TypeReference<>() {
+    };
+
+    @Override
+    public String convertToDatabaseColumn(List<CommentDto> comments) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(comments == null ? List.of() : comments);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сохранить комментарии в сводку предмета", e);
+        }
+    }
+
+    @Override
+    public List<CommentDto> convertToEntityAttribute(String json) {
+        if (json == null || json.isEmpty()) return List.of();
+        try {
+            return OBJECT_MAPPER.readValue(json, COMMENT_LIST);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось прочитать комментарии из сводки предмета", e);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.item.summary;
+
+import java.time.LocalDateTime;
+
+public record ItemBookingTime(Long itemId, LocalDateTime time) {
+}
@@ -0,0 +1,4 @@
+package ru.practicum.shareit.item.summary;
+
+public record ItemCommentCount(Long itemId, Long count) {
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.item.summary;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// пересчеты сводки одного предмета внутри экземпляра идут по очереди, разных предметов - параллельно
+@Component
+public class ItemLocks {
+    private final Lock[] stripes;
+
+    public ItemLocks(@Value("${shareit.item-summary.lock-stripes:64}") int stripes) {
+        this.stripes = new Lock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withLock(Long itemId, Supplier<T> action) {
+        Lock lock = stripes[stripe(itemId)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public <T> T withLocks(Collection<Long> itemIds, Supplier<T> action) {
+        // полосы берутся по возрастанию номера, чтобы пакеты с пересекающимися предметами не взаимоблокировались
+        int[] locked = itemIds.stream()
+                .mapToInt(this::stripe)
+                .distinct()
+                .sorted()
+                .toArray();
+        int acquired = 0;
+        try {
+            for (int stripe : locked) {
+                stripes[stripe].lock();
+                acquired++;
+            }
+            return action.get();
+        } finally {
+            for (int i = acquired - 1; i >= 0; i--) {
+                stripes[locked[i]].unlock();
+            }
+        }
+    }
+
+    private int stripe(Long itemId) {
+        int hash = Long.hashCode(itemId);
+        return Math.floorMod(hash ^ (hash >>> 16), stripes.length);
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.item.summary;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+import ru.practicum.shareit.item.dto.CommentDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Entity
+@Table(name = "item_summary")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class ItemSummary implements Persistable<Long> {
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(name = "last_booking_id")
+    private Long lastBookingId;
+
+    @Column(name = "last_booking_start")
+    private LocalDateTime lastBookingStart;
+
+    @Column(name = "last_booking_end")
+    private LocalDateTime lastBookingEnd;
+
+    @Column(name = "last_booker_id")
+    private Long lastBookerId;
+
+    @Column(name = "next_booking_id")
+    private Long nextBookingId;
+
+    @Column(name = "next_booking_start")
+    private LocalDateTime nextBookingStart;
+
+    @Column(name = "next_booking_end")
+    private LocalDateTime nextBookingEnd;
+
+    @Column(name = "next_booker_id")
+    private Long nextBookerId;
+
+    @Column(name = "comment_count", nullable = false)
+    private long commentCount;
+
+    @Convert(converter = CommentListConverter.class)
+    @Column(name = "latest_comments", length = 8192)
+    private List<CommentDto> latestComments;
+
+    // момент, когда следующая бронь начнется или текущая закончится и сводку нужно пересчитать
+    @Column(name = "refresh_at")
+    private LocalDateTime refreshAt;
+
+    // новая сводка сохраняется через persist, без лишнего select, который сделал бы merge
+    @Transient
+    private boolean fresh;
+
+    @Override
+    public Long getId() {
+        return itemId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return fresh;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        fresh = false;
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.item.summary;
+
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+
+public class ItemSummaryMapper {
+    public static BookingDto toLastBookingDto(Item item, ItemSummary summary) {
+        if (summary.getLastBookingId() == null) return null;
+        return toBookingDto(item, summary.getLastBookingId(), summary.getLastBookingStart(),
+                summary.getLastBookingEnd(), summary.getLastBookerId());
+    }
+
+    public static BookingDto toNextBookingDto(Item item, ItemSummary summary) {
+        if (summary.getNextBookingId() == null) return null;
+        return toBookingDto(item, summary.getNextBookingId(), summary.getNextBookingStart(),
+                summary.getNextBookingEnd(), summary.getNextBookerId());
+    }
+
+    public static void setLastBooking(ItemSummary summary, Booking booking) {
+        summary.setLastBookingId(booking == null ? null : booking.getId());
+        summary.setLastBookingStart(booking == null ? null : booking.getStart());
+        summary.setLastBookingEnd(booking == null ? null : booking.getEndTime());
+        summary.setLastBookerId(booking == null ? null : booking.getBooker().getId());
+    }
+
+    public static void setNextBooking(ItemSummary summary, Booking booking) {
+        summary.setNextBookingId(booking == null ? null : booking.getId());
+        summary.setNextBookingStart(booking == null ? null : booking.getStart());
+        summary.setNextBookingEnd(booking == null ? null : booking.getEndTime());
+        summary.setNextBookerId(booking == null ? null : booking.getBooker().getId());
+    }
+
+    private static BookingDto toBookingDto(Item item, Long bookingId, LocalDateTime start, LocalDateTime end,
+                                           Long bookerId) {
+        return new BookingDto(bookingId,
+                start,
+                end,
+                Item.builder()
+                        .id(item.getId())
+                        .name(item.getName())
+                        .build(),
+                User.builder()
+                        .id(bookerId)
+                        .build(),
+                BookingStatus.APPROVED
+        );
+    }
+}
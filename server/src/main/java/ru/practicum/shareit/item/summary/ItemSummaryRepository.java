@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.summary;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ItemSummaryRepository extends JpaRepository<ItemSummary, Long> {
+    @Query("""
+            SELECT s.itemId
+            FROM ItemSummary s
+            WHERE s.refreshAt <= :now
+            ORDER BY s.refreshAt
+            """)
+    List<Long> findItemIdsToRefresh(@Param("now") LocalDateTime now, Limit limit);
+}
@@ -0,0 +1,235 @@
+package ru.practicum.shareit.item.summary;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemCommentView;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.view.ItemViewCache;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class ItemSummaryService {
+    public static final int LATEST_COMMENTS = 10;
+    private static final int ROLL_FORWARD_BATCH_SIZE = 500;
+
+    private final ItemSummaryRepository itemSummaryRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final ItemLocks itemLocks;
+    private final ItemViewCache itemViewCache;
+    // изменения сводок приходят из AfterCommit, когда ресурсы завершенной транзакции еще привязаны к потоку:
+    // без отдельной транзакции запись присоединилась бы к ней и не попала бы в базу
+    private final TransactionTemplate transaction;
+
+    public ItemSummaryService(ItemSummaryRepository itemSummaryRepository,
+                              BookingRepository bookingRepository,
+                              CommentRepository commentRepository,
+                              ItemLocks itemLocks,
+                              ItemViewCache itemViewCache,
+                              PlatformTransactionManager transactionManager) {
+        this.itemSummaryRepository = itemSummaryRepository;
+        this.bookingRepository = bookingRepository;
+        this.commentRepository = commentRepository;
+        this.itemLocks = itemLocks;
+        this.itemViewCache = itemViewCache;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public ItemSummary get(Long itemId) {
+        return getAll(List.of(itemId)).get(itemId);
+    }
+
+    public Map<Long, ItemSummary> getAll(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) return Map.of();
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ItemSummary> summaries = findSummaries(itemIds);
+        List<Long> stale = itemIds.stream()
+                .filter(itemId -> !summaries.containsKey(itemId) || isDue(summaries.get(itemId), now))
+                .toList();
+        // чтение ничего не пишет: недостающие и устаревшие сводки собираются в памяти, а сохраняют их
+        // обработчики изменений и rollForward - иначе экземпляры, впервые читающие один предмет,
+        // столкнулись бы на вставке. Кэш представлений здесь тоже не сбрасывается: чтение идет и из его
+        // загрузчика, а устаревшие представления истекают по staleAt сами
+        if (!stale.isEmpty()) {
+            Map<Long, ItemSummary> stored = stale.stream()
+                    .filter(summaries::containsKey)
+                    .collect(Collectors.toMap(Function.identity(), itemId -> detachedCopy(summaries.get(itemId))));
+            summaries.putAll(summarizeBookings(stale, stored));
+        }
+        return summaries;
+    }
+
+    public Map<Long, ItemSummary> refreshBookings(Collection<Long> itemIds) {
+        return itemLocks.withLocks(itemIds, () -> {
+            Map<Long, ItemSummary> saved;
+            try {
+                saved = transaction.execute(status -> saveBookings(itemIds));
+            } catch (DataIntegrityViolationException e) {
+                // первую сводку того же предмета одновременно вставил другой экземпляр: повтор ее обновит
+                saved = transaction.execute(status -> saveBookings(itemIds));
+            }
+            itemViewCache.invalidateAll(itemIds);
+            return saved;
+        });
+    }
+
+    private Map<Long, ItemSummary> saveBookings(Collection<Long> itemIds) {
+        Map<Long, ItemSummary> summaries = summarizeBookings(itemIds, findSummaries(itemIds));
+        Map<Long, ItemSummary> saved = itemSummaryRepository.saveAll(summaries.values()).stream()
+                .collect(Collectors.toMap(ItemSummary::getItemId, Function.identity()));
+        log.debug("Пересчитаны брони в сводках предметов {}.", itemIds);
+        return saved;
+    }
+
+    private Map<Long, ItemSummary> summarizeBookings(Collection<Long> itemIds, Map<Long, ItemSummary> stored) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ItemSummary> summaries = new HashMap<>(stored);
+        summaries.putAll(newSummaries(itemIds.stream()
+                .filter(itemId -> !stored.containsKey(itemId))
+                .toList()));
+
+        Map<Long, List<Booking>> bookings = bookingRepository.findLastAndNextByItemIdIn(itemIds,
+                        BookingStatus.APPROVED.name(), now).stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+        Map<Long, LocalDateTime> earliestEnds = bookingRepository.findEarliestEndsByItemIdIn(itemIds,
+                        BookingStatus.APPROVED, now).stream()
+                .collect(Collectors.toMap(ItemBookingTime::itemId, ItemBookingTime::time));
+
+        summaries.values().forEach(summary -> {
+            ItemSummaryMapper.setLastBooking(summary, null);
+            ItemSummaryMapper.setNextBooking(summary, null);
+            for (Booking booking : bookings.getOrDefault(summary.getItemId(), List.of())) {
+                if (booking.getStart().isAfter(now)) {
+                    ItemSummaryMapper.setNextBooking(summary, booking);
+                } else {
+                    ItemSummaryMapper.setLastBooking(summary, booking);
+                }
+            }
+            summary.setRefreshAt(min(summary.getNextBookingStart(), earliestEnds.get(summary.getItemId())));
+        });
+        return summaries;
+    }
+
+    public void addComment(Long itemId, CommentDto comment) {
+        itemLocks.withLock(itemId, () -> {
+            Optional<ItemSummary> existing = itemSummaryRepository.findById(itemId);
+            if (existing.isEmpty()) {
+                // новая сводка строится целиком и уже включает сохраненный комментарий
+                return refreshBookings(List.of(itemId));
+            }
+
+            ItemSummary summary = existing.get();
+            List<CommentDto> latest = new ArrayList<>(summary.getLatestComments());
+            latest.add(comment);
+            summary.setLatestComments(latest.subList(Math.max(0, latest.size() - LATEST_COMMENTS), latest.size()));
+            summary.setCommentCount(summary.getCommentCount() + 1);
+
+            ItemSummary saved = transaction.execute(status -> itemSummaryRepository.save(summary));
+            itemViewCache.invalidate(itemId);
+            log.debug("В сводку предмета {} добавлен комментарий {}.", itemId, comment.getId());
+            return saved;
+        });
+    }
+
+    // имена авторов хранятся в сводке копией, после переименования пересобираются последние комментарии
+    public void refreshCommentAuthor(Long authorId) {
+        List<Long> itemIds = commentRepository.findItemIdsByAuthorId(authorId);
+        for (int from = 0; from < itemIds.size(); from += ROLL_FORWARD_BATCH_SIZE) {
+            refreshComments(itemIds.subList(from, Math.min(from + ROLL_FORWARD_BATCH_SIZE, itemIds.size())));
+        }
+        log.debug("Обновлено имя автора {} в сводках {} предметов.", authorId, itemIds.size());
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.item-summary.roll-forward-interval:PT1M}",
+            initialDelayString = "${shareit.item-summary.roll-forward-interval:PT1M}")
+    public void rollForward() {
+        int refreshed = 0;
+        List<Long> itemIds;
+        do {
+            itemIds = itemSummaryRepository.findItemIdsToRefresh(LocalDateTime.now(),
+                    Limit.of(ROLL_FORWARD_BATCH_SIZE));
+            if (!itemIds.isEmpty()) refreshBookings(itemIds);
+            refreshed += itemIds.size();
+        } while (itemIds.size() == ROLL_FORWARD_BATCH_SIZE);
+
+        if (refreshed > 0) log.info("Сводки {} предметов сдвинуты по времени.", refreshed);
+    }
+
+    private void refreshComments(List<Long> itemIds) {
+        itemLocks.withLocks(itemIds, () -> {
+            Map<Long, ItemSummary> summaries = findSummaries(itemIds);
+            if (summaries.isEmpty()) return summaries;
+
+            Map<Long, List<CommentDto>> latest = latestComments(summaries.keySet());
+            summaries.values().forEach(summary ->
+                    summary.setLatestComments(latest.getOrDefault(summary.getItemId(), List.of())));
+            transaction.executeWithoutResult(status -> itemSummaryRepository.saveAll(summaries.values()));
+            itemViewCache.invalidateAll(summaries.keySet());
+            return summaries;
+        });
+    }
+
+    private Map<Long, ItemSummary> newSummaries(List<Long> itemIds) {
+        if (itemIds.isEmpty()) return Map.of();
+
+        Map<Long, List<CommentDto>> latest = latestComments(itemIds);
+        Map<Long, Long> counts = commentRepository.countByItemIdIn(itemIds).stream()
+                .collect(Collectors.toMap(ItemCommentCount::itemId, ItemCommentCount::count));
+
+        return itemIds.stream()
+                .collect(Collectors.toMap(Function.identity(), itemId -> ItemSummary.builder()
+                        .itemId(itemId)
+                        .commentCount(counts.getOrDefault(itemId, 0L))
+                        .latestComments(latest.getOrDefault(itemId, List.of()))
+                        .fresh(true)
+                        .build()));
+    }
+
+    private Map<Long, List<CommentDto>> latestComments(Collection<Long> itemIds) {
+        return commentRepository.findLatestByItemIdIn(itemIds, LATEST_COMMENTS).stream()
+                .collect(Collectors.groupingBy(ItemCommentView::getItemId,
+                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
+    }
+
+    private Map<Long, ItemSummary> findSummaries(Collection<Long> itemIds) {
+        return itemSummaryRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(ItemSummary::getItemId, Function.identity()));
+    }
+
+    // пересчет в памяти идет на копии: измененная сущность из контекста персистентности записалась бы при flush
+    private static ItemSummary detachedCopy(ItemSummary summary) {
+        return ItemSummary.builder()
+                .itemId(summary.getItemId())
+                .commentCount(summary.getCommentCount())
+                .latestComments(summary.getLatestComments())
+                .build();
+    }
+
+    private static boolean isDue(ItemSummary summary, LocalDateTime now) {
+        return summary.getRefreshAt() != null && !summary.getRefreshAt().isAfter(now);
+    }
+
+    private static LocalDateTime min(LocalDateTime first, LocalDateTime second) {
+        if (first == null) return second;
+        if (second == null) return first;
+        return first.isBefore(second) ? first : second;
+    }
+}
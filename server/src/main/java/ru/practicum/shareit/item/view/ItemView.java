@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.view;
+
+import ru.practicum.shareit.item.dto.ItemAllFieldsDto;
+
+import java.time.LocalDateTime;
+
+public record ItemView(Long ownerId, ItemAllFieldsDto ownerView, ItemAllFieldsDto publicView, LocalDateTime staleAt) {
+    public ItemAllFieldsDto viewFor(Long userId) {
+        return ownerId.equals(userId) ? ownerView : publicView;
+    }
+}
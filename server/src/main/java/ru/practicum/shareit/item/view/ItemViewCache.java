@@ -0,0 +1,120 @@
+package ru.practicum.shareit.item.view;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+@Slf4j
+@Component
+public class ItemViewCache {
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoTime;
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Autowired
+    public ItemViewCache(@Value("${shareit.item-view.cache.max-size:10000}") int maxSize,
+                         @Value("${shareit.item-view.cache.ttl:10m}") Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    ItemViewCache(int maxSize, Duration ttl, LongSupplier nanoTime) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    public ItemView get(Long itemId, Function<Long, ItemView> loader) {
+        if (maxSize <= 0) return loader.apply(itemId);
+
+        Entry entry;
+        boolean owner = false;
+        synchronized (this) {
+            entry = entries.get(itemId);
+            if (entry != null && entry.view.isDone() && entry.expiresAt - nanoTime.getAsLong() <= 0) {
+                entries.remove(itemId);
+                entry = null;
+            }
+            if (entry == null) {
+                // остальные запросы этого предмета дождутся загрузки, а не пойдут в базу сами
+                entry = new Entry();
+                entries.put(itemId, entry);
+                owner = true;
+                evictOverflow();
+            }
+        }
+
+        if (owner) load(itemId, entry, loader);
+        try {
+            return entry.view.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    public void invalidate(Long itemId) {
+        if (maxSize <= 0) return;
+        synchronized (this) {
+            entries.remove(itemId);
+        }
+        log.debug("Из кэша удалено представление предмета {}.", itemId);
+    }
+
+    public void invalidateAll(Collection<Long> itemIds) {
+        if (maxSize <= 0) return;
+        synchronized (this) {
+            itemIds.forEach(entries::remove);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void load(Long itemId, Entry entry, Function<Long, ItemView> loader) {
+        long loadedAt = nanoTime.getAsLong();
+        try {
+            ItemView view = loader.apply(itemId);
+            entry.expiresAt = loadedAt + lifetime(view.staleAt());
+            entry.view.complete(view);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                entries.remove(itemId, entry);
+            }
+            entry.view.completeExceptionally(e);
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (entries.size() > maxSize && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    // представление владельца перестает быть верным, когда сводка предмета требует пересчета
+    private long lifetime(LocalDateTime staleAt) {
+        if (staleAt == null) return ttlNanos;
+        Duration untilStale = Duration.between(LocalDateTime.now(), staleAt);
+        if (untilStale.isNegative()) return 0;
+        return untilStale.compareTo(Duration.ofNanos(ttlNanos)) < 0 ? untilStale.toNanos() : ttlNanos;
+    }
+
+    private static class Entry {
+        private final CompletableFuture<ItemView> view = new CompletableFuture<>();
+        private volatile long expiresAt;
+    }
+}
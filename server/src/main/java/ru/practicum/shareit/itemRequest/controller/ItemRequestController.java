@@ -2,9 +2,14 @@ package ru.practicum.shareit.itemRequest.controller;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.itemRequest.dto.ItemRequestAllFieldsDto;
 import ru.practicum.shareit.itemRequest.dto.ItemRequestDto;
+import ru.practicum.shareit.itemRequest.dto.ItemRequestWindowDto;
+import ru.practicum.shareit.itemRequest.service.ItemRequestExportService;
 import ru.practicum.shareit.itemRequest.service.ItemRequestService;
 
 import java.util.Collection;
@@ -14,7 +19,9 @@ import java.util.Collection;
 @AllArgsConstructor
 @RequestMapping(path = "/requests")
 public class ItemRequestController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     private final ItemRequestService itemRequestService;
+    private final ItemRequestExportService itemRequestExportService;
 
     @PostMapping
     public ItemRequestDto create(@RequestBody ItemRequestDto itemRequestDto,
@@ -31,12 +38,28 @@ public class ItemRequestController {
         return itemRequestService.findAllUserRequests(userId, from, size);
     }
 
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUserRequests(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.debug("Попытка выгрузки всех запросов на предметы пользователем {}.", userId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(itemRequestExportService.exportUserRequests(userId));
+    }
+
     @GetMapping("/all")
-    public Collection<ItemRequestDto> getAll(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @RequestParam(required = false) Integer from,
-                                             @RequestParam(required = false) Integer size) {
+    public ResponseEntity<Collection<ItemRequestDto>> getAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                             @RequestParam(required = false) Integer from,
+                                                             @RequestParam(required = false) Integer size,
+                                                             @RequestParam(required = false) String cursor) {
         log.debug("Попытка получения запросов на предметы всех пользователей.");
-        return itemRequestService.findAll(userId, from, size);
+        if (cursor == null) return ResponseEntity.ok(itemRequestService.findAll(userId, from, size));
+
+        ItemRequestWindowDto itemRequestWindowDto = itemRequestService.scrollAll(userId, cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (itemRequestWindowDto.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, itemRequestWindowDto.getNextCursor());
+        }
+        return response.body(itemRequestWindowDto.getRequests());
     }
 
     @GetMapping("{requestId}")
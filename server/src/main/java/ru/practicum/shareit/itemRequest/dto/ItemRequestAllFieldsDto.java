@@ -16,4 +16,5 @@ public class ItemRequestAllFieldsDto {
     private String description;
     private LocalDateTime created;
     private Collection<ItemRequestItemDto> items;
+    private Collection<ItemRequestItemDto> suggestions;
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.itemRequest.dto;
+
+import java.time.LocalDateTime;
+
+public record ItemRequestCursor(LocalDateTime created, Long id) {
+    public static final ItemRequestCursor FIRST = new ItemRequestCursor(null, null);
+}
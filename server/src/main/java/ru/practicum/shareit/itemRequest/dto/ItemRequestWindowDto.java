@@ -0,0 +1,15 @@
+package ru.practicum.shareit.itemRequest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Collection;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class ItemRequestWindowDto {
+    private Collection<ItemRequestDto> requests;
+    private String nextCursor;
+}
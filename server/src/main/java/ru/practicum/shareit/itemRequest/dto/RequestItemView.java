@@ -0,0 +1,4 @@
+package ru.practicum.shareit.itemRequest.dto;
+
+public record RequestItemView(Long requestId, Long itemId, String name, Long ownerId) {
+}
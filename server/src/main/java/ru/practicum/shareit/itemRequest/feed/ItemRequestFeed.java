@@ -0,0 +1,71 @@
+package ru.practicum.shareit.itemRequest.feed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.itemRequest.dto.ItemRequestCursor;
+import ru.practicum.shareit.itemRequest.repository.ItemRequestRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+public class ItemRequestFeed {
+    private final ItemRequestRepository itemRequestRepository;
+    private final int capacity;
+    private final RequestRing ring;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    public ItemRequestFeed(ItemRequestRepository itemRequestRepository,
+                           @Value("${shareit.item-request.feed.size:1000}") int capacity) {
+        this.itemRequestRepository = itemRequestRepository;
+        this.capacity = capacity;
+        this.ring = new RequestRing(Math.max(capacity, 0));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (capacity <= 0) return;
+
+        // лишний запрос сверх емкости вытеснится и покажет, что в базе есть записи старше кольца
+        List<ItemRequestFeedEntry> newest = itemRequestRepository.findNewestFeedEntries(Limit.of(capacity + 1));
+        lock.writeLock().lock();
+        try {
+            newest.forEach(ring::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        log.info("Лента запросов загружена: {} последних запросов.", ring.size());
+    }
+
+    public void add(ItemRequestFeedEntry entry) {
+        if (capacity <= 0) return;
+
+        lock.writeLock().lock();
+        try {
+            ring.add(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<List<ItemRequestFeedEntry>> page(Long excludedRequestorId, ItemRequestCursor cursor, long skip,
+                                                     int limit) {
+        if (!ready) return Optional.empty();
+
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(ring.page(excludedRequestorId, cursor, skip, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
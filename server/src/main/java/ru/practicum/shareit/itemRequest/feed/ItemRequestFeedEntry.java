@@ -0,0 +1,6 @@
+package ru.practicum.shareit.itemRequest.feed;
+
+import java.time.LocalDateTime;
+
+public record ItemRequestFeedEntry(Long id, Long requestorId, String description, LocalDateTime created) {
+}
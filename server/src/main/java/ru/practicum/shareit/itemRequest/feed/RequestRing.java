@@ -0,0 +1,95 @@
+package ru.practicum.shareit.itemRequest.feed;
+
+import ru.practicum.shareit.itemRequest.dto.ItemRequestCursor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// кольцевой буфер последних запросов в порядке created desc, id desc: новый запрос встает в голову на место самого старого
+final class RequestRing {
+    private static final Comparator<ItemRequestFeedEntry> NEWEST_FIRST = Comparator
+            .comparing(ItemRequestFeedEntry::created, Comparator.reverseOrder())
+            .thenComparing(ItemRequestFeedEntry::id, Comparator.reverseOrder());
+
+    private final ItemRequestFeedEntry[] entries;
+    private int head;
+    private int count;
+    // пока ничего не вытеснено, в кольце лежат все запросы и за его концом в базе искать нечего
+    private boolean complete = true;
+
+    RequestRing(int capacity) {
+        entries = new ItemRequestFeedEntry[capacity];
+    }
+
+    void add(ItemRequestFeedEntry entry) {
+        int position = find(entry);
+        if (position >= 0) return;
+        position = -position - 1;
+
+        if (count == entries.length) {
+            complete = false;
+            if (position == count) return;
+            count--;
+        }
+        if (position == 0) {
+            head = (head - 1 + entries.length) % entries.length;
+        } else {
+            for (int i = count; i > position; i--) {
+                set(i, get(i - 1));
+            }
+        }
+        set(position, entry);
+        count++;
+    }
+
+    // null - кольцо не может ответить, страница уходит за его конец
+    List<ItemRequestFeedEntry> page(Long excludedRequestorId, ItemRequestCursor cursor, long skip, int limit) {
+        int i = 0;
+        if (cursor.created() != null) {
+            int position = find(new ItemRequestFeedEntry(cursor.id(), null, null, cursor.created()));
+            i = position >= 0 ? position + 1 : -position - 1;
+        }
+
+        List<ItemRequestFeedEntry> page = new ArrayList<>();
+        for (; i < count && page.size() < limit; i++) {
+            ItemRequestFeedEntry entry = get(i);
+            if (entry.requestorId() == null || entry.requestorId().equals(excludedRequestorId)) continue;
+            if (skip > 0) {
+                skip--;
+            } else {
+                page.add(entry);
+            }
+        }
+        return page.size() < limit && !complete ? null : page;
+    }
+
+    int size() {
+        return count;
+    }
+
+    private int find(ItemRequestFeedEntry entry) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int compared = NEWEST_FIRST.compare(get(mid), entry);
+            if (compared < 0) {
+                low = mid + 1;
+            } else if (compared > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private ItemRequestFeedEntry get(int position) {
+        return entries[(head + position) % entries.length];
+    }
+
+    private void set(int position, ItemRequestFeedEntry entry) {
+        entries[(head + position) % entries.length] = entry;
+    }
+}
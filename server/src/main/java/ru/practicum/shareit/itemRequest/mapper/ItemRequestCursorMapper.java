@@ -0,0 +1,31 @@
+package ru.practicum.shareit.itemRequest.mapper;
+
+import jakarta.validation.ValidationException;
+import ru.practicum.shareit.itemRequest.dto.ItemRequestCursor;
+import ru.practicum.shareit.itemRequest.dto.ItemRequestDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public class ItemRequestCursorMapper {
+    private static final String SEPARATOR = "|";
+
+    public static String toCursor(ItemRequestDto itemRequest) {
+        String cursor = itemRequest.getCreated() + SEPARATOR + itemRequest.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ItemRequestCursor toItemRequestCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return ItemRequestCursor.FIRST;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            return new ItemRequestCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new ValidationException("Некорректный курсор " + cursor);
+        }
+    }
+}
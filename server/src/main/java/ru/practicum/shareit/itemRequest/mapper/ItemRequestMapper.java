@@ -1,13 +1,15 @@
 package ru.practicum.shareit.itemRequest.mapper;
 
-import ru.practicum.shareit.item.mapper.ItemMapper;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.dto.ItemRequestItemDto;
 import ru.practicum.shareit.itemRequest.dto.ItemRequestAllFieldsDto;
 import ru.practicum.shareit.itemRequest.dto.ItemRequestDto;
+import ru.practicum.shareit.itemRequest.dto.RequestItemView;
+import ru.practicum.shareit.itemRequest.feed.ItemRequestFeedEntry;
 import ru.practicum.shareit.itemRequest.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Collection;
 
 public class ItemRequestMapper {
@@ -17,23 +19,47 @@ public class ItemRequestMapper {
                 itemRequest.getCreated());
     }
 
-    public static ItemRequestAllFieldsDto toItemRequestAllFieldsDto(ItemRequest itemRequest,
-                                                                    Collection<Item> items) {
-        return new ItemRequestAllFieldsDto(itemRequest.getId(),
+    public static ItemRequestDto toItemRequestDto(ItemRequestFeedEntry entry) {
+        return new ItemRequestDto(entry.id(),
+                entry.description(),
+                entry.created());
+    }
+
+    public static ItemRequestFeedEntry toFeedEntry(ItemRequest itemRequest) {
+        return new ItemRequestFeedEntry(itemRequest.getId(),
+                itemRequest.getRequestor().getId(),
                 itemRequest.getDescription(),
-                itemRequest.getCreated(),
+                itemRequest.getCreated());
+    }
+
+    public static ItemRequestAllFieldsDto toItemRequestAllFieldsDto(ItemRequestFeedEntry entry,
+                                                                    Collection<RequestItemView> items,
+                                                                    Collection<RequestItemView> suggestions) {
+        return new ItemRequestAllFieldsDto(entry.id(),
+                entry.description(),
+                entry.created(),
                 items.stream()
-                        .map(ItemMapper::toItemRequestItemDto)
+                        .map(ItemRequestMapper::toItemRequestItemDto)
+                        .toList(),
+                suggestions.stream()
+                        .map(ItemRequestMapper::toItemRequestItemDto)
                         .toList());
     }
 
+    public static ItemRequestItemDto toItemRequestItemDto(RequestItemView item) {
+        return new ItemRequestItemDto(item.itemId(),
+                item.name(),
+                item.ownerId());
+    }
+
     public static ItemRequest toItemRequest(ItemRequestDto itemRequestDto, Long userId) {
         return ItemRequest.builder()
                 .description(itemRequestDto.getDescription())
                 .requestor(User.builder()
                         .id(userId)
                         .build())
-                .created(LocalDateTime.now())
+                // база хранит микросекунды: курсор ленты из памяти должен совпадать с прочитанным из базы
+                .created(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
                 .build();
     }
 }
\ No newline at end of file
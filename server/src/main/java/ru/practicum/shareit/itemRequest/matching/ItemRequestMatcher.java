@@ -0,0 +1,122 @@
+package ru.practicum.shareit.itemRequest.matching;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.index.RankedItemSearch;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.itemRequest.model.ItemRequest;
+import ru.practicum.shareit.itemRequest.model.RequestSuggestion;
+import ru.practicum.shareit.itemRequest.repository.ItemRequestRepository;
+import ru.practicum.shareit.itemRequest.repository.RequestSuggestionRepository;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class ItemRequestMatcher {
+    public static final int MAX_SUGGESTIONS = 5;
+    private static final int BATCH_SIZE = 100;
+    // запас на свои и чужие по запросу предметы, которые отсеются после поиска
+    private static final int CANDIDATES = MAX_SUGGESTIONS * 4;
+
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
+    private final RequestSuggestionRepository requestSuggestionRepository;
+    private final RankedItemSearch rankedItemSearch;
+    private final TransactionTemplate transaction;
+    private final Queue<Long> pending = new ConcurrentLinkedQueue<>();
+    // после старта в базе могут остаться запросы, не разобранные до перезапуска
+    private volatile boolean backlog = true;
+
+    public ItemRequestMatcher(ItemRequestRepository itemRequestRepository,
+                              ItemRepository itemRepository,
+                              RequestSuggestionRepository requestSuggestionRepository,
+                              RankedItemSearch rankedItemSearch,
+                              PlatformTransactionManager transactionManager) {
+        this.itemRequestRepository = itemRequestRepository;
+        this.itemRepository = itemRepository;
+        this.requestSuggestionRepository = requestSuggestionRepository;
+        this.rankedItemSearch = rankedItemSearch;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    public void enqueue(Long requestId) {
+        pending.add(requestId);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.item-request.matching.interval:PT1S}",
+            initialDelayString = "${shareit.item-request.matching.interval:PT1S}")
+    public void matchPending() {
+        if (!rankedItemSearch.isReady()) return;
+
+        int matched = 0;
+        List<Long> batch;
+        do {
+            batch = nextBatch();
+            if (!batch.isEmpty()) matched += match(batch);
+        } while (batch.size() == BATCH_SIZE);
+
+        if (matched > 0) log.info("Подобраны предметы для {} запросов.", matched);
+    }
+
+    private List<Long> nextBatch() {
+        List<Long> batch = new ArrayList<>();
+        Long requestId;
+        while (batch.size() < BATCH_SIZE && (requestId = pending.poll()) != null) {
+            batch.add(requestId);
+        }
+        if (batch.isEmpty() && backlog) {
+            batch = itemRequestRepository.findUnmatchedIds(Limit.of(BATCH_SIZE));
+            if (batch.size() < BATCH_SIZE) backlog = false;
+        }
+        return batch;
+    }
+
+    private int match(List<Long> requestIds) {
+        return Objects.requireNonNull(transaction.execute(status -> {
+            List<ItemRequest> requests = itemRequestRepository.findAllById(requestIds).stream()
+                    .filter(request -> request.getMatchedAt() == null)
+                    .toList();
+            Map<Long, List<Long>> candidates = requests.stream()
+                    .collect(Collectors.toMap(ItemRequest::getId,
+                            request -> rankedItemSearch.match(request.getDescription(), CANDIDATES)));
+            Map<Long, Item> items = itemRepository.findAllById(candidates.values().stream()
+                            .flatMap(List::stream)
+                            .distinct()
+                            .toList()).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+            List<RequestSuggestion> suggestions = new ArrayList<>();
+            LocalDateTime now = LocalDateTime.now();
+            for (ItemRequest request : requests) {
+                int sortOrder = 0;
+                for (Long itemId : candidates.get(request.getId())) {
+                    Item item = items.get(itemId);
+                    if (item == null || !isSuggestible(item, request)) continue;
+                    suggestions.add(new RequestSuggestion(null, request.getId(), item, sortOrder++));
+                    if (sortOrder == MAX_SUGGESTIONS) break;
+                }
+                request.setMatchedAt(now);
+            }
+            requestSuggestionRepository.saveAll(suggestions);
+
+            log.debug("Для {} запросов сохранено {} подходящих предметов.", requests.size(), suggestions.size());
+            return requests.size();
+        }));
+    }
+
+    private static boolean isSuggestible(Item item, ItemRequest request) {
+        return Boolean.TRUE.equals(item.getAvailable())
+                && (request.getRequestor() == null || !item.getOwner().getId().equals(request.getRequestor().getId()))
+                && (item.getRequest() == null || !item.getRequest().getId().equals(request.getId()));
+    }
+}
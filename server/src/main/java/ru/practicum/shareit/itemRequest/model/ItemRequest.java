@@ -15,16 +15,20 @@ import java.time.LocalDateTime;
 @Builder
 public class ItemRequest {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+    @SequenceGenerator(name = "requests_seq", sequenceName = "requests_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "description", nullable = false)
     private String description;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "requestor_id")
     private User requestor;
 
     @Column(name = "created", nullable = false)
     private LocalDateTime created;
+
+    @Column(name = "matched_at")
+    private LocalDateTime matchedAt;
 }
\ No newline at end of file
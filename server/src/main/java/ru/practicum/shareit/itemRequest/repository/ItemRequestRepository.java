@@ -1,16 +1,58 @@
 package ru.practicum.shareit.itemRequest.repository;
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.itemRequest.feed.ItemRequestFeedEntry;
 import ru.practicum.shareit.itemRequest.model.ItemRequest;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    @EntityGraph(attributePaths = {"requestor"})
-    Page<ItemRequest> findAllByRequestor_IdOrderByCreatedDesc(Long requestorId, Pageable pageable);
+    String SELECT_FEED_ENTRY = """
+            SELECT new ru.practicum.shareit.itemRequest.feed.ItemRequestFeedEntry(r.id, r.requestor.id,
+                r.description, r.created)
+            FROM ItemRequest r
+            """;
+    String ORDER_BY_NEWEST = "ORDER BY r.created DESC, r.id DESC";
+    // первая страница читается без курсора через findFeed и findUserRequests
+    String BEFORE_CURSOR = "AND (r.created, r.id) < (:cursorCreated, :cursorId) ";
+
+    @Query(SELECT_FEED_ENTRY + "WHERE r.requestor.id <> :userId " + ORDER_BY_NEWEST)
+    Slice<ItemRequestFeedEntry> findFeed(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(SELECT_FEED_ENTRY + "WHERE r.requestor.id <> :userId " + BEFORE_CURSOR + ORDER_BY_NEWEST)
+    List<ItemRequestFeedEntry> findFeedAfter(@Param("userId") Long userId,
+                                             @Param("cursorCreated") LocalDateTime cursorCreated,
+                                             @Param("cursorId") Long cursorId,
+                                             Limit limit);
+
+    @Query(SELECT_FEED_ENTRY + "WHERE r.id = :id")
+    Optional<ItemRequestFeedEntry> findFeedEntryById(@Param("id") Long id);
+
+    @Query(SELECT_FEED_ENTRY + "WHERE r.requestor.id = :userId " + ORDER_BY_NEWEST)
+    Slice<ItemRequestFeedEntry> findUserRequests(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(SELECT_FEED_ENTRY + "WHERE r.requestor.id = :userId " + BEFORE_CURSOR + ORDER_BY_NEWEST)
+    List<ItemRequestFeedEntry> findUserRequestsAfter(@Param("userId") Long userId,
+                                                     @Param("cursorCreated") LocalDateTime cursorCreated,
+                                                     @Param("cursorId") Long cursorId,
+                                                     Limit limit);
+
+    @Query(SELECT_FEED_ENTRY + ORDER_BY_NEWEST)
+    List<ItemRequestFeedEntry> findNewestFeedEntries(Limit limit);
+
+    @Query("select r.id from ItemRequest r where r.matchedAt is null order by r.id")
+    List<Long> findUnmatchedIds(Limit limit);
 
-    @EntityGraph(attributePaths = {"requestor"})
-    Page<ItemRequest> findAllByRequestor_IdNotOrderByCreatedDesc(Long requestorId, Pageable pageable);
+    @Query("select r.id from ItemRequest r where r.id in :ids")
+    Set<Long> findIdsByIdIn(Collection<Long> ids);
 }
\ No newline at end of file
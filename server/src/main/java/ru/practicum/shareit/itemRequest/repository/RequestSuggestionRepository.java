@@ -0,0 +1,21 @@
+package ru.practicum.shareit.itemRequest.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.itemRequest.dto.RequestItemView;
+import ru.practicum.shareit.itemRequest.model.RequestSuggestion;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface RequestSuggestionRepository extends JpaRepository<RequestSuggestion, Long> {
+    @Query("""
+            SELECT new ru.practicum.shareit.itemRequest.dto.RequestItemView(s.requestId, i.id, i.name, i.owner.id)
+            FROM RequestSuggestion s
+            JOIN s.item i
+            WHERE s.requestId IN :requestIds
+            AND i.available = true
+            ORDER BY s.requestId, s.sortOrder
+            """)
+    List<RequestItemView> findAvailableByRequestIdIn(Collection<Long> requestIds);
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.itemRequest.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.itemRequest.dto.ItemRequestAllFieldsDto;
+import ru.practicum.shareit.itemRequest.dto.RequestItemView;
+import ru.practicum.shareit.itemRequest.feed.ItemRequestFeedEntry;
+import ru.practicum.shareit.itemRequest.mapper.ItemRequestMapper;
+import ru.practicum.shareit.itemRequest.repository.ItemRequestRepository;
+import ru.practicum.shareit.itemRequest.repository.RequestSuggestionRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class ItemRequestExportService {
+    private static final int CHUNK_SIZE = 500;
+
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
+    private final RequestSuggestionRepository requestSuggestionRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter itemRequestWriter;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ItemRequestExportService(ItemRequestRepository itemRequestRepository,
+                                    ItemRepository itemRepository,
+                                    RequestSuggestionRepository requestSuggestionRepository,
+                                    UserRepository userRepository,
+                                    ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager) {
+        this.itemRequestRepository = itemRequestRepository;
+        this.itemRepository = itemRepository;
+        this.requestSuggestionRepository = requestSuggestionRepository;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.itemRequestWriter = objectMapper.writerFor(ItemRequestAllFieldsDto.class);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public StreamingResponseBody exportUserRequests(Long userId) {
+        checkUserExists(userId);
+        return outputStream -> readOnlyTransaction.executeWithoutResult(status -> {
+            try {
+                long count = writeRequests(userId, outputStream);
+                log.debug("Выгружено {} запросов на предметы пользователя {}", count, userId);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // запросы читаются по курсору пачками, в памяти одновременно лежит только одна пачка с ее предметами
+    private long writeRequests(Long userId, OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.writeStartArray();
+        long count = 0;
+        LocalDateTime cursorCreated = null;
+        Long cursorId = null;
+        List<ItemRequestFeedEntry> chunk;
+        do {
+            chunk = cursorCreated == null
+                    ? itemRequestRepository.findUserRequests(userId, PageRequest.ofSize(CHUNK_SIZE)).getContent()
+                    : itemRequestRepository.findUserRequestsAfter(userId, cursorCreated, cursorId,
+                    Limit.of(CHUNK_SIZE));
+            if (chunk.isEmpty()) break;
+
+            List<Long> requestIds = chunk.stream()
+                    .map(ItemRequestFeedEntry::id)
+                    .toList();
+            Map<Long, List<RequestItemView>> items = itemRepository.findRequestItemViews(requestIds).stream()
+                    .collect(Collectors.groupingBy(RequestItemView::requestId));
+            Map<Long, List<RequestItemView>> suggestions = requestSuggestionRepository
+                    .findAvailableByRequestIdIn(requestIds).stream()
+                    .collect(Collectors.groupingBy(RequestItemView::requestId));
+            for (ItemRequestFeedEntry entry : chunk) {
+                itemRequestWriter.writeValue(generator, ItemRequestMapper.toItemRequestAllFieldsDto(entry,
+                        items.getOrDefault(entry.id(), List.of()), suggestions.getOrDefault(entry.id(), List.of())));
+            }
+            generator.flush();
+
+            count += chunk.size();
+            ItemRequestFeedEntry last = chunk.get(chunk.size() - 1);
+            cursorCreated = last.created();
+            cursorId = last.id();
+        } while (chunk.size() == CHUNK_SIZE);
+        generator.writeEndArray();
+        generator.flush();
+        return count;
+    }
+
+    private void checkUserExists(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            log.error("Пользователь {} не найден!", userId);
+            throw new EntityNotFoundException("Пользователь", userId);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.itemRequest.service;
 
 import ru.practicum.shareit.itemRequest.dto.ItemRequestAllFieldsDto;
 import ru.practicum.shareit.itemRequest.dto.ItemRequestDto;
+import ru.practicum.shareit.itemRequest.dto.ItemRequestWindowDto;
 
 import java.util.Collection;
 
@@ -12,5 +13,7 @@ public interface ItemRequestService {
 
     Collection<ItemRequestDto> findAll(Long userId, Integer from, Integer size);
 
+    ItemRequestWindowDto scrollAll(Long userId, String cursor, Integer size);
+
     ItemRequestAllFieldsDto find(Long requestId, Long userId);
 }
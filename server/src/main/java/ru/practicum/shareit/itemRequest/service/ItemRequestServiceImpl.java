@@ -1,19 +1,30 @@
 package ru.practicum.shareit.itemRequest.service;
 
+import jakarta.validation.ValidationException;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exception.EntityNotFoundException;
-import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.itemRequest.dto.ItemRequestAllFieldsDto;
+import ru.practicum.shareit.itemRequest.dto.ItemRequestCursor;
 import ru.practicum.shareit.itemRequest.dto.ItemRequestDto;
+import ru.practicum.shareit.itemRequest.dto.ItemRequestWindowDto;
+import ru.practicum.shareit.itemRequest.dto.RequestItemView;
+import ru.practicum.shareit.itemRequest.feed.ItemRequestFeed;
+import ru.practicum.shareit.itemRequest.feed.ItemRequestFeedEntry;
+import ru.practicum.shareit.itemRequest.mapper.ItemRequestCursorMapper;
 import ru.practicum.shareit.itemRequest.mapper.ItemRequestMapper;
+import ru.practicum.shareit.itemRequest.matching.ItemRequestMatcher;
 import ru.practicum.shareit.itemRequest.model.ItemRequest;
 import ru.practicum.shareit.itemRequest.repository.ItemRequestRepository;
+import ru.practicum.shareit.itemRequest.repository.RequestSuggestionRepository;
 import ru.practicum.shareit.request.Pagination;
+import ru.practicum.shareit.transaction.AfterCommit;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -24,16 +35,25 @@ import java.util.stream.Collectors;
 @Service
 @AllArgsConstructor
 public class ItemRequestServiceImpl implements ItemRequestService {
+    private static final int DEFAULT_FEED_PAGE_SIZE = 10;
+
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final ItemRequestFeed itemRequestFeed;
+    private final RequestSuggestionRepository requestSuggestionRepository;
+    private final ItemRequestMatcher itemRequestMatcher;
 
     @Override
     public ItemRequestDto create(ItemRequestDto itemRequestDto, Long userId) {
         userExistCheck(userId);
 
-        itemRequestDto = ItemRequestMapper.toItemRequestDto(itemRequestRepository
-                .save(ItemRequestMapper.toItemRequest(itemRequestDto, userId)));
+        ItemRequest itemRequest = itemRequestRepository.save(ItemRequestMapper.toItemRequest(itemRequestDto, userId));
+        AfterCommit.run(() -> {
+            itemRequestFeed.add(ItemRequestMapper.toFeedEntry(itemRequest));
+            itemRequestMatcher.enqueue(itemRequest.getId());
+        });
+        itemRequestDto = ItemRequestMapper.toItemRequestDto(itemRequest);
         log.debug("Создание запроса на предмет {} пользователем {}.", itemRequestDto, userId);
 
         return itemRequestDto;
@@ -44,24 +64,22 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         userExistCheck(userId);
 
         PageRequest pageRequest = Pagination.makePageRequest(from, size);
-        Page<ItemRequest> userRequests;
-
-        userRequests = itemRequestRepository.findAllByRequestor_IdOrderByCreatedDesc(userId,
-                Objects.requireNonNullElseGet(pageRequest, () -> PageRequest.of(0, Integer.MAX_VALUE)));
+        Slice<ItemRequestFeedEntry> userRequests = itemRequestRepository.findUserRequests(userId,
+                Objects.requireNonNullElseGet(pageRequest, Pageable::unpaged));
         Collection<Long> requestsIds = userRequests.stream()
-                .map(ItemRequest::getId)
+                .map(ItemRequestFeedEntry::id)
                 .toList();
 
-        Collection<Item> itemRequests = itemRepository.findAllByRequest_IdIn(requestsIds);
-
-        Map<Long, List<Item>> itemsByRequest = itemRequests.stream()
-                .collect(Collectors.groupingBy(item -> item.getRequest().getId()));
+        Map<Long, List<RequestItemView>> itemsByRequest = itemRepository.findRequestItemViews(requestsIds).stream()
+                .collect(Collectors.groupingBy(RequestItemView::requestId));
+        Map<Long, List<RequestItemView>> suggestionsByRequest = requestSuggestionRepository
+                .findAvailableByRequestIdIn(requestsIds).stream()
+                .collect(Collectors.groupingBy(RequestItemView::requestId));
 
         List<ItemRequestAllFieldsDto> itemRequestAllFieldsDtos = userRequests.stream()
-                .map(itemRequest -> {
-                    List<Item> relatedItems = itemsByRequest.getOrDefault(itemRequest.getId(), Collections.emptyList());
-                    return ItemRequestMapper.toItemRequestAllFieldsDto(itemRequest, relatedItems);
-                })
+                .map(entry -> ItemRequestMapper.toItemRequestAllFieldsDto(entry,
+                        itemsByRequest.getOrDefault(entry.id(), Collections.emptyList()),
+                        suggestionsByRequest.getOrDefault(entry.id(), Collections.emptyList())))
                 .toList();
 
         log.debug("Получение списка запросов на предметы пользователем {}: {}.", userId, itemRequestAllFieldsDtos);
@@ -72,11 +90,14 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public Collection<ItemRequestDto> findAll(Long userId, Integer from, Integer size) {
         userExistCheck(userId);
 
+        // без параметров отдаются все запросы, как и раньше; лента в памяти хранит только последние
         PageRequest pageRequest = Pagination.makePageRequest(from, size);
-
-        List<ItemRequestDto> itemRequestDtos = itemRequestRepository.findAllByRequestor_IdNotOrderByCreatedDesc(userId,
-                        Objects.requireNonNullElseGet(pageRequest, () ->
-                                PageRequest.of(0, Integer.MAX_VALUE))).stream()
+        List<ItemRequestFeedEntry> entries = pageRequest == null
+                ? itemRequestRepository.findFeed(userId, Pageable.unpaged()).getContent()
+                : itemRequestFeed.page(userId, ItemRequestCursor.FIRST, pageRequest.getOffset(),
+                        pageRequest.getPageSize())
+                .orElseGet(() -> itemRequestRepository.findFeed(userId, pageRequest).getContent());
+        List<ItemRequestDto> itemRequestDtos = entries.stream()
                 .map(ItemRequestMapper::toItemRequestDto)
                 .toList();
 
@@ -84,14 +105,42 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return itemRequestDtos;
     }
 
+    @Override
+    public ItemRequestWindowDto scrollAll(Long userId, String cursor, Integer size) {
+        userExistCheck(userId);
+        int pageSize = size == null ? DEFAULT_FEED_PAGE_SIZE : size;
+        if (pageSize <= 0) throw new ValidationException("Размер страницы должен быть больше нуля");
+
+        ItemRequestCursor itemRequestCursor = ItemRequestCursorMapper.toItemRequestCursor(cursor);
+        List<ItemRequestFeedEntry> entries = itemRequestFeed.page(userId, itemRequestCursor, 0, pageSize + 1)
+                .orElseGet(() -> itemRequestCursor.created() == null
+                        ? itemRequestRepository.findFeed(userId, PageRequest.ofSize(pageSize + 1)).getContent()
+                        : itemRequestRepository.findFeedAfter(userId, itemRequestCursor.created(),
+                        itemRequestCursor.id(), Limit.of(pageSize + 1)));
+        boolean hasNext = entries.size() > pageSize;
+        List<ItemRequestDto> page = entries.stream()
+                .limit(pageSize)
+                .map(ItemRequestMapper::toItemRequestDto)
+                .toList();
+        ItemRequestWindowDto itemRequestWindowDto = new ItemRequestWindowDto(page,
+                hasNext ? ItemRequestCursorMapper.toCursor(page.get(page.size() - 1)) : null);
+
+        log.debug("Получение страницы ленты запросов на предметы пользователем {}: {}.", userId,
+                itemRequestWindowDto);
+        return itemRequestWindowDto;
+    }
+
     @Override
     public ItemRequestAllFieldsDto find(Long requestId, Long userId) {
         userExistCheck(userId);
-        ItemRequest itemRequest = itemRequestExistCheck(requestId);
+        ItemRequestFeedEntry itemRequest = itemRequestExistCheck(requestId);
 
-        Collection<Item> itemsRequest = itemRepository.findAllByRequest_Id(requestId);
+        List<RequestItemView> itemsRequest = itemRepository.findRequestItemViews(List.of(requestId));
+        List<RequestItemView> suggestions = requestSuggestionRepository.findAvailableByRequestIdIn(
+                List.of(requestId));
 
-        ItemRequestAllFieldsDto itemRequestAllFieldsDto = ItemRequestMapper.toItemRequestAllFieldsDto(itemRequest, itemsRequest);
+        ItemRequestAllFieldsDto itemRequestAllFieldsDto = ItemRequestMapper.toItemRequestAllFieldsDto(itemRequest,
+                itemsRequest, suggestions);
         log.debug("Получения запроса на предмет {} пользователем {}.", itemRequestAllFieldsDto, userId);
 
         return itemRequestAllFieldsDto;
@@ -104,8 +153,8 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         });
     }
 
-    private ItemRequest itemRequestExistCheck(Long id) {
-        return itemRequestRepository.findById(id).orElseThrow(() -> {
+    private ItemRequestFeedEntry itemRequestExistCheck(Long id) {
+        return itemRequestRepository.findFeedEntryById(id).orElseThrow(() -> {
             log.error("Запрос вещи {} не найден.", id);
             return new EntityNotFoundException("Запрос вещи", id);
         });
@@ -2,6 +2,7 @@ package ru.practicum.shareit.request;
 
 import jakarta.validation.ValidationException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import static org.springframework.data.domain.PageRequest.of;
 
@@ -11,4 +12,10 @@ public class Pagination {
         if (size <= 0 || from < 0) throw new ValidationException("size <= 0 || from < 0");
         return of(from / size, size);
     }
+
+    public static Pageable makeFirstPageRequest(Integer size) {
+        if (size == null) return Pageable.unpaged();
+        if (size <= 0) throw new ValidationException("size <= 0");
+        return PageRequest.ofSize(size);
+    }
 }
\ No newline at end of file
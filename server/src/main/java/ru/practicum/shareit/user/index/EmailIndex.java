@@ -0,0 +1,145 @@
+package ru.practicum.shareit.user.index;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// В памяти только фильтр Блума: положительный ответ подтверждается запросом в базу.
+// Адреса, занятые через другие экземпляры приложения, и освободившиеся адреса фильтр узнает
+// при пересборке из базы; до нее повторный адрес отсекает уникальный индекс при сохранении.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmailIndex {
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final int MIN_CAPACITY = 1024;
+
+    private final UserRepository userRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private BloomFilter filter = new BloomFilter(MIN_CAPACITY);
+    // собираемый фильтр: адреса, добавленные во время пересборки, попадают в оба и не теряются при замене
+    private BloomFilter next;
+    private int size;
+    private int nextSize;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+        ready = true;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.email-index.rebuild-interval:PT10M}",
+            initialDelayString = "${shareit.email-index.rebuild-interval:PT10M}")
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) return;
+        try {
+            int capacity = (int) Math.max(MIN_CAPACITY, Math.min(userRepository.count() * 2, Integer.MAX_VALUE / 2));
+            lock.writeLock().lock();
+            try {
+                next = new BloomFilter(capacity);
+                nextSize = 0;
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            long afterId = 0;
+            List<UserEmail> batch;
+            do {
+                batch = userRepository.findEmailsByIdAfter(afterId, Limit.of(LOAD_BATCH_SIZE));
+                lock.writeLock().lock();
+                try {
+                    batch.forEach(user -> next.add(user.email()));
+                    nextSize += batch.size();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).id();
+                }
+            } while (batch.size() == LOAD_BATCH_SIZE);
+
+            lock.writeLock().lock();
+            try {
+                filter = next;
+                size = nextSize;
+                next = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Индекс почтовых адресов построен: {} адресов.", size());
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    // переполненный фильтр чаще ошибается; новый строится по числу пользователей в базе с запасом вдвое.
+    // add вызывается из потока запроса после коммита, поэтому пересборка идет здесь, а не в add
+    @Scheduled(fixedDelayString = "${shareit.email-index.overfull-check-interval:PT10S}",
+            initialDelayString = "${shareit.email-index.overfull-check-interval:PT10S}")
+    public void rebuildIfOverfull() {
+        if (isOverfull()) {
+            rebuild();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // false - адрес точно свободен, true - адрес, возможно, занят и это нужно проверить в базе
+    public boolean mightContain(String email) {
+        if (email == null) return false;
+        lock.readLock().lock();
+        try {
+            return filter.mightContain(email);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(String email) {
+        if (email == null) return;
+        lock.writeLock().lock();
+        try {
+            filter.add(email);
+            size++;
+            if (next != null) {
+                next.add(email);
+                nextSize++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    boolean isOverfull() {
+        lock.readLock().lock();
+        try {
+            return size > filter.capacity();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // число адресов в фильтре, включая удаленные после последней пересборки
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package ru.practicum.shareit.user.index;
+
+public record UserEmail(Long id, String email) {
+}
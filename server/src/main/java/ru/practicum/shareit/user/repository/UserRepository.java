@@ -1,10 +1,24 @@
 package ru.practicum.shareit.user.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.user.index.UserEmail;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    @Query("""
+            SELECT new ru.practicum.shareit.user.index.UserEmail(u.id, u.email)
+            FROM User u
+            WHERE u.id > :afterId
+            ORDER BY u.id
+            """)
+    List<UserEmail> findEmailsByIdAfter(@Param("afterId") Long afterId, Limit limit);
+}
@@ -2,22 +2,30 @@ package ru.practicum.shareit.user.service;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exception.DuplicateEmailException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
+import ru.practicum.shareit.transaction.AfterCommit;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.index.EmailIndex;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 
 @Slf4j
 @Service
 @AllArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final EmailIndex emailIndex;
+    private final ItemSummaryService itemSummaryService;
 
     @Override
     public UserDto find(Long userId) {
@@ -43,7 +51,9 @@ public class UserServiceImpl implements UserService {
     public UserDto create(UserDto userDto) {
         mailExistCheck(userDto.getEmail());
 
-        userDto = UserMapper.toUserDto(userRepository.save(UserMapper.toUser(userDto)));
+        User user = saveUser(UserMapper.toUser(userDto));
+        AfterCommit.run(() -> emailIndex.add(user.getEmail()));
+        userDto = UserMapper.toUserDto(user);
 
         log.debug("Пользователь {} создан.", userDto);
         return userDto;
@@ -52,13 +62,23 @@ public class UserServiceImpl implements UserService {
     @Override
     public UserDto update(UserDto userDto, Long userId) {
         User updateUser = userExistCheck(userId);
+        String oldEmail = updateUser.getEmail();
+        String oldName = updateUser.getName();
 
         mailExistCheck(userDto.getEmail());
 
         if (userDto.getName() != null && !userDto.getName().isBlank()) updateUser.setName(userDto.getName());
         if (userDto.getEmail() != null && !userDto.getEmail().isBlank()) updateUser.setEmail(userDto.getEmail());
 
-        userDto = UserMapper.toUserDto(userRepository.save(updateUser));
+        User user = saveUser(updateUser);
+        // старый адрес остается в фильтре до пересборки индекса, его занятость проверит база
+        if (!user.getEmail().equals(oldEmail)) {
+            AfterCommit.run(() -> emailIndex.add(user.getEmail()));
+        }
+        if (!user.getName().equals(oldName)) {
+            AfterCommit.run(() -> itemSummaryService.refreshCommentAuthor(userId));
+        }
+        userDto = UserMapper.toUserDto(user);
 
         log.debug("Пользователь {} обновлен.", userDto);
         return userDto;
@@ -72,13 +92,34 @@ public class UserServiceImpl implements UserService {
         userRepository.deleteById(userId);
     }
 
+    // индекс отсекает свободные адреса без запроса, занятые подтверждаются базой
     private void mailExistCheck(String email) {
+        if (emailIndex.isReady() && !emailIndex.mightContain(email)) return;
         if (userRepository.existsByEmail(email)) {
             log.error("Пользователь с почтой {} уже существует.", email);
             throw new DuplicateEmailException("Email already exists");
         }
     }
 
+    // уникальный индекс в базе - окончательная проверка: адрес могли занять между проверкой и сохранением
+    // или через другой экземпляр приложения, чьих пользователей индекс еще не видел
+    private User saveUser(User user) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (!isEmailConstraint(e)) throw e;
+            log.error("Пользователь с почтой {} уже существует.", user.getEmail());
+            throw new DuplicateEmailException("Email already exists");
+        }
+    }
+
+    // H2 добавляет к имени ограничения имя своего индекса, поэтому сравнивается вхождение
+    private static boolean isEmailConstraint(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(User.EMAIL_CONSTRAINT);
+    }
+
     private User userExistCheck(Long id) {
         return userRepository.findById(id).orElseThrow(() -> {
             log.error("Пользователь {} не найден!", id);
@@ -1,19 +1,29 @@
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
 
 CREATE TABLE IF NOT EXISTS users (
-  id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL PRIMARY KEY,
-  email varchar(255) NOT NULL UNIQUE,
+  id BIGINT NOT NULL PRIMARY KEY,
+  email varchar(255) NOT NULL CONSTRAINT users_email_key UNIQUE,
   name varchar(64) NOT NULL
 );
 
 CREATE TABLE IF NOT EXISTS requests (
-id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL PRIMARY KEY,
+id BIGINT NOT NULL PRIMARY KEY,
 description varchar(400) NOT NULL,
 requestor_id bigint REFERENCES users (id),
 created TIMESTAMP WITHOUT TIME ZONE DEFAULT CURRENT_TIMESTAMP
 );
 
 CREATE TABLE IF NOT EXISTS items (
-id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL PRIMARY KEY,
+id BIGINT NOT NULL PRIMARY KEY,
 name varchar(255)  NOT NULL,
 description varchar(255),
 is_available BOOLEAN,
@@ -22,18 +32,69 @@ request_id bigint REFERENCES requests (id)
 );
 
 CREATE TABLE IF NOT EXISTS bookings (
-id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL PRIMARY KEY,
+id BIGINT NOT NULL PRIMARY KEY,
 at_start TIMESTAMP WITHOUT TIME ZONE NOT NULL,
 at_end TIMESTAMP WITHOUT TIME ZONE NOT NULL,
 item_id bigint NOT NULL REFERENCES items (id),
 booker_id bigint NOT NULL references users (id),
-status varchar(64) NOT NULL
+status varchar(64) NOT NULL,
+owner_id bigint NOT NULL REFERENCES users (id)
 );
 
 CREATE TABLE IF NOT EXISTS comments (
-id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL PRIMARY KEY,
+id BIGINT NOT NULL PRIMARY KEY,
 text varchar(255)  NOT NULL,
 created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
 item_id bigint NOT NULL REFERENCES items (id),
 author_id bigint NOT NULL references users (id)
-);
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS bookings_booker_start_idx ON bookings (booker_id, at_start DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_booker_status_start_idx ON bookings (booker_id, status, at_start DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_item_start_idx ON bookings (item_id, at_start DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_item_status_start_idx ON bookings (item_id, status, at_start DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_item_end_idx ON bookings (item_id, at_end DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS items_owner_idx ON items (owner_id, id);
+
+CREATE TABLE IF NOT EXISTS item_summary (
+item_id bigint NOT NULL PRIMARY KEY REFERENCES items (id) ON DELETE CASCADE,
+last_booking_id bigint,
+last_booking_start TIMESTAMP WITHOUT TIME ZONE,
+last_booking_end TIMESTAMP WITHOUT TIME ZONE,
+last_booker_id bigint,
+next_booking_id bigint,
+next_booking_start TIMESTAMP WITHOUT TIME ZONE,
+next_booking_end TIMESTAMP WITHOUT TIME ZONE,
+next_booker_id bigint,
+comment_count bigint NOT NULL DEFAULT 0,
+latest_comments varchar(8192),
+refresh_at TIMESTAMP WITHOUT TIME ZONE
+);
+
+CREATE INDEX IF NOT EXISTS item_summary_refresh_idx ON item_summary (refresh_at);
+
+CREATE INDEX IF NOT EXISTS comments_item_created_idx ON comments (item_id, created DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS comments_author_idx ON comments (author_id, item_id);
+
+CREATE INDEX IF NOT EXISTS requests_created_idx ON requests (created DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS requests_requestor_created_idx ON requests (requestor_id, created DESC, id DESC);
+
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS matched_at TIMESTAMP WITHOUT TIME ZONE;
+
+CREATE SEQUENCE IF NOT EXISTS request_suggestions_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS request_suggestions (
+id BIGINT NOT NULL PRIMARY KEY,
+request_id bigint NOT NULL REFERENCES requests (id),
+item_id bigint NOT NULL REFERENCES items (id),
+sort_order int NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS request_suggestions_request_idx ON request_suggestions (request_id, sort_order);
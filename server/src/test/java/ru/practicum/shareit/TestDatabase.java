@@ -0,0 +1,15 @@
+package ru.practicum.shareit;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+// тесты без @Transactional убирают за собой сами; таблицы очищаются в порядке внешних ключей
+public class TestDatabase {
+    private static final List<String> TABLES = List.of("request_suggestions", "comments", "bookings", "item_summary",
+            "items", "requests", "users");
+
+    public static void clear(JdbcTemplate jdbcTemplate) {
+        TABLES.forEach(table -> jdbcTemplate.execute("DELETE FROM " + table));
+    }
+}
@@ -6,10 +6,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingWindowDto;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingExportService;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
@@ -31,7 +35,10 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -44,6 +51,8 @@ public class BookingControllerTest {
     @MockBean
     BookingService bookingService;
     @MockBean
+    BookingExportService bookingExportService;
+    @MockBean
     ItemService itemService;
     @Autowired
     ObjectMapper mapper;
@@ -259,6 +268,26 @@ public class BookingControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void createBookingsBatchTest() throws Exception {
+        when(bookingService.createAll(anyLong(), anyList()))
+                .thenReturn(List.of(new BookingBatchResultDto(itemDto.getId(), bookingDto, null),
+                        new BookingBatchResultDto(99L, null, "Предмет с ID_99 не найден")));
+        mvc.perform(post("/bookings/batch")
+                        .content(mapper.writeValueAsString(List.of(bookingCreateDto, bookingCreateDto)))
+                        .header(headerSharerUserId, 1)
+                        .contentType(APPLICATION_JSON)
+                        .accept(APPLICATION_JSON)
+                        .characterEncoding(UTF_8)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].booking.id", is(bookingDto.getId()), Long.class))
+                .andExpect(jsonPath("$[0].error").doesNotExist())
+                .andExpect(jsonPath("$[1].itemId", is(99L), Long.class))
+                .andExpect(jsonPath("$[1].error", is("Предмет с ID_99 не найден")));
+    }
+
     @Test
     void createBookingOnItemUnavailable() throws Exception {
         when(bookingService.create(any(), any()))
@@ -285,4 +314,60 @@ public class BookingControllerTest {
                 )
                 .andExpect(status().isInternalServerError());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getBookingsByOwnerIdWithCursorTest() throws Exception {
+        when(bookingService.scrollOwnerBookings(anyLong(), eq(BookingState.ALL), eq(""), eq(1)))
+                .thenReturn(new BookingWindowDto(List.of(bookingDto), "next"));
+        mvc.perform(get("/bookings/owner")
+                        .header(headerSharerUserId, 1)
+                        .param("state", "ALL")
+                        .param("size", "1")
+                        .param("cursor", "")
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next"))
+                .andExpect(jsonPath("$[0].id", is(bookingDto.getId()), Long.class))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void getAllBookingsLastCursorPageTest() throws Exception {
+        when(bookingService.scrollUserBookings(anyLong(), eq(BookingState.ALL), eq("abc"), eq(10)))
+                .thenReturn(new BookingWindowDto(List.of(), null));
+        mvc.perform(get("/bookings")
+                        .header(headerSharerUserId, 1)
+                        .param("size", "10")
+                        .param("cursor", "abc")
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void exportOwnerBookingsTest() throws Exception {
+        when(bookingExportService.exportOwnerBookings(1L))
+                .thenReturn(outputStream -> outputStream.write("{\"id\":1}\n{\"id\":2}\n".getBytes(UTF_8)));
+        MvcResult result = mvc.perform(get("/bookings/owner/export")
+                        .header(headerSharerUserId, 1)
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+    @Test
+    void exportOwnerBookingsUserNotFoundTest() throws Exception {
+        when(bookingExportService.exportOwnerBookings(99L))
+                .thenThrow(new EntityNotFoundException("Пользователь", 99L));
+        mvc.perform(get("/bookings/owner/export")
+                        .header(headerSharerUserId, 99)
+                )
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,179 @@
+package ru.practicum.shareit.booking.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingIntervalIndexTest {
+    private final LocalDateTime base = LocalDateTime.of(2030, 1, 1, 0, 0);
+    @Mock
+    private BookingRepository bookingRepository;
+    private BookingIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookingIntervalIndex(bookingRepository, Duration.ofHours(1), 1000);
+    }
+
+    @Test
+    void testOverlapLoadsItemOnceAndCountsHits() {
+        when(bookingRepository.findIntervalsByItemIdAndStatus(eq(1L), eq(BookingStatus.APPROVED), any()))
+                .thenReturn(List.of(new BookingInterval(base.plusDays(10), base.plusDays(12)),
+                        new BookingInterval(base.plusDays(1), base.plusDays(3))));
+
+        assertTrue(index.hasOverlap(1L, base.plusDays(2), base.plusDays(4)));
+        assertTrue(index.hasOverlap(1L, base.plusDays(3), base.plusDays(3)));
+        assertFalse(index.hasOverlap(1L, base.plusDays(4), base.plusDays(9)));
+        assertTrue(index.hasOverlap(1L, base, base.plusDays(20)));
+        assertFalse(index.hasOverlap(1L, base.plusDays(13), base.plusDays(14)));
+
+        verify(bookingRepository, times(1)).findIntervalsByItemIdAndStatus(eq(1L), eq(BookingStatus.APPROVED), any());
+        BookingIntervalIndexStats stats = index.stats();
+        assertEquals(1, stats.getItems());
+        assertEquals(2, stats.getIntervals());
+        assertEquals(4, stats.getHits());
+        assertEquals(1, stats.getMisses());
+    }
+
+    @Test
+    void testNestedIntervalIsFoundBehindLaterStart() {
+        when(bookingRepository.findIntervalsByItemIdAndStatus(eq(1L), eq(BookingStatus.APPROVED), any()))
+                .thenReturn(List.of(new BookingInterval(base, base.plusDays(30)),
+                        new BookingInterval(base.plusDays(5), base.plusDays(6))));
+
+        assertTrue(index.hasOverlap(1L, base.plusDays(20), base.plusDays(21)));
+    }
+
+    @Test
+    void testAddOnlyUpdatesLoadedItems() {
+        when(bookingRepository.findIntervalsByItemIdAndStatus(anyLong(), eq(BookingStatus.APPROVED), any()))
+                .thenReturn(List.of());
+
+        index.add(2L, base, base.plusDays(1));
+        assertEquals(0, index.stats().getItems());
+
+        assertFalse(index.hasOverlap(2L, base, base.plusDays(1)));
+        index.add(2L, base, base.plusDays(1));
+        assertTrue(index.hasOverlap(2L, base.plusHours(1), base.plusHours(2)));
+    }
+
+    @Test
+    void testInvalidateReloadsFromRepository() {
+        when(bookingRepository.findIntervalsByItemIdAndStatus(eq(1L), eq(BookingStatus.APPROVED), any()))
+                .thenReturn(List.of());
+
+        index.hasOverlap(1L, base, base.plusDays(1));
+        index.invalidate(1L);
+        index.hasOverlap(1L, base, base.plusDays(1));
+
+        verify(bookingRepository, times(2)).findIntervalsByItemIdAndStatus(eq(1L), eq(BookingStatus.APPROVED), any());
+        assertEquals(2, index.stats().getMisses());
+    }
+
+    @Test
+    void testPreloadLoadsMissingItemsInOneQuery() {
+        when(bookingRepository.findIntervalsByItemIdAndStatus(eq(1L),
+                eq(BookingStatus.APPROVED), any())).thenReturn(List.of());
+        index.hasOverlap(1L, base, base.plusDays(1));
+        when(bookingRepository.findIntervalsByItemIdInAndStatus(eq(List.of(2L, 3L)), eq(BookingStatus.APPROVED), any()))
+                .thenReturn(List.of(new ItemBookingInterval(2L, base.plusDays(1), base.plusDays(2))));
+
+        index.preload(List.of(1L, 2L, 3L, 2L));
+
+        assertTrue(index.hasOverlap(2L, base, base.plusDays(1)));
+        assertFalse(index.hasOverlap(3L, base, base.plusDays(1)));
+        verify(bookingRepository, times(1)).findIntervalsByItemIdInAndStatus(anyCollection(), any(), any());
+        verify(bookingRepository, times(1)).findIntervalsByItemIdAndStatus(anyLong(), any(), any());
+        assertEquals(3, index.stats().getItems());
+    }
+
+    @Test
+    void testFindFreeKeepsOrderAndLoadsInOneQuery() {
+        when(bookingRepository.findIntervalsByItemIdInAndStatus(eq(List.of(3L, 1L, 2L)),
+                eq(BookingStatus.APPROVED), any()))
+                .thenReturn(List.of(new ItemBookingInterval(1L, base.plusDays(1), base.plusDays(3)),
+                        new ItemBookingInterval(2L, base.plusDays(5), base.plusDays(6))));
+
+        assertEquals(List.of(3L, 2L), index.findFree(List.of(3L, 1L, 2L), base.plusDays(2), base.plusDays(4)));
+        assertEquals(List.of(3L, 1L), index.findFree(List.of(3L, 1L, 2L), base.plusDays(4), base.plusDays(5)));
+
+        verify(bookingRepository, times(1)).findIntervalsByItemIdInAndStatus(anyCollection(), any(), any());
+        verify(bookingRepository, never()).findIntervalsByItemIdAndStatus(anyLong(), any(), any());
+    }
+
+    @Test
+    void testFindFreeChecksWindowsBeforeHorizonInOneQuery() {
+        LocalDateTime today = LocalDateTime.now().toLocalDate().atStartOfDay();
+        when(bookingRepository.findIntervalsByItemIdInAndStatus(eq(List.of(3L, 1L, 2L)),
+                eq(BookingStatus.APPROVED), any())).thenReturn(List.of());
+        when(bookingRepository.findOverlappingItemIds(List.of(3L, 1L, 2L), BookingStatus.APPROVED, today,
+                today.plusDays(2))).thenReturn(List.of(1L));
+
+        assertEquals(List.of(3L, 2L), index.findFree(List.of(3L, 1L, 2L), today, today.plusDays(2)));
+
+        verify(bookingRepository, times(1)).findOverlappingItemIds(anyCollection(), any(), any(), any());
+        verify(bookingRepository, never()).existsOverlap(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void testPreloadSkipsItemsWhenBookingApprovedDuringLoad() {
+        when(bookingRepository.findIntervalsByItemIdInAndStatus(eq(List.of(1L)), eq(BookingStatus.APPROVED), any()))
+                .thenAnswer(invocation -> {
+                    index.add(1L, base.plusDays(1), base.plusDays(2));
+                    return List.of();
+                });
+
+        index.preload(List.of(1L));
+
+        assertEquals(0, index.stats().getItems());
+    }
+
+    @Test
+    void testPruneDropsFinishedIntervalsAndAsksDatabaseForPastWindows() {
+        when(bookingRepository.findIntervalsByItemIdAndStatus(eq(1L), eq(BookingStatus.APPROVED), any()))
+                .thenReturn(List.of(new BookingInterval(base.plusDays(1), base.plusDays(2)),
+                        new BookingInterval(base.plusDays(5), base.plusDays(6))));
+        index.hasOverlap(1L, base.plusDays(10), base.plusDays(11));
+
+        index.prune(base.plusDays(3), System.currentTimeMillis());
+
+        assertEquals(1, index.stats().getIntervals());
+        assertTrue(index.hasOverlap(1L, base.plusDays(4), base.plusDays(5)));
+        when(bookingRepository.existsOverlap(1L, BookingStatus.APPROVED, base.plusDays(1), base.plusDays(4)))
+                .thenReturn(true);
+        assertTrue(index.hasOverlap(1L, base.plusDays(1), base.plusDays(4)));
+        verify(bookingRepository, times(1)).existsOverlap(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void testPruneEvictsIdleItemsAndKeepsSizeUnderLimit() {
+        index = new BookingIntervalIndex(bookingRepository, Duration.ofMinutes(10), 2);
+        when(bookingRepository.findIntervalsByItemIdAndStatus(anyLong(), eq(BookingStatus.APPROVED), any()))
+                .thenReturn(List.of());
+        for (long itemId = 1; itemId <= 4; itemId++) {
+            index.hasOverlap(itemId, base, base.plusDays(1));
+        }
+        long now = System.currentTimeMillis();
+
+        index.prune(LocalDateTime.now(), now);
+        assertEquals(2, index.stats().getItems());
+        assertEquals(2, index.stats().getEvictions());
+
+        index.prune(LocalDateTime.now(), now + Duration.ofMinutes(11).toMillis());
+        assertEquals(0, index.stats().getItems());
+        assertEquals(4, index.stats().getEvictions());
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.booking.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingBatchInsertTest {
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final PlatformTransactionManager transactionManager;
+
+    @Test
+    void saveAllSendsInsertsInBatches() {
+        Statistics statistics = statistics();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            User booker = userRepository.save(new User(null, "Booker", "batch-booker@mail.com"));
+            Item item = itemRepository.save(new Item(null, "Item", "about", true, booker, null));
+            entityManager.flush();
+            statistics.clear();
+
+            bookingRepository.saveAll(bookings(item, booker, 120));
+            entityManager.flush();
+
+            assertEquals(120, statistics.getEntityInsertCount());
+            assertTrue(statistics.getPrepareStatementCount() <= 10,
+                    "statements: " + statistics.getPrepareStatementCount());
+            status.setRollbackOnly();
+        });
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static List<Booking> bookings(Item item, User booker, int count) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            bookings.add(new Booking(null, start.plusHours(i), start.plusHours(i).plusMinutes(30), item, booker,
+                    BookingStatus.WAITING, null));
+        }
+        return bookings;
+    }
+}
@@ -0,0 +1,231 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Запускается на отдельной базе PostgreSQL: SHAREIT_POSTGRES_URL, SHAREIT_POSTGRES_USER, SHAREIT_POSTGRES_PASSWORD.
+// Планы строятся для SQL, который сгенерировал Hibernate, с настройками планировщика по умолчанию.
+@SpringBootTest(properties = {
+        "spring.datasource.driverClassName=org.postgresql.Driver",
+        "spring.datasource.username=${SHAREIT_POSTGRES_USER:postgres}",
+        "spring.datasource.password=${SHAREIT_POSTGRES_PASSWORD:root}",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.sql.init.platform=postgres",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "ru.practicum.shareit.booking.repository.BookingQueryPlanTest$SqlCapture"
+})
+@EnabledIfEnvironmentVariable(named = "SHAREIT_POSTGRES_URL", matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingQueryPlanTest {
+    private static final String SCHEMA = "booking_query_plan_test";
+    private static final long HEAVY_USER = 7L;
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final LocalDateTime CURSOR_START = LocalDateTime.of(2025, 6, 1, 0, 0);
+    private static final long CURSOR_ID = 100_000L;
+    private static final int PAGE_SIZE = 10;
+
+    private final BookingRepository bookingRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws SQLException {
+        String url = System.getenv("SHAREIT_POSTGRES_URL");
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            statement.execute("CREATE SCHEMA " + SCHEMA);
+        }
+        registry.add("spring.datasource.url",
+                () -> url + (url.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA + ",public");
+    }
+
+    @BeforeAll
+    void seed() {
+        // у HEAVY_USER длинная история: как у бронирующего, так и у владельца тысячи предметов
+        jdbcTemplate.execute("""
+                INSERT INTO users (id, email, name)
+                SELECT g, 'user' || g || '@mail.com', 'user' || g FROM generate_series(1, 1000) g
+                """);
+        jdbcTemplate.execute("""
+                INSERT INTO items (id, name, description, is_available, owner_id)
+                SELECT g, 'item' || g, 'description' || g, true, CASE WHEN g % 10 = 0 THEN 7 ELSE g % 1000 + 1 END
+                FROM generate_series(1, 10000) g
+                """);
+        jdbcTemplate.execute("""
+                INSERT INTO bookings (id, at_start, at_end, item_id, booker_id, status, owner_id)
+                SELECT g, timestamp '2025-01-01' + g * interval '1 minute',
+                       timestamp '2025-01-01' + (g + 120) * interval '1 minute',
+                       i.id,
+                       CASE WHEN g % 4 = 0 THEN 7 ELSE g % 1000 + 1 END,
+                       (ARRAY['WAITING', 'APPROVED', 'REJECTED'])[g % 3 + 1],
+                       i.owner_id
+                FROM generate_series(1, 200000) g
+                JOIN items i ON i.id = g % 10000 + 1
+                """);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterAll
+    void dropSchema() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        }
+    }
+
+    @BeforeEach
+    void clearCapturedSql() {
+        SqlCapture.STATEMENTS.clear();
+    }
+
+    @Test
+    void bookerFirstPageIsReadInIndexOrder() {
+        bookingRepository.findBookerViews(HEAVY_USER, PageRequest.ofSize(PAGE_SIZE));
+
+        assertIndexOrderedPlan(capturedSql(), "bookings_booker_start_idx", false, HEAVY_USER);
+    }
+
+    @Test
+    void bookerNextPageSeeksByCursor() {
+        bookingRepository.findBookerViewsAfter(HEAVY_USER, CURSOR_START, CURSOR_ID, PageRequest.ofSize(PAGE_SIZE));
+
+        assertIndexOrderedPlan(capturedSql(), "bookings_booker_start_idx", true, HEAVY_USER, CURSOR_START, CURSOR_ID);
+    }
+
+    @Test
+    void bookerPastNextPageSeeksByStatusAndCursor() {
+        bookingRepository.findPastBookerViewsAfter(HEAVY_USER, BookingStatus.APPROVED, NOW, CURSOR_START, CURSOR_ID,
+                PageRequest.ofSize(PAGE_SIZE));
+
+        assertIndexOrderedPlan(capturedSql(), "bookings_booker_status_start_idx", true, HEAVY_USER,
+                BookingStatus.APPROVED.name(), NOW, CURSOR_START, CURSOR_ID);
+    }
+
+    @Test
+    void ownerFirstPageIsReadInIndexOrder() {
+        bookingRepository.findOwnerViews(HEAVY_USER, PageRequest.ofSize(PAGE_SIZE));
+
+        assertIndexOrderedPlan(capturedSql(), "bookings_owner_start_idx", false, HEAVY_USER);
+    }
+
+    @Test
+    void ownerWaitingNextPageSeeksByStatusAndCursor() {
+        bookingRepository.findOwnerViewsByStatusAfter(HEAVY_USER, BookingStatus.WAITING, CURSOR_START, CURSOR_ID,
+                PageRequest.ofSize(PAGE_SIZE));
+
+        assertIndexOrderedPlan(capturedSql(), "bookings_owner_status_start_idx", true, HEAVY_USER,
+                BookingStatus.WAITING.name(), CURSOR_START, CURSOR_ID);
+    }
+
+    private String capturedSql() {
+        List<String> selects = SqlCapture.STATEMENTS.stream()
+                .filter(sql -> sql.contains("bookings"))
+                .toList();
+        assertEquals(1, selects.size(), String.join("\n", SqlCapture.STATEMENTS));
+        return selects.get(0);
+    }
+
+    // параметры запроса перечисляются в порядке появления в SQL, лимит страницы добавляется последним
+    private void assertIndexOrderedPlan(String sql, String index, boolean seeksByCursor, Object... params) {
+        for (String plan : List.of(explainBound(sql, params), explainGeneric(sql))) {
+            assertTrue(plan.contains("Index Scan using " + index), plan);
+            assertFalse(plan.contains("Sort"), plan);
+            if (seeksByCursor) {
+                assertTrue(plan.lines().anyMatch(line -> line.contains("Index Cond") && line.contains("ROW(")),
+                        plan);
+            }
+        }
+    }
+
+    private String explainBound(String sql, Object... params) {
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                int count = statement.getParameterMetaData().getParameterCount();
+                assertEquals(params.length + 1, count, sql);
+                for (int i = 0; i < params.length; i++) {
+                    Object param = params[i] instanceof LocalDateTime time ? Timestamp.valueOf(time) : params[i];
+                    statement.setObject(i + 1, param);
+                }
+                statement.setInt(count, PAGE_SIZE + 1);
+                return readPlan(statement.executeQuery());
+            }
+        });
+    }
+
+    // план, который получит подготовленный запрос после перехода на общий план;
+    // GENERIC_PLAN с $n отправляется простым протоколом, иначе драйвер ждет значения параметров
+    private String explainGeneric(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        int param = 0;
+        for (char symbol : sql.toCharArray()) {
+            numbered.append(symbol == '?' ? "$" + ++param : symbol);
+        }
+        try (Connection connection = connect("simple"); Statement statement = connection.createStatement()) {
+            statement.execute("SET search_path TO " + SCHEMA + ", public");
+            return readPlan(statement.executeQuery("EXPLAIN (GENERIC_PLAN) " + numbered));
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String readPlan(ResultSet resultSet) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        while (resultSet.next()) {
+            plan.append(resultSet.getString(1)).append(System.lineSeparator());
+        }
+        return plan.toString();
+    }
+
+    private static Connection connect() throws SQLException {
+        return connect("extended");
+    }
+
+    private static Connection connect(String queryMode) throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", Objects.requireNonNullElse(System.getenv("SHAREIT_POSTGRES_USER"), "postgres"));
+        properties.setProperty("password",
+                Objects.requireNonNullElse(System.getenv("SHAREIT_POSTGRES_PASSWORD"), "root"));
+        properties.setProperty("preferQueryMode", queryMode);
+        return DriverManager.getConnection(System.getenv("SHAREIT_POSTGRES_URL"), properties);
+    }
+
+    public static class SqlCapture implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
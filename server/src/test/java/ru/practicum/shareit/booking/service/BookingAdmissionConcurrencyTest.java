@@ -0,0 +1,136 @@
+package ru.practicum.shareit.booking.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ItemUnavailableException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.summary.ItemSummaryRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingAdmissionConcurrencyTest {
+    private static final int THREADS = 8;
+    private final BookingService bookingService;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final ItemSummaryRepository itemSummaryRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final EntityManagerFactory entityManagerFactory;
+    private UserDto owner;
+    private UserDto booker;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.create(new UserDto(null, "Owner", "concurrency-owner@mail.com"));
+        booker = userService.create(new UserDto(null, "Booker", "concurrency-booker@mail.com"));
+        item = itemService.create(new ItemDto(null, "Item", "about", true, null), owner.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemSummaryRepository.deleteById(item.getId());
+        bookingRepository.deleteAll(bookingRepository.findAllByItem_Id(item.getId()));
+        itemRepository.deleteById(item.getId());
+        userRepository.deleteById(booker.getId());
+        userRepository.deleteById(owner.getId());
+        bookingIntervalIndex.invalidate(item.getId());
+    }
+
+    @Test
+    void concurrentApprovalsOfOverlappingBookingsAdmitOnlyOne() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<BookingDto> waiting = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            waiting.add(bookingService.create(booker.getId(), new BookingCreateDto(null,
+                    start.plusHours(i), start.plusHours(i).plusDays(1), item.getId())));
+        }
+
+        List<Callable<BookingDto>> approvals = waiting.stream()
+                .map(booking -> (Callable<BookingDto>) () -> bookingService.update(owner.getId(), booking.getId(),
+                        true))
+                .toList();
+        int approved = 0;
+        int rejected = 0;
+        for (Future<BookingDto> future : runConcurrently(approvals)) {
+            try {
+                assertEquals(BookingStatus.APPROVED, future.get().getStatus());
+                approved++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(ItemUnavailableException.class, e.getCause());
+                rejected++;
+            }
+        }
+
+        assertEquals(1, approved);
+        assertEquals(THREADS - 1, rejected);
+        assertEquals(1, bookingRepository.findAllByItem_Id(item.getId()).stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .count());
+    }
+
+    // как и open-in-view в веб-запросе, держит один EntityManager на поток на время вызова сервиса
+    private <T> T inRequest(Callable<T> task) throws Exception {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            return task.call();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+    }
+
+    private <T> List<Future<T>> runConcurrently(List<Callable<T>> tasks) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = tasks.stream()
+                    .map(task -> executor.submit(() -> {
+                        start.await();
+                        return inRequest(task);
+                    }))
+                    .toList();
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+            return futures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.booking.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingExportServiceTest {
+    private final BookingExportService bookingExportService;
+    private final BookingService bookingService;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private UserDto owner;
+    private UserDto booker;
+    private List<BookingDto> bookings;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.create(new UserDto(null, "Owner", "owner@gmail.com"));
+        booker = userService.create(new UserDto(null, "Booker", "booker@mail.com"));
+        ItemDto item = itemService.create(new ItemDto(null, "Item", "about", true, null), owner.getId());
+
+        LocalDateTime start = LocalDateTime.of(2025, 6, 11, 10, 0);
+        bookings = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            bookings.add(bookingService.create(booker.getId(), new BookingCreateDto(null,
+                    start.plusDays(i * 2L), start.plusDays(i * 2L + 1), item.getId())));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void exportOwnerBookingsTest() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        bookingExportService.exportOwnerBookings(owner.getId()).writeTo(outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            BookingDto exported = objectMapper.readValue(lines[i], BookingDto.class);
+            BookingDto expected = bookings.get(bookings.size() - 1 - i);
+            assertEquals(expected.getId(), exported.getId());
+            assertEquals(expected.getStart(), exported.getStart());
+            assertEquals(booker.getId(), exported.getBooker().getId());
+        }
+    }
+
+    @Test
+    void exportBookerWithoutItemsTest() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        bookingExportService.exportOwnerBookings(booker.getId()).writeTo(outputStream);
+
+        assertEquals(0, outputStream.size());
+    }
+
+    @Test
+    void exportUnknownUserTest() {
+        assertThrows(EntityNotFoundException.class, () -> bookingExportService.exportOwnerBookings(999L));
+    }
+}
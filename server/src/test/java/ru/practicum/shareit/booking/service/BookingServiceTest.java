@@ -7,8 +7,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingWindowDto;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.exception.ItemUnavailableException;
@@ -19,6 +21,7 @@ import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -122,4 +125,101 @@ public class BookingServiceTest {
                 "Предмет с ID_1 недоступен для бронирования"
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void scrollOwnerBookingsByCursorTest() {
+        LocalDateTime start = bookingCreateDto.getStart();
+        BookingDto second = bookingService.create(booker.getId(),
+                new BookingCreateDto(null, start.plusDays(2), start.plusDays(3), item.getId()));
+        BookingDto third = bookingService.create(booker.getId(),
+                new BookingCreateDto(null, start.plusDays(4), start.plusDays(5), item.getId()));
+
+        BookingWindowDto firstPage = bookingService.scrollOwnerBookings(userOwner.getId(), BookingState.ALL,
+                "", 2);
+        assertEquals(List.of(third.getId(), second.getId()),
+                firstPage.getBookings().stream().map(BookingDto::getId).toList());
+        assertNotNull(firstPage.getNextCursor());
+
+        BookingWindowDto lastPage = bookingService.scrollOwnerBookings(userOwner.getId(), BookingState.ALL,
+                firstPage.getNextCursor(), 2);
+        assertEquals(List.of(bookingDto.getId()),
+                lastPage.getBookings().stream().map(BookingDto::getId).toList());
+        assertNull(lastPage.getNextCursor());
+    }
+
+    @Test
+    void scrollUserBookingsByCursorWithEqualStartsTest() {
+        LocalDateTime start = bookingCreateDto.getStart();
+        BookingDto sameStart = bookingService.create(booker.getId(),
+                new BookingCreateDto(null, start, start.plusHours(1), item.getId()));
+        BookingDto earlier = bookingService.create(booker.getId(),
+                new BookingCreateDto(null, start.minusDays(2), start.minusDays(1), item.getId()));
+
+        BookingWindowDto firstPage = bookingService.scrollUserBookings(booker.getId(), BookingState.ALL, null, 1);
+        BookingWindowDto secondPage = bookingService.scrollUserBookings(booker.getId(), BookingState.ALL,
+                firstPage.getNextCursor(), 1);
+        BookingWindowDto lastPage = bookingService.scrollUserBookings(booker.getId(), BookingState.ALL,
+                secondPage.getNextCursor(), 1);
+
+        assertEquals(sameStart.getId(), firstPage.getBookings().iterator().next().getId());
+        assertEquals(bookingDto.getId(), secondPage.getBookings().iterator().next().getId());
+        assertEquals(earlier.getId(), lastPage.getBookings().iterator().next().getId());
+        assertNull(lastPage.getNextCursor());
+    }
+
+    @Test
+    void scrollUserBookingsByStateTest() {
+        BookingWindowDto waiting = bookingService.scrollUserBookings(booker.getId(), BookingState.WAITING,
+                null, 10);
+        BookingWindowDto future = bookingService.scrollUserBookings(booker.getId(), BookingState.FUTURE,
+                null, 10);
+
+        assertEquals(1, waiting.getBookings().size());
+        assertNull(waiting.getNextCursor());
+        assertTrue(future.getBookings().isEmpty());
+    }
+
+    @Test
+    void findAllUserBookingsOrderedAcrossPagesTest() {
+        LocalDateTime start = bookingCreateDto.getStart();
+        BookingDto earlier = bookingService.create(booker.getId(),
+                new BookingCreateDto(null, start.minusDays(4), start.minusDays(3), item.getId()));
+        BookingDto later = bookingService.create(booker.getId(),
+                new BookingCreateDto(null, start.plusDays(4), start.plusDays(5), item.getId()));
+
+        Collection<BookingDto> firstPage = bookingService.findAllUserBookings(booker.getId(), BookingState.ALL,
+                0, 2);
+        Collection<BookingDto> secondPage = bookingService.findAllUserBookings(booker.getId(), BookingState.ALL,
+                2, 2);
+
+        assertEquals(List.of(later.getId(), bookingDto.getId()),
+                firstPage.stream().map(BookingDto::getId).toList());
+        assertEquals(List.of(earlier.getId()),
+                secondPage.stream().map(BookingDto::getId).toList());
+    }
+
+    @Test
+    void createAllBookingsTest() {
+        ItemDto unavailable = itemService.create(new ItemDto(null, "Unavailable", "about", false, null),
+                userOwner.getId());
+        ItemDto own = itemService.create(new ItemDto(null, "Own", "about", true, null), booker.getId());
+        LocalDateTime start = bookingCreateDto.getStart().plusDays(10);
+        List<BookingCreateDto> batch = List.of(
+                new BookingCreateDto(null, start, start.plusDays(1), item.getId()),
+                new BookingCreateDto(null, start, start.plusDays(1), unavailable.getId()),
+                new BookingCreateDto(null, start, start.plusDays(1), own.getId()),
+                new BookingCreateDto(null, start, start.plusDays(1), 999L),
+                new BookingCreateDto(null, start.plusDays(2), start.plusDays(3), item.getId()));
+
+        List<BookingBatchResultDto> results = bookingService.createAll(booker.getId(), batch);
+
+        assertEquals(5, results.size());
+        assertNotNull(results.get(0).getBooking().getId());
+        assertNull(results.get(0).getError());
+        assertNotNull(results.get(1).getError());
+        assertNotNull(results.get(2).getError());
+        assertNotNull(results.get(3).getError());
+        assertEquals(start.plusDays(2), results.get(4).getBooking().getStart());
+        assertEquals(3, bookingService.findAllUserBookings(booker.getId(), BookingState.ALL, 0, 10).size());
+    }
+}
@@ -1,14 +1,23 @@
 package ru.practicum.shareit.booking.service;
 
+import jakarta.validation.ValidationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.dto.BookingWindowDto;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
+import ru.practicum.shareit.booking.index.ItemBookingInterval;
+import ru.practicum.shareit.booking.mapper.BookingCursorMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
@@ -18,9 +27,11 @@ import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.ItemUnavailableException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
@@ -28,6 +39,9 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -39,6 +53,8 @@ public class BookingServiceUnitTest {
     private ItemRepository itemRepository;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private ItemSummaryService itemSummaryService;
     private BookingService bookingService;
 
     private User owner;
@@ -46,27 +62,31 @@ public class BookingServiceUnitTest {
     private Item item;
     private BookingCreateDto bookingCreateDto;
     private Booking booking;
+    private BookingView bookingView;
 
     @BeforeEach
     void setUp() {
-        bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository);
+        bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository,
+                new BookingIntervalIndex(bookingRepository, Duration.ofHours(1), 1000), itemSummaryService);
         owner = new User(1L, "Owner", "owner@mail.com");
         booker = new User(2L, "Booker", "booker@mail.com");
         item = new Item(1L, "Drill", "Electric", true, owner, null);
 
-        LocalDateTime start = LocalDateTime.of(2025, 6, 11, 10, 0);
+        LocalDateTime start = LocalDateTime.of(2030, 6, 11, 10, 0);
         LocalDateTime end = start.plusDays(1);
         bookingCreateDto = new BookingCreateDto(null, start, end, item.getId());
 
-        booking = new Booking(1L, start, end, item, booker, BookingStatus.WAITING);
+        booking = new Booking(1L, start, end, item, booker, BookingStatus.WAITING, owner.getId());
+        bookingView = new BookingView(1L, start, end, item.getId(), item.getName(), booker.getId(), owner.getId(),
+                BookingStatus.WAITING);
     }
 
     @Test
     void testCreateBooking_Success() {
         when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
         when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
-        when(bookingRepository.hasOverlappingBooking(eq(item.getId()), eq(BookingStatus.APPROVED),
-                any(), any())).thenReturn(false);
+        when(bookingRepository.findIntervalsByItemIdAndStatus(eq(item.getId()), eq(BookingStatus.APPROVED), any()))
+                .thenReturn(List.of());
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
 
         BookingDto result = bookingService.create(booker.getId(), bookingCreateDto);
@@ -79,9 +99,9 @@ public class BookingServiceUnitTest {
     @Test
     void testGetBookingsByOwnerIdStatus_Success() {
         when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(bookingRepository.findAllByItem_Owner_IdAndStatus(eq(owner.getId()),
-                eq(BookingStatus.WAITING), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+        when(bookingRepository.findOwnerViewsByStatus(eq(owner.getId()), eq(BookingStatus.WAITING),
+                any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(bookingView)));
 
         Collection<BookingDto> list = bookingService.findAllOwnerBookings(owner.getId(), BookingState.WAITING,
                 0, 10);
@@ -92,13 +112,15 @@ public class BookingServiceUnitTest {
 
     @Test
     void testGetBookingsByItem_Success() {
-        when(bookingRepository.findBookingWithGraphById(booking.getId()))
-                .thenReturn(Optional.of(booking));
+        when(bookingRepository.findViewById(booking.getId()))
+                .thenReturn(Optional.of(bookingView));
 
         BookingDto found = bookingService.find(booker.getId(), booking.getId());
 
         assertEquals(booking.getId(), found.getId());
         assertEquals(item.getId(), found.getItem().getId());
+        assertEquals(item.getName(), found.getItem().getName());
+        assertEquals(booker.getId(), found.getBooker().getId());
     }
 
     @Test
@@ -140,23 +162,23 @@ public class BookingServiceUnitTest {
     @Test
     void testGetBookingsByOwnerIdStateAll() {
         when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(bookingRepository.findAllByItem_Owner_Id(eq(owner.getId()), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+        when(bookingRepository.findOwnerViews(eq(owner.getId()), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(bookingView)));
 
         Collection<BookingDto> list = bookingService.findAllOwnerBookings(owner.getId(), BookingState.ALL,
                 0, 10);
 
         assertEquals(1, list.size());
         assertEquals(booking.getId(), list.iterator().next().getId());
+        assertEquals(booker.getId(), list.iterator().next().getBooker().getId());
     }
 
     @Test
     void testGetBookingsByOwnerIdStateCurrent() {
         when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(bookingRepository.findAllByItem_Owner_IdAndStatusAndStartBeforeAndEndTimeAfter(eq(owner.getId()),
-                eq(BookingStatus.APPROVED), any(LocalDateTime.class), any(LocalDateTime.class),
-                any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of()));
+        when(bookingRepository.findCurrentOwnerViews(eq(owner.getId()), eq(BookingStatus.APPROVED),
+                any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of()));
 
         Collection<BookingDto> list = bookingService.findAllOwnerBookings(owner.getId(), BookingState.CURRENT,
                 0, 10);
@@ -167,9 +189,9 @@ public class BookingServiceUnitTest {
     @Test
     void testGetBookingsByOwnerIdStatePast() {
         when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(bookingRepository.findAllByItem_Owner_IdAndStatusAndEndTimeBefore(eq(owner.getId()),
-                eq(BookingStatus.APPROVED), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of()));
+        when(bookingRepository.findPastOwnerViews(eq(owner.getId()), eq(BookingStatus.APPROVED),
+                any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of()));
 
         Collection<BookingDto> list = bookingService.findAllOwnerBookings(owner.getId(), BookingState.PAST,
                 0, 10);
@@ -180,9 +202,9 @@ public class BookingServiceUnitTest {
     @Test
     void testGetBookingsByOwnerIdStateFuture() {
         when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(bookingRepository.findAllByItem_Owner_IdAndStatusAndStartAfter(eq(owner.getId()),
-                eq(BookingStatus.APPROVED), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of()));
+        when(bookingRepository.findFutureOwnerViews(eq(owner.getId()), eq(BookingStatus.APPROVED),
+                any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of()));
 
         Collection<BookingDto> list = bookingService.findAllOwnerBookings(owner.getId(), BookingState.FUTURE,
                 0, 10);
@@ -193,9 +215,9 @@ public class BookingServiceUnitTest {
     @Test
     void testGetBookingsByOwnerIdStateRejected() {
         when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(bookingRepository.findAllByItem_Owner_IdAndStatus(eq(owner.getId()),
-                eq(BookingStatus.REJECTED), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of()));
+        when(bookingRepository.findOwnerViewsByStatus(eq(owner.getId()), eq(BookingStatus.REJECTED),
+                any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of()));
 
         Collection<BookingDto> list = bookingService.findAllOwnerBookings(owner.getId(), BookingState.REJECTED,
                 0, 10);
@@ -224,7 +246,7 @@ public class BookingServiceUnitTest {
 
     @Test
     void testFindBookingNotFound() {
-        when(bookingRepository.findBookingWithGraphById(anyLong()))
+        when(bookingRepository.findViewById(anyLong()))
                 .thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () ->
@@ -233,8 +255,8 @@ public class BookingServiceUnitTest {
 
     @Test
     void testFindBookingAccessDenied() {
-        when(bookingRepository.findBookingWithGraphById(anyLong()))
-                .thenReturn(Optional.of(booking));
+        when(bookingRepository.findViewById(anyLong()))
+                .thenReturn(Optional.of(bookingView));
 
         assertThrows(AccessDeniedException.class, () ->
                 bookingService.find(99L, booking.getId()));
@@ -249,4 +271,73 @@ public class BookingServiceUnitTest {
                 bookingService.findAllOwnerBookings(99L, BookingState.ALL,
                         0, 10));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testScrollBookingsWithInvalidCursor() {
+        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+
+        assertThrows(ValidationException.class, () ->
+                bookingService.scrollOwnerBookings(owner.getId(), BookingState.ALL, "not-a-cursor", 10));
+    }
+
+    @Test
+    void testScrollBookingsReturnsNextCursor() {
+        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
+        when(bookingRepository.findBookerViewsByStatus(booker.getId(), BookingStatus.WAITING, PageRequest.ofSize(1)))
+                .thenReturn(new SliceImpl<>(List.of(bookingView), PageRequest.ofSize(1), true));
+
+        BookingWindowDto page = bookingService.scrollUserBookings(booker.getId(), BookingState.WAITING, "", 1);
+
+        assertEquals(1, page.getBookings().size());
+        assertEquals(new BookingCursor(booking.getStart(), booking.getId()),
+                BookingCursorMapper.toBookingCursor(page.getNextCursor()));
+    }
+
+    @Test
+    void testCreateAllBookingsRejectsOverlapWithApproved() {
+        Item other = new Item(2L, "Saw", "Hand", true, owner, null);
+        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
+        when(itemRepository.findAllById(List.of(item.getId(), other.getId()))).thenReturn(List.of(item, other));
+        when(bookingRepository.findIntervalsByItemIdInAndStatus(anyCollection(), eq(BookingStatus.APPROVED), any()))
+                .thenReturn(List.of(new ItemBookingInterval(item.getId(), bookingCreateDto.getStart(),
+                        bookingCreateDto.getEnd())));
+        Booking saved = new Booking(5L, bookingCreateDto.getStart(), bookingCreateDto.getEnd(), other, booker,
+                BookingStatus.WAITING, owner.getId());
+        when(bookingRepository.saveAll(anyList())).thenReturn(List.of(saved));
+
+        List<BookingBatchResultDto> results = bookingService.createAll(booker.getId(), List.of(bookingCreateDto,
+                new BookingCreateDto(null, bookingCreateDto.getStart(), bookingCreateDto.getEnd(), other.getId())));
+
+        assertNotNull(results.get(0).getError());
+        assertNull(results.get(0).getBooking());
+        assertEquals(saved.getId(), results.get(1).getBooking().getId());
+        verify(bookingRepository, never()).findIntervalsByItemIdAndStatus(anyLong(), any(), any());
+        verify(bookingRepository).saveAll(argThat(bookings -> ((List<Booking>) bookings).size() == 1));
+    }
+
+    @Test
+    void testApproveBookingOverlappingApprovedIsRejected() {
+        when(bookingRepository.findBookingWithGraphById(booking.getId())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findStatusById(booking.getId())).thenReturn(BookingStatus.WAITING);
+        when(bookingRepository.existsOverlap(item.getId(), BookingStatus.APPROVED, booking.getStart(),
+                booking.getEndTime())).thenReturn(true);
+
+        assertThrows(ItemUnavailableException.class, () -> bookingService.update(owner.getId(),
+                booking.getId(), true));
+        assertEquals(BookingStatus.WAITING, booking.getStatus());
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void testRejectBookingSkipsOverlapCheck() {
+        when(bookingRepository.findBookingWithGraphById(booking.getId())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findStatusById(booking.getId())).thenReturn(BookingStatus.WAITING);
+        when(bookingRepository.save(booking)).thenReturn(booking);
+
+        BookingDto result = bookingService.update(owner.getId(), booking.getId(), false);
+
+        assertEquals(BookingStatus.REJECTED, result.getStatus());
+        verify(itemRepository).findLockedById(item.getId());
+        verify(bookingRepository, never()).existsOverlap(anyLong(), any(), any(), any());
+    }
+}
@@ -10,11 +10,16 @@ import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.CommentCreationException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentWindowDto;
 import ru.practicum.shareit.item.dto.ItemAllFieldsDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.importer.ItemImportFormat;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.itemRequest.service.ItemRequestService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -23,9 +28,10 @@ import static java.util.List.of;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -36,6 +42,8 @@ public class ItemControllerTest {
     ItemRequestService itemRequestService;
     @MockBean
     ItemService itemService;
+    @MockBean
+    ItemImportService itemImportService;
     @Autowired
     ObjectMapper mapper;
     @Autowired
@@ -55,7 +63,9 @@ public class ItemControllerTest {
             true,
             null,
             null,
-            of(commentDto));
+            of(commentDto),
+            1L,
+            null);
 
     private final ItemDto itemDto = ItemDto.builder()
             .id(1L)
@@ -107,6 +117,21 @@ public class ItemControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void getCommentsWithNextCursorTest() throws Exception {
+        when(itemService.findComments(1L, "5", 1))
+                .thenReturn(new CommentWindowDto(List.of(commentDto), "1"));
+        mvc.perform(get("/items/1/comment")
+                        .header(headerSharerUserId, 1)
+                        .param("cursor", "5")
+                        .param("size", "1")
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "1"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].authorName", is(commentDto.getAuthorName())));
+    }
+
     @Test
     void getAllItemsTest() throws Exception {
         when(itemService.findAll(anyLong(), anyInt(), anyInt()))
@@ -187,6 +212,42 @@ public class ItemControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void searchRankedTest() throws Exception {
+        when(itemService.searchRanked(anyString(), anyInt(), anyInt()))
+                .thenReturn(List.of(itemDto));
+        mvc.perform(get("/items/search")
+                        .header(headerSharerUserId, 1)
+                        .param("size", "1")
+                        .param("from", "0")
+                        .param("text", "drll")
+                        .param("ranked", "true")
+                )
+                .andExpect(jsonPath("$[0].id", is(itemDto.getId()), Long.class))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(status().isOk());
+        verify(itemService, never()).search(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void searchFreeTest() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 10, 10, 0);
+        when(itemService.searchFree("drill", start, start.plusDays(1), false, 0, 1))
+                .thenReturn(List.of(itemDto));
+        mvc.perform(get("/items/search")
+                        .header(headerSharerUserId, 1)
+                        .param("size", "1")
+                        .param("from", "0")
+                        .param("text", "drill")
+                        .param("start", "2030-01-10T10:00:00")
+                        .param("end", "2030-01-11T10:00:00")
+                )
+                .andExpect(jsonPath("$[0].id", is(itemDto.getId()), Long.class))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(status().isOk());
+        verify(itemService, never()).search(anyString(), anyInt(), anyInt());
+    }
+
     @Test
     void updateNotFoundExceptionTest() throws Exception {
         when(itemService.update(any(), anyLong(), anyLong()))
@@ -238,4 +299,47 @@ public class ItemControllerTest {
                 )
                 .andExpect(status().isForbidden());
     }
-}
\ No newline at end of file
+
+    @Test
+    void suggestTest() throws Exception {
+        when(itemService.suggest("pe", 5))
+                .thenReturn(List.of("pen", "pencil"));
+        mvc.perform(get("/items/suggest")
+                        .param("prefix", "pe")
+                        .param("size", "5")
+                        .header(headerSharerUserId, 1)
+                        .accept(APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1]", is("pencil")));
+    }
+
+    @Test
+    void importCsvTest() throws Exception {
+        when(itemImportService.importItems(eq(1L), eq(ItemImportFormat.CSV), any()))
+                .thenReturn(List.of(new ItemImportResultDto(2L, itemDto, null),
+                        new ItemImportResultDto(3L, null, "Название вещи не должно быть пустым")));
+        mvc.perform(post("/items/import")
+                        .header(headerSharerUserId, 1)
+                        .content("name,description,available\npen,blue pen,true\n,no name,true\n")
+                        .contentType("text/csv")
+                        .accept(APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].item.id", is(itemDto.getId()), Long.class))
+                .andExpect(jsonPath("$[1].line", is(3)))
+                .andExpect(jsonPath("$[1].error", is("Название вещи не должно быть пустым")));
+    }
+
+    @Test
+    void importUnsupportedFormatTest() throws Exception {
+        mvc.perform(post("/items/import")
+                        .header(headerSharerUserId, 1)
+                        .content(mapper.writeValueAsString(List.of(itemDto)))
+                        .contentType(APPLICATION_JSON)
+                )
+                .andExpect(status().isUnsupportedMediaType());
+    }
+}
@@ -0,0 +1,206 @@
+package ru.practicum.shareit.item.controller;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.summary.ItemSummaryRepository;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
+import ru.practicum.shareit.itemRequest.model.ItemRequest;
+import ru.practicum.shareit.itemRequest.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemQueryCountTest {
+    private static final int STEADY_STATE_STATEMENTS = 3;
+    private final MockMvc mvc;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemSummaryService itemSummaryService;
+    private final ItemSummaryRepository itemSummaryRepository;
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private Statistics statistics;
+    private User smallOwner;
+    private User largeOwner;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        User booker = userRepository.save(new User(null, "Booker", "count-booker@mail.com"));
+        smallOwner = userRepository.save(new User(null, "Small", "count-small@mail.com"));
+        largeOwner = userRepository.save(new User(null, "Large", "count-large@mail.com"));
+        createItems(smallOwner, booker, 2);
+        createItems(largeOwner, booker, 6);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getAllItemsRunsSameNumberOfStatementsForAnyPageSize() throws Exception {
+        long small = countStatements(smallOwner, 2);
+        long large = countStatements(largeOwner, 6);
+
+        assertEquals(small, large);
+    }
+
+    @Test
+    void getAllItemsReadsOnlyItemsAndSummariesOnceBuilt() throws Exception {
+        storeSummaries();
+
+        assertEquals(STEADY_STATE_STATEMENTS, countStatements(largeOwner, 6));
+    }
+
+    @Test
+    void getItemDoesNotLoadRequestOrRequestor() throws Exception {
+        Item item = createRequestedItem();
+        storeSummaries();
+
+        assertEquals(2, statements(get("/items/{itemId}", item.getId())
+                .header("X-Sharer-User-Id", largeOwner.getId())));
+        assertEquals(0, statistics.getEntityStatistics(ItemRequest.class.getName()).getLoadCount());
+        assertEquals(0, statistics.getEntityStatistics(User.class.getName()).getLoadCount());
+    }
+
+    @Test
+    void createItemChecksRequestWithoutLoadingIt() throws Exception {
+        Item requested = createRequestedItem();
+
+        long created = statements(post("/items")
+                .header("X-Sharer-User-Id", largeOwner.getId())
+                .contentType(APPLICATION_JSON)
+                .content("{\"name\":\"Ladder\",\"description\":\"about\",\"available\":true,"
+                        + "\"requestId\":" + requested.getRequest().getId() + "}"));
+
+        assertTrue(created <= 4, "user lookup, request check, sequence and insert expected, got " + created);
+        assertEquals(0, statistics.getEntityStatistics(ItemRequest.class.getName()).getLoadCount());
+    }
+
+    @Test
+    void updateItemLoadsOnlyUserAndItem() throws Exception {
+        Item item = createRequestedItem();
+
+        assertEquals(3, statements(patch("/items/{itemId}", item.getId())
+                .header("X-Sharer-User-Id", largeOwner.getId())
+                .contentType(APPLICATION_JSON)
+                .content("{\"name\":\"Renamed\"}")));
+        assertEquals(0, statistics.getEntityStatistics(ItemRequest.class.getName()).getLoadCount());
+    }
+
+    @Test
+    void searchItemsRunsOneStatement() throws Exception {
+        createRequestedItem();
+
+        assertEquals(1, statements(get("/items/search")
+                .header("X-Sharer-User-Id", largeOwner.getId())
+                .param("text", "Item")
+                .param("from", "0")
+                .param("size", "20")));
+    }
+
+    @Test
+    void getCommentsRunsTwoStatements() throws Exception {
+        Item item = itemRepository.findByOwnerIdOrderById(largeOwner.getId(), PageRequest.of(0, 1))
+                .getContent().get(0);
+        entityManager.clear();
+
+        assertEquals(2, statements(get("/items/{itemId}/comment", item.getId())
+                .header("X-Sharer-User-Id", largeOwner.getId())));
+    }
+
+    private long statements(MockHttpServletRequestBuilder request) throws Exception {
+        statistics.clear();
+        mvc.perform(request)
+                .andExpect(status().isOk());
+        entityManager.flush();
+        entityManager.clear();
+        return statistics.getPrepareStatementCount();
+    }
+
+    // сводки пишут обработчики изменений и rollForward, а данные теста вставлены в обход них
+    private void storeSummaries() {
+        List<Long> itemIds = itemRepository.findAll().stream()
+                .map(Item::getId)
+                .toList();
+        itemSummaryRepository.saveAll(itemSummaryService.getAll(itemIds).values());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Item createRequestedItem() {
+        User requestor = userRepository.save(new User(null, "Requestor", "count-requestor@mail.com"));
+        ItemRequest request = itemRequestRepository.save(new ItemRequest(null, "need an item", requestor,
+                LocalDateTime.now(), null));
+        Item item = itemRepository.save(new Item(null, "Requested item", "about", true, largeOwner, request));
+        entityManager.flush();
+        entityManager.clear();
+        return item;
+    }
+
+    private long countStatements(User owner, int items) throws Exception {
+        statistics.clear();
+        mvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .param("from", "0")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(items)))
+                .andExpect(jsonPath("$[0].comments", hasSize(3)))
+                .andExpect(jsonPath("$[0].comments[0].authorName", is("Author 0")))
+                .andExpect(jsonPath("$[0].lastBooking.booker.id").exists());
+        entityManager.flush();
+        entityManager.clear();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createItems(User owner, User booker, int count) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            Item item = itemRepository.save(new Item(null, "Item " + i, "about", true, owner, null));
+            bookingRepository.save(new Booking(null, now.minusDays(2), now.minusDays(1), item, booker,
+                    BookingStatus.APPROVED, null));
+            for (int j = 0; j < 3; j++) {
+                User author = userRepository.save(new User(null, "Author " + j,
+                        "count-author-" + owner.getId() + "-" + i + "-" + j + "@mail.com"));
+                commentRepository.save(new Comment(null, "comment " + j, item, author, now.minusHours(3 - j)));
+            }
+        }
+    }
+}
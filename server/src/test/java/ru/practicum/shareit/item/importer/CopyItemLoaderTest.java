@@ -0,0 +1,79 @@
+package ru.practicum.shareit.item.importer;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemImportService;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Запускается на отдельной базе PostgreSQL: SHAREIT_POSTGRES_URL, SHAREIT_POSTGRES_USER, SHAREIT_POSTGRES_PASSWORD
+@Transactional
+@SpringBootTest(properties = {
+        "spring.datasource.driverClassName=org.postgresql.Driver",
+        "spring.datasource.url=${SHAREIT_POSTGRES_URL}",
+        "spring.datasource.username=${SHAREIT_POSTGRES_USER:postgres}",
+        "spring.datasource.password=${SHAREIT_POSTGRES_PASSWORD:root}",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.sql.init.platform=postgres",
+        "shareit.item-import.loader=copy"
+})
+@EnabledIfEnvironmentVariable(named = "SHAREIT_POSTGRES_URL", matches = ".+")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class CopyItemLoaderTest {
+    private final ItemLoader itemLoader;
+    private final ItemImportService itemImportService;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final EntityManager entityManager;
+    private UserDto owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.create(new UserDto(null, "Owner", "copy-owner@mail.com"));
+        entityManager.flush();
+    }
+
+    @Test
+    void loaderUsesCopyTest() {
+        assertInstanceOf(CopyItemLoader.class, itemLoader);
+    }
+
+    @Test
+    void importCopiesRowsWithSequenceIdsTest() {
+        StringBuilder csv = new StringBuilder("name,description,available\n");
+        for (int i = 0; i < 120; i++) {
+            csv.append("\"Item, ").append(i).append("\",\"Says \"\"hi\"\"\",true\n");
+        }
+
+        List<ItemImportResultDto> results = itemImportService.importItems(owner.getId(), ItemImportFormat.CSV,
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+        ItemDto created = itemService.create(new ItemDto(null, "After import", "about", true, null), owner.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(120, results.stream().filter(result -> result.getError() == null).count());
+        ItemDto last = results.get(119).getItem();
+        Item copied = entityManager.find(Item.class, last.getId());
+        assertEquals("Item, 119", copied.getName());
+        assertEquals("Says \"hi\"", copied.getDescription());
+        assertEquals(owner.getId(), copied.getOwner().getId());
+        assertTrue(results.stream().noneMatch(result -> result.getItem().getId().equals(created.getId())));
+    }
+}
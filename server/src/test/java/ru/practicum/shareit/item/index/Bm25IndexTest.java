@@ -0,0 +1,127 @@
+package ru.practicum.shareit.item.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class Bm25IndexTest {
+    @Test
+    void testNameMatchesRankAboveDescriptionMatches() {
+        Bm25Index index = new Bm25Index();
+        index.put(1L, "Hammer", "Comes with a stand for the drill");
+        index.put(2L, "Cordless drill", "18V");
+        index.put(3L, "Drill", "Simple and light");
+        index.put(4L, "Saw", "Electric");
+
+        assertArrayEquals(new long[]{3L, 2L, 1L}, index.search("DRILL", 10));
+        assertArrayEquals(new long[]{2L, 3L, 1L}, index.search("cordless drill", 10));
+    }
+
+    @Test
+    void testRareTermsWeighMoreThanCommonOnes() {
+        Bm25Index index = new Bm25Index();
+        index.put(1L, "Red bike", "City");
+        index.put(2L, "Red kayak", "Sea");
+        index.put(3L, "Red tent", "Camping");
+        index.put(4L, "Blue kayak", "River");
+
+        long[] found = index.search("red kayak", 10);
+
+        assertEquals(2L, found[0]);
+        assertEquals(4L, found[1]);
+        assertEquals(4, found.length);
+    }
+
+    @Test
+    void testTyposWithinBoundedDistanceMatch() {
+        Bm25Index index = new Bm25Index();
+        index.put(1L, "Projector", "Full HD");
+        index.put(2L, "Kayak", "Two seats");
+        index.put(3L, "Kayaks rack", "Roof");
+        index.put(4L, "Saw", "Hand");
+
+        assertArrayEquals(new long[]{1L}, index.search("projcetor", 10));
+        assertArrayEquals(new long[]{2L}, index.search("kayk", 10));
+        assertArrayEquals(new long[]{2L, 3L}, index.search("kayak", 10));
+        assertArrayEquals(new long[]{}, index.search("sow", 10));
+        assertArrayEquals(new long[]{}, index.search("prjctr", 10));
+    }
+
+    @Test
+    void testPutReplacesAndRemoveDeletesItem() {
+        Bm25Index index = new Bm25Index();
+        index.put(1L, "Drill", "Old");
+        index.put(1L, "Kayak", "New");
+        index.put(2L, "Drill", "Spare");
+        index.remove(2L);
+
+        assertArrayEquals(new long[]{}, index.search("drill", 10));
+        assertArrayEquals(new long[]{1L}, index.search("kayak", 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testPutIfAbsentKeepsNewerVersionAndRemoval() {
+        Bm25Index index = new Bm25Index();
+        index.put(1L, "Kayak", "Updated");
+        index.remove(2L);
+
+        index.putIfAbsent(1L, "Drill", "Stale");
+        index.putIfAbsent(2L, "Drill", "Unavailable");
+        index.putIfAbsent(3L, "Drill", "Loaded");
+
+        assertArrayEquals(new long[]{3L}, index.search("drill", 10));
+        assertArrayEquals(new long[]{1L}, index.search("kayak", 10));
+    }
+
+    @Test
+    void testCompactionKeepsLiveItems() {
+        Bm25Index index = new Bm25Index();
+        for (long id = 1; id <= 3000; id++) {
+            index.put(id, id % 2 == 0 ? "Drill " + id : "Saw " + id, "Tool");
+        }
+        for (long id = 1; id <= 2500; id++) {
+            index.remove(id);
+        }
+
+        assertEquals(500, index.size());
+        assertEquals(250, index.search("drill", 1000).length);
+        assertEquals(2999L, index.search("saw 2999", 10)[0]);
+        assertEquals(2502L, index.search("drill", 10)[0]);
+    }
+
+    @Test
+    void testSearchReturnsBestItemsUpToLimit() {
+        Bm25Index index = new Bm25Index();
+        for (long id = 1; id <= 5000; id++) {
+            index.put(id, id % 1000 == 0 ? "Drill drill" : "Drill " + id, "Tool");
+        }
+
+        assertArrayEquals(new long[]{1000L, 2000L, 3000L}, index.search("drill", 3));
+        assertEquals(5000, index.search("drill", Integer.MAX_VALUE).length);
+        assertArrayEquals(new long[]{}, index.search("drill", 0));
+    }
+
+    @Test
+    void testCompactionKeepsRemovals() {
+        Bm25Index index = new Bm25Index();
+        for (long id = 1; id <= 3000; id++) {
+            index.put(id, "Item " + id, "about");
+        }
+        for (long id = 1; id <= 2500; id++) {
+            index.remove(id);
+        }
+        index.putIfAbsent(1L, "Item 1", "Stale");
+
+        assertEquals(500, index.size());
+        assertArrayEquals(new long[]{}, index.search("stale", 10));
+    }
+
+    @Test
+    void testTokenizeSplitsOnNonLetters() {
+        assertEquals(List.of("дрель", "18v", "bosch"), Bm25Index.tokenize("Дрель 18V, (Bosch)!"));
+        assertEquals(List.of(), Bm25Index.tokenize(" -- "));
+    }
+}
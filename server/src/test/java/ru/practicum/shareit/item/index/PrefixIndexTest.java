@@ -0,0 +1,98 @@
+package ru.practicum.shareit.item.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrefixIndexTest {
+    @Test
+    void testSuggestReturnsDistinctNamesByPrefix() {
+        PrefixIndex index = new PrefixIndex();
+        index.put(1L, "Drill");
+        index.put(2L, "drill");
+        index.put(3L, "Drill press");
+        index.put(4L, "Dremel");
+        index.put(5L, "Saw");
+
+        assertEquals(List.of("Drill", "Dremel", "Drill press"), index.suggest("DR", 10));
+        assertEquals(List.of("Drill", "Dremel"), index.suggest(" dr", 2));
+        assertEquals(List.of("Drill press"), index.suggest("drill ", 10));
+        assertEquals(List.of(), index.suggest("drills", 10));
+        assertEquals(List.of(), index.suggest("", 10));
+        assertEquals(4, index.distinctNames());
+    }
+
+    @Test
+    void testSuggestPrefersNamesOfMoreItems() {
+        PrefixIndex index = new PrefixIndex();
+        index.put(1L, "Drill press");
+        index.put(2L, "Drill");
+        index.put(3L, "Drill");
+        index.put(4L, "Dremel");
+        index.put(5L, "Drone");
+        index.put(6L, "Drone");
+        index.put(7L, "drone");
+        index.put(8L, "Saw");
+        index.put(9L, "Saw");
+        index.put(10L, "Saw");
+        index.put(11L, "Saw");
+
+        assertEquals(List.of("Drone", "Drill", "Dremel", "Drill press"), index.suggest("dr", 10));
+        assertEquals(List.of("Drone", "Drill"), index.suggest("dr", 2));
+
+        index.remove(5L);
+        index.remove(6L);
+        assertEquals(List.of("Drill", "Dremel"), index.suggest("dr", 2));
+    }
+
+    @Test
+    void testCachedSuggestionsFollowChangesUnderPrefix() {
+        PrefixIndex index = new PrefixIndex();
+        for (long id = 1; id <= 1000; id++) {
+            index.put(id, "Drill " + id);
+        }
+        index.put(1001L, "Drill 5");
+        assertEquals(List.of("Drill 5", "Drill 1"), index.suggest("dr", 2));
+        assertEquals(List.of("Drill 5"), index.suggest("dr", 1));
+
+        index.put(1002L, "Drill 7");
+        index.put(1003L, "Drill 7");
+        assertEquals(List.of("Drill 7", "Drill 5", "Drill 1"), index.suggest("dr", 3));
+
+        index.remove(1002L);
+        index.remove(1003L);
+        index.put(1004L, "Saw");
+        assertEquals(List.of("Drill 5", "Drill 1"), index.suggest("dr", 2));
+    }
+
+    @Test
+    void testNameStaysWhileAnyItemHasIt() {
+        PrefixIndex index = new PrefixIndex();
+        index.put(1L, "Drill");
+        index.put(2L, "Drill");
+        index.remove(1L);
+
+        assertEquals(List.of("Drill"), index.suggest("dri", 10));
+
+        index.put(2L, "Kayak");
+        assertEquals(List.of(), index.suggest("dri", 10));
+        assertEquals(List.of("Kayak"), index.suggest("k", 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testPutIfAbsentKeepsNewerVersionAndRemoval() {
+        PrefixIndex index = new PrefixIndex();
+        index.put(1L, "Kayak");
+        index.remove(2L);
+
+        index.putIfAbsent(1L, "Drill");
+        index.putIfAbsent(2L, "Drill");
+        index.putIfAbsent(3L, "Dremel");
+
+        assertEquals(List.of("Dremel"), index.suggest("dr", 10));
+        assertEquals(2, index.size());
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.item.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrigramIndexTest {
+    @Test
+    void testSearchMatchesSubstringsCaseInsensitively() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(3L, "Cordless Drill", "18V with two batteries");
+        index.put(1L, "Hammer", "Fits any drill stand");
+        index.put(2L, "Saw", "Electric");
+
+        assertArrayEquals(new long[]{1L, 3L}, index.search("DRIL"));
+        assertArrayEquals(new long[]{3L}, index.search("less dr"));
+        assertArrayEquals(new long[]{2L}, index.search("ec"));
+        assertArrayEquals(new long[]{}, index.search("drills"));
+        assertArrayEquals(new long[]{}, index.search(""));
+    }
+
+    @Test
+    void testSearchDoesNotMatchAcrossNameAndDescription() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1L, "Tent", "Family");
+
+        assertArrayEquals(new long[]{}, index.search("tfam"));
+        assertArrayEquals(new long[]{}, index.search("t\u0000f"));
+    }
+
+    @Test
+    void testPutReplacesAndRemoveDeletesItem() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1L, "Drill", "Old");
+        index.put(1L, "Kayak", "New");
+        index.put(2L, "Drill", "Spare");
+        index.remove(2L);
+
+        assertArrayEquals(new long[]{}, index.search("drill"));
+        assertArrayEquals(new long[]{1L}, index.search("kayak"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testPutIfAbsentKeepsNewerVersionAndRemoval() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1L, "Kayak", "Updated");
+        index.remove(2L);
+
+        index.putIfAbsent(1L, "Drill", "Stale");
+        index.putIfAbsent(2L, "Drill", "Unavailable");
+        index.putIfAbsent(3L, "Drill", "Loaded");
+
+        assertArrayEquals(new long[]{3L}, index.search("drill"));
+        assertArrayEquals(new long[]{1L}, index.search("kayak"));
+    }
+
+    @Test
+    void testCompactionKeepsLiveDocuments() {
+        TrigramIndex index = new TrigramIndex();
+        for (long id = 1; id <= 5000; id++) {
+            index.put(id, "Item " + id, id % 2 == 0 ? "even" : "odd");
+        }
+        for (int round = 0; round < 3; round++) {
+            for (long id = 1; id <= 5000; id += 2) {
+                index.put(id, "Item " + id, "odd " + round);
+            }
+        }
+
+        assertEquals(5000, index.size());
+        assertEquals(2500, index.search("even").length);
+        assertArrayEquals(new long[]{4999L}, index.search("item 4999"));
+        assertEquals(2500, index.search("odd 2").length);
+    }
+
+    @Test
+    void testCompactionKeepsRemovals() {
+        TrigramIndex index = new TrigramIndex();
+        for (long id = 1; id <= 3000; id++) {
+            index.put(id, "Item " + id, "about");
+        }
+        for (long id = 1; id <= 2000; id++) {
+            index.remove(id);
+        }
+        index.putIfAbsent(1L, "Item 1", "Stale");
+
+        assertEquals(1000, index.size());
+        assertEquals(0, index.search("stale").length);
+    }
+}
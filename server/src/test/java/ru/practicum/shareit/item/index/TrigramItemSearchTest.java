@@ -0,0 +1,83 @@
+package ru.practicum.shareit.item.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TrigramItemSearchTest {
+    @Mock
+    private ItemRepository itemRepository;
+    private TrigramItemSearch itemSearch;
+
+    @BeforeEach
+    void setUp() {
+        itemSearch = new TrigramItemSearch(itemRepository);
+    }
+
+    @Test
+    void testSearchFallsBackToDatabaseUntilLoaded() {
+        when(itemRepository.search("drill", PageRequest.of(0, 10))).thenReturn(new SliceImpl<>(List.of()));
+
+        itemSearch.search("drill", PageRequest.of(0, 10));
+
+        verify(itemRepository).search("drill", PageRequest.of(0, 10));
+    }
+
+    @Test
+    void testSearchLoadsIndexAndHydratesOnlyRequestedPage() {
+        when(itemRepository.findAvailableTextsByIdAfter(0L, Limit.of(1000))).thenReturn(List.of(
+                new ItemText(1L, "Drill", "Cordless"),
+                new ItemText(2L, "Saw", "Fits a drill"),
+                new ItemText(3L, "Drill bits", "Steel")));
+        Item second = item(2L, "Saw", "Fits a drill");
+        when(itemRepository.findAllById(List.of(2L))).thenReturn(List.of(second));
+        itemSearch.load();
+
+        Slice<Item> page = itemSearch.search("DRILL", PageRequest.of(1, 1));
+
+        assertEquals(List.of(second), page.getContent());
+        assertTrue(page.hasNext());
+        verify(itemRepository, never()).search(any(), any());
+    }
+
+    @Test
+    void testIndexUpdatesAndRemovesUnavailableItems() {
+        when(itemRepository.findAvailableTextsByIdAfter(0L, Limit.of(1000))).thenReturn(List.of(
+                new ItemText(1L, "Drill", "Cordless")));
+        itemSearch.load();
+        Item kayak = item(1L, "Kayak", "Two seats");
+        Item tent = item(2L, "Tent", "Drill not included");
+        tent.setAvailable(false);
+        when(itemRepository.findAllById(List.of(1L))).thenReturn(List.of(kayak));
+
+        itemSearch.index(kayak);
+        itemSearch.index(tent);
+
+        assertTrue(itemSearch.search("drill", PageRequest.of(0, 10)).isEmpty());
+        assertEquals(List.of(kayak), itemSearch.search("kayak", PageRequest.of(0, 10)).getContent());
+    }
+
+    private static Item item(Long id, String name, String description) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(true)
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Запускается на отдельной базе PostgreSQL: SHAREIT_POSTGRES_URL, SHAREIT_POSTGRES_USER, SHAREIT_POSTGRES_PASSWORD
+@Transactional
+@SpringBootTest(properties = {
+        "spring.datasource.driverClassName=org.postgresql.Driver",
+        "spring.datasource.url=${SHAREIT_POSTGRES_URL}",
+        "spring.datasource.username=${SHAREIT_POSTGRES_USER:postgres}",
+        "spring.datasource.password=${SHAREIT_POSTGRES_PASSWORD:root}",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.sql.init.platform=postgres",
+        "shareit.item-search.mode=fulltext"
+})
+@EnabledIfEnvironmentVariable(named = "SHAREIT_POSTGRES_URL", matches = ".+")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class FullTextItemSearchTest {
+    private final ItemSearch itemSearch;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private ItemDto drill;
+    private ItemDto drillBits;
+    private ItemDto hammer;
+
+    @BeforeEach
+    void setUp() {
+        UserDto owner = userService.create(new UserDto(null, "Owner", "fulltext-owner@mail.com"));
+        hammer = itemService.create(new ItemDto(null, "Hammer", "Comes with a stand for drills", true, null),
+                owner.getId());
+        drill = itemService.create(new ItemDto(null, "Drill", "Cordless drill", true, null), owner.getId());
+        drillBits = itemService.create(new ItemDto(null, "Bits", "Bits for drilling", true, null), owner.getId());
+        itemService.create(new ItemDto(null, "Old drill", "Broken", false, null), owner.getId());
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void searchUsesFullTextModeTest() {
+        assertInstanceOf(FullTextItemSearch.class, itemSearch);
+    }
+
+    @Test
+    void searchRanksWordMatchesFirstAndKeepsSubstringMatchesTest() {
+        List<Long> found = itemSearch.search("DRILL", PageRequest.of(0, 10)).stream()
+                .map(Item::getId)
+                .toList();
+
+        assertEquals(List.of(drill.getId(), hammer.getId(), drillBits.getId()), found);
+        assertEquals(found, itemSearch.searchIds("DRILL"));
+    }
+
+    @Test
+    void searchUsesGinIndexesTest() {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+        String plan = String.join("\n", jdbcTemplate.queryForList("""
+                EXPLAIN SELECT i.id FROM items i
+                WHERE i.is_available = true
+                AND (i.search_vector @@ plainto_tsquery('simple', 'drill')
+                OR i.name ILIKE '%dril%' OR i.description ILIKE '%dril%')
+                """, String.class));
+
+        assertTrue(plan.contains("items_search_vector_idx"), plan);
+        assertTrue(plan.contains("items_name_trgm_idx"), plan);
+        assertTrue(plan.contains("items_description_trgm_idx"), plan);
+    }
+}
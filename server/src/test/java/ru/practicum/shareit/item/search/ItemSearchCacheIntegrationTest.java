@@ -0,0 +1,72 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.TestDatabase;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// кэш поиска включен, запись коммитится до следующего чтения - как между двумя запросами к API
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shareit-search-cache",
+        "shareit.item-search.cache.max-size=100"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemSearchCacheIntegrationTest {
+    private final ItemService itemService;
+    private final UserService userService;
+    private final JdbcTemplate jdbcTemplate;
+    private UserDto owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.create(new UserDto(null, "Owner", "search-cache-owner@mail.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestDatabase.clear(jdbcTemplate);
+    }
+
+    @Test
+    void searchAfterCreateFindsNewItem() {
+        assertEquals(List.of(), search("kayak"));
+
+        ItemDto kayak = itemService.create(new ItemDto(null, "Kayak", "Two seats", true, null), owner.getId());
+
+        assertEquals(List.of(kayak.getId()), search("kayak"));
+    }
+
+    @Test
+    void searchAfterUpdateFollowsNewNameAndAvailability() {
+        ItemDto drill = itemService.create(new ItemDto(null, "Cordless drill", "18V", true, null), owner.getId());
+        assertEquals(List.of(drill.getId()), search("drill"));
+        assertEquals(List.of(drill.getId()), search("drill"));
+
+        itemService.update(new ItemDto(null, "Cordless saw", null, null, null), drill.getId(), owner.getId());
+
+        assertEquals(List.of(), search("drill"));
+        assertEquals(List.of(drill.getId()), search("saw"));
+
+        itemService.update(new ItemDto(null, null, null, false, null), drill.getId(), owner.getId());
+
+        assertEquals(List.of(), search("saw"));
+    }
+
+    private List<Long> search(String text) {
+        return itemService.search(text, 0, 10).stream()
+                .map(ItemDto::getId)
+                .toList();
+    }
+}
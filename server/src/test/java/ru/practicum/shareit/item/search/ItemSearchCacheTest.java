@@ -0,0 +1,96 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemSearchCacheTest {
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final ItemSearchCache cache = new ItemSearchCache(2, Duration.ofMinutes(1), now::get);
+
+    @Test
+    void testEvictsLeastRecentlyUsedEntry() {
+        get("drill");
+        get("saw");
+        get("drill");
+        get("tent");
+
+        get("drill");
+        get("saw");
+
+        assertEquals(4, loads.get());
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.evictionCount());
+    }
+
+    @Test
+    void testExpiresEntriesAfterTtl() {
+        get("drill");
+        now.addAndGet(Duration.ofSeconds(59).toNanos());
+        get("drill");
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+        get("drill");
+
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.hitCount());
+    }
+
+    @Test
+    void testInvalidatesOnlyQueriesMatchingChangedItem() {
+        get("drill");
+        get("cordless saw");
+
+        cache.invalidate(new SearchableText("Drill", "Electric", true), new SearchableText("Drill", "Cordless", true));
+        get("drill");
+        get("cordless saw");
+        cache.invalidate(null, new SearchableText("Tent", "Family", true));
+        get("drill");
+        get("cordless saw");
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void testDoesNotCacheResultLoadedDuringInvalidation() {
+        cache.get("drill", 0, 10, () -> {
+            cache.invalidate(null, new SearchableText("Drill", "New", true));
+            return List.of();
+        });
+        get("drill");
+
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.missCount());
+        assertEquals(1, cache.putCount());
+    }
+
+    @Test
+    void testExposesMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new ItemSearchCacheMetrics(cache).bindTo(registry);
+        get("drill");
+        now.addAndGet(1000);
+        get("drill");
+
+        assertEquals(1, registry.get("cache.gets").tag("cache", "itemSearch").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tag("result", "miss").functionCounter().count());
+        FunctionTimer load = registry.get("cache.load").functionTimer();
+        assertEquals(1, load.count());
+    }
+
+    private List<ItemDto> get(String text) {
+        return cache.get(text, 0, 10, () -> {
+            loads.incrementAndGet();
+            return List.of(new ItemDto(1L, text, "about", true, null));
+        });
+    }
+}
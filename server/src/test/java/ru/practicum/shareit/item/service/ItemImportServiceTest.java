@@ -0,0 +1,197 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import jakarta.validation.ValidationException;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.dto.ItemAllFieldsDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.importer.ItemImportFormat;
+import ru.practicum.shareit.item.importer.ItemLoader;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.itemRequest.dto.ItemRequestDto;
+import ru.practicum.shareit.itemRequest.repository.ItemRequestRepository;
+import ru.practicum.shareit.itemRequest.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemImportServiceTest {
+    private final ItemImportService itemImportService;
+    private final ItemService itemService;
+    private final ItemRepository itemRepository;
+    private final ItemRequestService itemRequestService;
+    private final UserService userService;
+    private final EntityManager entityManager;
+    private final UserRepository userRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchCache itemSearchCache;
+    private final ObjectMapper objectMapper;
+    private UserDto owner;
+    private ItemRequestDto request;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.create(new UserDto(null, "Owner", "import-owner@mail.com"));
+        UserDto requestor = userService.create(new UserDto(null, "Requestor", "import-requestor@mail.com"));
+        request = itemRequestService.create(new ItemRequestDto(null, "Need a drill", null), requestor.getId());
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void importCsvTest() {
+        String csv = """
+                name,description,available,request_id
+                Drill,"Cordless, 18V",true,%d
+                "Saw","Says ""sharp""
+                and has a case",false,
+                ,No name,true,
+                Ladder,Tall,maybe,
+                Bike,Red,true,999999
+                """.formatted(request.getId());
+
+        List<ItemImportResultDto> results = itemImportService.importItems(owner.getId(), ItemImportFormat.CSV,
+                stream(csv));
+
+        assertEquals(List.of(2L, 3L, 5L, 6L, 7L), results.stream().map(ItemImportResultDto::getLine).toList());
+        assertEquals("Cordless, 18V", results.get(0).getItem().getDescription());
+        assertEquals(request.getId(), results.get(0).getItem().getRequestId());
+        assertEquals("Says \"sharp\"\nand has a case", results.get(1).getItem().getDescription());
+        assertFalse(results.get(1).getItem().getAvailable());
+        assertEquals("Название вещи не должно быть пустым", results.get(2).getError());
+        assertEquals("Доступность вещи должна быть true или false", results.get(3).getError());
+        assertEquals("Запрос вещи с ID_999999 не найден", results.get(4).getError());
+
+        ItemAllFieldsDto drill = itemService.find(results.get(0).getItem().getId(), owner.getId());
+        assertEquals("Drill", drill.getName());
+    }
+
+    @Test
+    void importNdjsonTest() {
+        String ndjson = """
+                {"name": "Drill", "description": "Cordless", "available": true}
+
+                {"name": "Saw", "description": "Hand saw"
+                {"name": "Tent", "available": true}
+                {"id": 5, "name": "Bike", "description": "Red", "available": true}
+                """;
+
+        List<ItemImportResultDto> results = itemImportService.importItems(owner.getId(), ItemImportFormat.NDJSON,
+                stream(ndjson));
+
+        assertEquals(List.of(1L, 3L, 4L, 5L), results.stream().map(ItemImportResultDto::getLine).toList());
+        assertNotNull(results.get(0).getItem().getId());
+        assertNull(results.get(0).getError());
+        assertTrue(results.get(1).getError().startsWith("Некорректный JSON"));
+        assertEquals("Описание вещи не может быть null", results.get(2).getError());
+        assertEquals("При добавлении вещи id должен быть null", results.get(3).getError());
+    }
+
+    @Test
+    void importSpansSeveralChunksTest() {
+        StringBuilder csv = new StringBuilder("name,description,available,requestId\n");
+        for (int i = 0; i < 2500; i++) {
+            csv.append("Item ").append(i).append(",About ").append(i).append(",true,")
+                    .append(i % 2 == 0 ? request.getId() : "").append('\n');
+        }
+
+        List<ItemImportResultDto> results = itemImportService.importItems(owner.getId(), ItemImportFormat.CSV,
+                stream(csv.toString()));
+
+        assertEquals(2500, results.size());
+        assertTrue(results.stream().allMatch(result -> result.getError() == null));
+        assertEquals(2500, results.stream().map(result -> result.getItem().getId()).distinct().count());
+        assertEquals("Item 2499", results.get(2499).getItem().getName());
+
+        assertEquals(2500, itemRepository.findByOwnerIdOrderById(owner.getId(), PageRequest.of(0, 3000))
+                .getNumberOfElements());
+    }
+
+    @Test
+    void importTooLongNameTest() {
+        String csv = "name,description,available\n" + "N".repeat(256) + ",Long,true\nDrill,Cordless,true\n";
+
+        List<ItemImportResultDto> results = itemImportService.importItems(owner.getId(), ItemImportFormat.CSV,
+                stream(csv));
+
+        assertEquals("Длина названия превышает 255 символов", results.get(0).getError());
+        assertNull(results.get(1).getError());
+        assertNotNull(results.get(1).getItem().getId());
+    }
+
+    @Test
+    void importIsolatesRowsRejectedByDatabaseTest() {
+        AtomicLong ids = new AtomicLong();
+        List<Integer> batchSizes = new ArrayList<>();
+        ItemLoader loader = items -> {
+            batchSizes.add(items.size());
+            if (items.stream().anyMatch(item -> item.getName().startsWith("Bad"))) {
+                throw new DataIntegrityViolationException("rejected");
+            }
+            items.forEach(item -> item.setId(ids.incrementAndGet()));
+            return items;
+        };
+        ItemImportService service = new ItemImportService(userRepository, itemRequestRepository, loader, List.of(),
+                itemSearchCache, objectMapper);
+        StringBuilder csv = new StringBuilder("name,description,available\n");
+        for (int i = 0; i < 8; i++) {
+            csv.append(i == 2 || i == 5 ? "Bad " : "Item ").append(i).append(",About,true\n");
+        }
+
+        List<ItemImportResultDto> results = service.importItems(owner.getId(), ItemImportFormat.CSV,
+                stream(csv.toString()));
+
+        assertEquals(8, results.size());
+        assertEquals("Не удалось сохранить предмет", results.get(2).getError());
+        assertEquals("Не удалось сохранить предмет", results.get(5).getError());
+        assertEquals(List.of("Item 0", "Item 1", "Item 3", "Item 4", "Item 6", "Item 7"), results.stream()
+                .filter(result -> result.getError() == null)
+                .map(result -> result.getItem().getName())
+                .toList());
+        assertEquals(6, results.stream()
+                .filter(result -> result.getItem() != null)
+                .map(result -> result.getItem().getId())
+                .distinct()
+                .count());
+        assertEquals(List.of(8, 4, 2, 2, 1, 1, 4, 2, 1, 1, 2), batchSizes);
+    }
+
+    @Test
+    void importWithoutNameColumnTest() {
+        assertThrows(ValidationException.class, () -> itemImportService.importItems(owner.getId(),
+                ItemImportFormat.CSV, stream("title,description\nDrill,Cordless\n")));
+    }
+
+    @Test
+    void importByUnknownUserTest() {
+        assertThrows(EntityNotFoundException.class, () -> itemImportService.importItems(999L,
+                ItemImportFormat.NDJSON, stream("")));
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item.service;
 
 import jakarta.persistence.EntityManager;
+import jakarta.validation.ValidationException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,13 +15,18 @@ import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.CommentCreationException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentWindowDto;
 import ru.practicum.shareit.item.dto.ItemAllFieldsDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -65,11 +71,32 @@ public class ItemServiceTest {
 
     @Test
     void testFindItemByOwner() {
+        bookingService.update(userOwner.getId(), bookingDto.getId(), true);
+
         ItemAllFieldsDto fullItem = itemService.find(item.getId(), userOwner.getId());
         assertEquals(item.getId(), fullItem.getId());
         assertNotNull(fullItem.getLastBooking());
         assertNull(fullItem.getNextBooking());
         assertTrue(fullItem.getComments().isEmpty()); // Убедитесь, что комментарии пусты
+        assertEquals(0, fullItem.getCommentCount());
+    }
+
+    @Test
+    void testFindItemByOwnerIgnoresWaitingBookings() {
+        ItemAllFieldsDto fullItem = itemService.find(item.getId(), userOwner.getId());
+
+        assertNull(fullItem.getLastBooking());
+        assertNull(fullItem.getNextBooking());
+    }
+
+    @Test
+    void testFindItemByNonOwnerHidesBookings() {
+        bookingService.update(userOwner.getId(), bookingDto.getId(), true);
+
+        ItemAllFieldsDto fullItem = itemService.find(item.getId(), booker.getId());
+
+        assertNull(fullItem.getLastBooking());
+        assertNull(fullItem.getNextBooking());
     }
 
     @Test
@@ -95,6 +122,37 @@ public class ItemServiceTest {
         assertEquals(item.getId(), items.iterator().next().getId());
     }
 
+    @Test
+    void testFindItemsByOwnerWithLastAndNextBookings() {
+        LocalDateTime now = LocalDateTime.now();
+        bookingService.update(userOwner.getId(), bookingDto.getId(), true);
+        approve(new BookingCreateDto(null, now.minusYears(3), now.minusYears(3).plusDays(1), item.getId()));
+        approve(new BookingCreateDto(null, now.minusHours(1), now.minusHours(1).plusSeconds(1), item.getId()));
+        BookingDto next = approve(new BookingCreateDto(null, now.plusDays(1), now.plusDays(2), item.getId()));
+        approve(new BookingCreateDto(null, now.plusDays(3), now.plusDays(4), item.getId()));
+        bookingService.create(booker.getId(), new BookingCreateDto(null, now.plusHours(1), now.plusHours(2),
+                item.getId()));
+        ItemDto other = itemService.create(new ItemDto(null, "Other", "about", true, null), userOwner.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        Collection<ItemAllFieldsDto> items = itemService.findAll(userOwner.getId(), 0, 10);
+
+        ItemAllFieldsDto withBookings = items.stream()
+                .filter(fullItem -> fullItem.getId().equals(item.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(bookingDto.getId(), withBookings.getLastBooking().getId());
+        assertEquals(booker.getId(), withBookings.getLastBooking().getBooker().getId());
+        assertEquals(next.getId(), withBookings.getNextBooking().getId());
+        ItemAllFieldsDto withoutBookings = items.stream()
+                .filter(fullItem -> fullItem.getId().equals(other.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertNull(withoutBookings.getLastBooking());
+        assertNull(withoutBookings.getNextBooking());
+    }
+
     @Test
     void testSearchItems() {
         Collection<ItemDto> foundItems = itemService.search("Item", 0, 10);
@@ -114,6 +172,58 @@ public class ItemServiceTest {
         assertEquals("comment", commentDto.getText());
     }
 
+    @Test
+    void testFindCommentsPageByPage() {
+        bookingService.update(userOwner.getId(), bookingDto.getId(), true);
+        for (int i = 1; i <= 3; i++) {
+            itemService.createComment(new CommentDto(null, "comment " + i, booker.getName(), commentTime),
+                    item.getId(), booker.getId());
+        }
+
+        CommentWindowDto first = itemService.findComments(item.getId(), null, 2);
+        CommentWindowDto second = itemService.findComments(item.getId(), first.getNextCursor(), 2);
+
+        assertEquals(List.of("comment 3", "comment 2"), first.getComments().stream()
+                .map(CommentDto::getText)
+                .toList());
+        assertEquals(booker.getName(), first.getComments().iterator().next().getAuthorName());
+        assertEquals(List.of("comment 1"), second.getComments().stream()
+                .map(CommentDto::getText)
+                .toList());
+        assertNull(second.getNextCursor());
+        assertThrows(ValidationException.class, () -> itemService.findComments(item.getId(), "abc", 2));
+    }
+
+    @Test
+    void testFindCommentsOrderedByCreationTimeNotId() {
+        // идентификаторы выдаются пачками на каждый экземпляр, поэтому больший id не значит более поздний комментарий
+        LocalDateTime created = LocalDateTime.of(2025, 6, 1, 10, 0);
+        for (int hours : List.of(3, 1, 2, 1)) {
+            entityManager.persist(Comment.builder()
+                    .text("comment +" + hours + "h")
+                    .item(entityManager.getReference(Item.class, item.getId()))
+                    .author(entityManager.getReference(User.class, booker.getId()))
+                    .created(created.plusHours(hours))
+                    .build());
+        }
+        entityManager.flush();
+
+        CommentWindowDto first = itemService.findComments(item.getId(), null, 2);
+        CommentWindowDto second = itemService.findComments(item.getId(), first.getNextCursor(), 2);
+
+        assertEquals(List.of("comment +3h", "comment +2h"), first.getComments().stream()
+                .map(CommentDto::getText)
+                .toList());
+        assertEquals(List.of("comment +1h", "comment +1h"), second.getComments().stream()
+                .map(CommentDto::getText)
+                .toList());
+        List<Long> sameTimeIds = second.getComments().stream()
+                .map(CommentDto::getId)
+                .toList();
+        assertTrue(sameTimeIds.get(0) > sameTimeIds.get(1));
+        assertNull(second.getNextCursor());
+    }
+
     @Test
     void testCreateCommentByNonBooker() {
         assertThrows(CommentCreationException.class,
@@ -136,4 +246,11 @@ public class ItemServiceTest {
                 () -> itemService.find(99L, userOwner.getId())
         );
     }
-}
\ No newline at end of file
+
+    private BookingDto approve(BookingCreateDto bookingCreateDto) {
+        BookingDto booking = bookingService.create(booker.getId(), bookingCreateDto);
+        entityManager.flush();
+        entityManager.clear();
+        return bookingService.update(userOwner.getId(), booking.getId(), true);
+    }
+}
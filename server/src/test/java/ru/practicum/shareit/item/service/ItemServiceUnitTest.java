@@ -1,12 +1,15 @@
 package ru.practicum.shareit.item.service;
 
+import jakarta.validation.ValidationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
+import ru.practicum.shareit.booking.index.ItemBookingInterval;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -15,22 +18,34 @@ import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemAllFieldsDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.index.ItemNameIndex;
+import ru.practicum.shareit.item.index.ItemText;
+import ru.practicum.shareit.item.index.RankedItemSearch;
+import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.LikeItemSearch;
+import ru.practicum.shareit.item.summary.ItemSummary;
+import ru.practicum.shareit.item.summary.ItemSummaryMapper;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
+import ru.practicum.shareit.item.view.ItemViewCache;
 import ru.practicum.shareit.itemRequest.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -46,8 +61,11 @@ public class ItemServiceUnitTest {
     private CommentRepository commentRepository;
     @Mock
     private ItemRequestRepository itemRequestRepository;
+    @Mock
+    private ItemSummaryService itemSummaryService;
 
     private ItemService itemService;
+    private RankedItemSearch rankedItemSearch;
 
     private User owner;
     private User booker;
@@ -58,8 +76,13 @@ public class ItemServiceUnitTest {
 
     @BeforeEach
     void setUp() {
+        ItemNameIndex itemNameIndex = new ItemNameIndex(itemRepository);
+        rankedItemSearch = new RankedItemSearch(itemRepository);
         itemService = new ItemServiceImpl(userRepository, itemRepository, bookingRepository,
-                commentRepository, itemRequestRepository);
+                commentRepository, itemRequestRepository, new LikeItemSearch(itemRepository),
+                List.of(itemNameIndex, rankedItemSearch), new ItemSearchCache(100, Duration.ofMinutes(5)),
+                itemSummaryService, new ItemViewCache(100, Duration.ofMinutes(10)), itemNameIndex, rankedItemSearch,
+                new BookingIntervalIndex(bookingRepository, Duration.ofHours(1), 1000));
         owner = new User(1L, "Owner", "owner@mail.com");
         booker = new User(2L, "Booker", "booker@mail.com");
         itemDto = new ItemDto(1L, "Drill", "Electric", true, null);
@@ -68,7 +91,7 @@ public class ItemServiceUnitTest {
         LocalDateTime start = LocalDateTime.of(2025, 6, 11, 10, 0);
         LocalDateTime end = start.plusDays(1);
 
-        booking = new Booking(1L, start, end, item, booker, BookingStatus.WAITING);
+        booking = new Booking(1L, start, end, item, booker, BookingStatus.WAITING, owner.getId());
         comment = new Comment(1L, "Nice", item, booker, LocalDateTime.now());
     }
 
@@ -86,21 +109,49 @@ public class ItemServiceUnitTest {
     @Test
     void testFindItemAllFields_Success() {
         when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
-        when(bookingRepository.findAllByItem_Id(anyLong())).thenReturn(List.of(booking));
-        when(commentRepository.findAllByItemId(anyLong())).thenReturn(Collections.singletonList(comment));
+        booking.setStatus(BookingStatus.APPROVED);
+        ItemSummary summary = ItemSummary.builder()
+                .itemId(item.getId())
+                .commentCount(1)
+                .latestComments(List.of(CommentMapper.toCommentDto(comment)))
+                .build();
+        ItemSummaryMapper.setLastBooking(summary, booking);
+        when(itemSummaryService.get(item.getId())).thenReturn(summary);
 
         ItemAllFieldsDto dto = itemService.find(item.getId(), owner.getId());
 
         assertEquals(item.getId(), dto.getId());
+        assertEquals(booking.getId(), dto.getLastBooking().getId());
         assertNull(dto.getNextBooking());
         assertFalse(dto.getComments().isEmpty());
+        assertEquals(1, dto.getCommentCount());
+    }
+
+    @Test
+    void testFindItemAllFields_CachedPerItemWithViewerVariants() {
+        booking.setStatus(BookingStatus.APPROVED);
+        ItemSummary summary = ItemSummary.builder()
+                .itemId(item.getId())
+                .latestComments(List.of())
+                .build();
+        ItemSummaryMapper.setLastBooking(summary, booking);
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(itemSummaryService.get(item.getId())).thenReturn(summary);
+
+        ItemAllFieldsDto ownerView = itemService.find(item.getId(), owner.getId());
+        ItemAllFieldsDto bookerView = itemService.find(item.getId(), booker.getId());
+
+        assertEquals(booking.getId(), ownerView.getLastBooking().getId());
+        assertNull(bookerView.getLastBooking());
+        verify(itemRepository, times(1)).findById(item.getId());
+        verify(itemSummaryService, times(1)).get(item.getId());
     }
 
 
     @Test
     void testSearchItems_Found() {
         when(itemRepository.search(anyString(), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(List.of(item)));
+                .thenReturn(new SliceImpl<>(List.of(item)));
 
         Collection<ItemDto> found = itemService.search("drill", 0, 10);
         assertEquals(1, found.size());
@@ -109,12 +160,119 @@ public class ItemServiceUnitTest {
     @Test
     void testSearchItems_Empty() {
         when(itemRepository.search(anyString(), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(List.of()));
+                .thenReturn(new SliceImpl<>(List.of()));
 
         Collection<ItemDto> found = itemService.search("none", 0, 10);
         assertTrue(found.isEmpty());
     }
 
+    @Test
+    void testSearchItems_CachedUntilMatchingItemChanges() {
+        when(itemRepository.search(anyString(), any(PageRequest.class)))
+                .thenReturn(new SliceImpl<>(List.of(item)));
+        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(itemRepository.save(item)).thenReturn(item);
+
+        itemService.search("Drill", 0, 10);
+        itemService.search("DRILL", 0, 10);
+        itemService.search("saw", 0, 10);
+        verify(itemRepository, times(2)).search(anyString(), any(PageRequest.class));
+
+        itemService.update(new ItemDto(null, null, "Cordless", null, null), item.getId(), owner.getId());
+        itemService.search("drill", 0, 10);
+        itemService.search("saw", 0, 10);
+        verify(itemRepository, times(3)).search(anyString(), any(PageRequest.class));
+    }
+
+    @Test
+    void testSearchRanked_MatchesTyposFromIndex() {
+        Item saw = new Item(2L, "Saw", "Cuts drill holes too", true, owner, null);
+        when(itemRepository.findAvailableTextsByIdAfter(anyLong(), any()))
+                .thenReturn(List.of(new ItemText(1L, "Drill", "Electric"),
+                        new ItemText(2L, "Saw", "Cuts drill holes too")));
+        when(itemRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(saw, item));
+        rankedItemSearch.load();
+
+        List<Long> found = itemService.searchRanked("drll", 0, 10).stream()
+                .map(ItemDto::getId)
+                .toList();
+
+        assertEquals(List.of(1L, 2L), found);
+        verify(itemRepository, times(0)).search(anyString(), any(PageRequest.class));
+    }
+
+    @Test
+    void testSearchRanked_FallsBackToDatabaseUntilIndexLoaded() {
+        when(itemRepository.search(anyString(), any(PageRequest.class)))
+                .thenReturn(new SliceImpl<>(List.of(item)));
+
+        assertEquals(1, itemService.searchRanked("drill", 0, 10).size());
+    }
+
+    @Test
+    void testSearchFree_SkipsItemsBookedInWindow() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 10, 10, 0);
+        Item booked = new Item(2L, "Drill press", "Heavy", true, owner, null);
+        Item free = new Item(3L, "Cordless drill", "Light", true, owner, null);
+        when(itemRepository.searchIds("drill")).thenReturn(List.of(1L, 2L, 3L));
+        when(bookingRepository.findIntervalsByItemIdInAndStatus(eq(List.of(1L, 2L, 3L)),
+                eq(BookingStatus.APPROVED), any()))
+                .thenReturn(List.of(new ItemBookingInterval(2L, start.minusDays(1), start.plusHours(1))));
+        when(itemRepository.findAllById(List.of(1L, 3L))).thenReturn(List.of(free, item));
+        when(itemRepository.findAllById(List.of(3L))).thenReturn(List.of(free));
+
+        Collection<ItemDto> found = itemService.searchFree("drill", start, start.plusDays(2), false, 0, 10);
+        Collection<ItemDto> secondPage = itemService.searchFree("drill", start, start.plusDays(2), false, 1, 1);
+
+        assertEquals(List.of(1L, 3L), found.stream().map(ItemDto::getId).toList());
+        assertEquals(List.of(3L), secondPage.stream().map(ItemDto::getId).toList());
+        verify(bookingRepository, times(1)).findIntervalsByItemIdInAndStatus(anyCollection(), any(), any());
+        verify(itemRepository, times(0)).search(anyString(), any(PageRequest.class));
+    }
+
+    @Test
+    void testSearchFree_RunsTextSearchOnceWhenFreeItemsAreSparse() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 10, 10, 0);
+        List<Long> matched = LongStream.rangeClosed(1, 1000).boxed().toList();
+        Item free = new Item(1000L, "Drill 1000", "Light", true, owner, null);
+        when(itemRepository.searchIds("drill")).thenReturn(matched);
+        when(bookingRepository.findIntervalsByItemIdInAndStatus(anyCollection(), eq(BookingStatus.APPROVED), any()))
+                .thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(0).stream()
+                        .filter(itemId -> itemId != 1000L)
+                        .map(itemId -> new ItemBookingInterval(itemId, start.minusDays(1), start.plusDays(3)))
+                        .toList());
+        when(itemRepository.findAllById(List.of(1000L))).thenReturn(List.of(free));
+
+        Collection<ItemDto> found = itemService.searchFree("drill", start, start.plusDays(2), false, 0, 10);
+
+        assertEquals(List.of(1000L), found.stream().map(ItemDto::getId).toList());
+        verify(itemRepository, times(1)).searchIds("drill");
+        verify(bookingRepository, times(5)).findIntervalsByItemIdInAndStatus(anyCollection(), any(), any());
+    }
+
+    @Test
+    void testSearchFree_RejectsInvalidWindow() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 10, 10, 0);
+
+        assertThrows(ValidationException.class, () -> itemService.searchFree("drill", start, start, false, 0, 10));
+        assertThrows(ValidationException.class, () -> itemService.searchFree("drill", start, null, false, 0, 10));
+    }
+
+    @Test
+    void testSuggest_FollowsCreatedAndUpdatedItems() {
+        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        when(itemRepository.save(any(Item.class))).thenReturn(item);
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+
+        itemService.create(itemDto, owner.getId());
+        assertEquals(List.of("Drill"), itemService.suggest("dr", null));
+
+        itemService.update(new ItemDto(null, null, null, false, null), item.getId(), owner.getId());
+        assertTrue(itemService.suggest("dr", null).isEmpty());
+        assertThrows(ValidationException.class, () -> itemService.suggest("dr", 0));
+    }
+
     @Test
     void testCreateComment_Success() {
         booking.setStatus(BookingStatus.APPROVED);
@@ -128,6 +286,7 @@ public class ItemServiceUnitTest {
         CommentDto created = itemService.createComment(dto, item.getId(), booker.getId());
         assertNotNull(created);
         assertEquals("Nice", created.getText());
+        verify(itemSummaryService).addComment(item.getId(), created);
     }
 
     @Test
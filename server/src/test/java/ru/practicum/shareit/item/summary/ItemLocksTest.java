@@ -0,0 +1,93 @@
+package ru.practicum.shareit.item.summary;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemLocksTest {
+    private static final int THREADS = 8;
+
+    @Test
+    void testSameItemIsSerialized() throws Exception {
+        ItemLocks locks = new ItemLocks(64);
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+
+        runConcurrently(THREADS, 200, thread -> locks.withLock(1L, () -> {
+            maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+            Thread.yield();
+            return inside.decrementAndGet();
+        }));
+
+        assertEquals(1, maxInside.get());
+    }
+
+    @Test
+    void testDifferentItemsRunInParallel() throws Exception {
+        ItemLocks locks = new ItemLocks(64);
+        CountDownLatch bothInside = new CountDownLatch(2);
+
+        List<Boolean> results = runConcurrently(2, 1, thread -> locks.withLock(thread + 1L, () -> {
+            bothInside.countDown();
+            try {
+                return bothInside.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }));
+
+        assertEquals(List.of(true, true), results);
+    }
+
+    @Test
+    void testOverlappingBatchesDoNotDeadlock() throws Exception {
+        ItemLocks locks = new ItemLocks(64);
+        AtomicInteger completed = new AtomicInteger();
+
+        runConcurrently(THREADS, 200, thread -> locks.withLocks(
+                thread % 2 == 0 ? List.of(1L, 2L, 3L) : List.of(3L, 2L, 1L), completed::incrementAndGet));
+
+        assertEquals(THREADS * 200, completed.get());
+    }
+
+    private <T> List<T> runConcurrently(int threads, int iterations, Task<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                int thread = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    T result = null;
+                    for (int j = 0; j < iterations; j++) {
+                        result = task.run(thread);
+                    }
+                    return result;
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface Task<T> {
+        T run(int thread) throws Exception;
+    }
+}
@@ -0,0 +1,149 @@
+package ru.practicum.shareit.item.summary;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.TestDatabase;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// без транзакции теста: сводки пишутся в отдельной транзакции, как после коммита запроса
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemSummaryServiceTest {
+    private final ItemSummaryService itemSummaryService;
+    private final ItemSummaryRepository itemSummaryRepository;
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final CommentRepository commentRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private UserDto owner;
+    private UserDto booker;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.create(new UserDto(null, "Owner", "summary-owner@mail.com"));
+        booker = userService.create(new UserDto(null, "Booker", "summary-booker@mail.com"));
+        item = itemService.create(new ItemDto(null, "Item", "about", true, null), owner.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestDatabase.clear(jdbcTemplate);
+    }
+
+    @Test
+    void getBuildsSummaryFromApprovedBookings() {
+        LocalDateTime now = LocalDateTime.now();
+        BookingDto next = approve(now.plusDays(1), now.plusDays(2));
+        bookingService.create(booker.getId(), new BookingCreateDto(null, now.plusHours(1), now.plusHours(2),
+                item.getId()));
+
+        ItemSummary summary = itemSummaryService.get(item.getId());
+
+        assertNull(summary.getLastBookingId());
+        assertEquals(next.getId(), summary.getNextBookingId());
+        assertEquals(booker.getId(), summary.getNextBookerId());
+        assertEquals(summary.getNextBookingStart(), summary.getRefreshAt());
+    }
+
+    @Test
+    void getBuildsMissingSummaryWithoutSavingIt() {
+        commentRepository.save(new Comment(null, "Nice", itemRepository.getReferenceById(item.getId()),
+                userRepository.getReferenceById(booker.getId()), LocalDateTime.now()));
+
+        ItemSummary summary = itemSummaryService.get(item.getId());
+
+        assertEquals(1, summary.getCommentCount());
+        assertFalse(itemSummaryRepository.existsById(item.getId()));
+    }
+
+    @Test
+    void addCommentKeepsCountAndLatestComments() {
+        itemSummaryService.refreshBookings(List.of(item.getId()));
+        LocalDateTime created = LocalDateTime.of(2025, 5, 14, 10, 0);
+
+        IntStream.rangeClosed(1, ItemSummaryService.LATEST_COMMENTS + 2).forEach(i -> itemSummaryService.addComment(
+                item.getId(), new CommentDto((long) i, "comment " + i, booker.getName(), created.plusMinutes(i))));
+
+        ItemSummary summary = itemSummaryRepository.findById(item.getId()).orElseThrow();
+        assertEquals(ItemSummaryService.LATEST_COMMENTS + 2, summary.getCommentCount());
+        List<CommentDto> latest = summary.getLatestComments();
+        assertEquals(ItemSummaryService.LATEST_COMMENTS, latest.size());
+        assertEquals("comment 3", latest.get(0).getText());
+        assertEquals(created.plusMinutes(12), latest.get(latest.size() - 1).getCreated());
+    }
+
+    @Test
+    void refreshCommentAuthorRenamesAuthorInLatestComments() {
+        commentRepository.save(new Comment(null, "Nice", itemRepository.getReferenceById(item.getId()),
+                userRepository.getReferenceById(booker.getId()), LocalDateTime.now()));
+        itemSummaryService.refreshBookings(List.of(item.getId()));
+
+        userService.update(new UserDto(null, "Renamed", null), booker.getId());
+        itemSummaryService.refreshCommentAuthor(booker.getId());
+
+        ItemSummary summary = itemSummaryRepository.findById(item.getId()).orElseThrow();
+        assertEquals(List.of("Renamed"), summary.getLatestComments().stream()
+                .map(CommentDto::getAuthorName)
+                .toList());
+    }
+
+    @Test
+    void rollForwardMovesStartedBookingsToLast() {
+        LocalDateTime now = LocalDateTime.now();
+        BookingDto booking = approve(now.plusDays(1), now.plusDays(2));
+
+        // бронь целиком ушла в прошлое - как если бы время сводки давно наступило
+        Booking passed = bookingRepository.findById(booking.getId()).orElseThrow();
+        passed.setStart(now.minusDays(2));
+        passed.setEndTime(now.minusDays(1));
+        bookingRepository.save(passed);
+        ItemSummary summary = itemSummaryRepository.findById(item.getId()).orElseThrow();
+        summary.setRefreshAt(now.minusMinutes(1));
+        itemSummaryRepository.save(summary);
+
+        assertEquals(booking.getId(), itemSummaryService.get(item.getId()).getLastBookingId());
+        assertEquals(booking.getId(), itemSummaryRepository.findById(item.getId()).orElseThrow().getNextBookingId());
+
+        itemSummaryService.rollForward();
+
+        ItemSummary rolled = itemSummaryRepository.findById(item.getId()).orElseThrow();
+        assertEquals(booking.getId(), rolled.getLastBookingId());
+        assertNull(rolled.getNextBookingId());
+        assertNull(rolled.getRefreshAt());
+    }
+
+    private BookingDto approve(LocalDateTime start, LocalDateTime end) {
+        BookingDto booking = bookingService.create(booker.getId(), new BookingCreateDto(null, start, end,
+                item.getId()));
+        return bookingService.update(owner.getId(), booking.getId(), true);
+    }
+}
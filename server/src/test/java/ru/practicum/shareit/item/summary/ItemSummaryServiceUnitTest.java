@@ -0,0 +1,104 @@
+package ru.practicum.shareit.item.summary;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.ItemAllFieldsDto;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.view.ItemView;
+import ru.practicum.shareit.item.view.ItemViewCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemSummaryServiceUnitTest {
+    @Mock
+    private ItemSummaryRepository itemSummaryRepository;
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private CommentRepository commentRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private final ItemViewCache itemViewCache = new ItemViewCache(100, Duration.ofMinutes(10));
+    private final AtomicInteger loads = new AtomicInteger();
+    private ItemSummaryService itemSummaryService;
+
+    @BeforeEach
+    void setUp() {
+        itemSummaryService = new ItemSummaryService(itemSummaryRepository, bookingRepository, commentRepository,
+                new ItemLocks(4), itemViewCache, transactionManager);
+    }
+
+    @Test
+    void testSummaryBuiltInsideViewLoaderKeepsConcurrentReadersOnSameLoad() throws Exception {
+        CountDownLatch summaryBuilt = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ItemView> first = executor.submit(() -> itemViewCache.get(1L, itemId -> {
+                ItemView view = load(itemId);
+                summaryBuilt.countDown();
+                await(release);
+                return view;
+            }));
+            assertTrue(summaryBuilt.await(5, TimeUnit.SECONDS));
+
+            Future<ItemView> second = executor.submit(() -> itemViewCache.get(1L, this::load));
+            assertThrows(TimeoutException.class, () -> second.get(200, TimeUnit.MILLISECONDS));
+            release.countDown();
+
+            assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+            verify(itemSummaryRepository, never()).saveAll(anyCollection());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testRefreshAfterBookingChangeEvictsCachedViews() {
+        when(itemSummaryRepository.saveAll(anyCollection())).thenAnswer(invocation -> new ArrayList<>(
+                invocation.<Collection<ItemSummary>>getArgument(0)));
+        itemViewCache.get(1L, this::load);
+
+        itemSummaryService.refreshBookings(List.of(1L));
+
+        assertEquals(0, itemViewCache.size());
+    }
+
+    // как ItemServiceImpl.loadItemView: сводка предмета строится при первой загрузке представления
+    private ItemView load(Long itemId) {
+        loads.incrementAndGet();
+        ItemSummary summary = itemSummaryService.get(itemId);
+        return new ItemView(10L, ItemAllFieldsDto.builder().id(itemId).build(),
+                ItemAllFieldsDto.builder().id(itemId).build(), summary.getRefreshAt());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
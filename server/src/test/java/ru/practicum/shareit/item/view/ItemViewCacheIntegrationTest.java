@@ -0,0 +1,94 @@
+package ru.practicum.shareit.item.view;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.TestDatabase;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAllFieldsDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// кэш карточек включен, запись коммитится до следующего чтения - как между двумя запросами к API
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shareit-view-cache",
+        "shareit.item-view.cache.max-size=100"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemViewCacheIntegrationTest {
+    private final ItemService itemService;
+    private final UserService userService;
+    private final BookingService bookingService;
+    private final JdbcTemplate jdbcTemplate;
+    private UserDto owner;
+    private UserDto booker;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.create(new UserDto(null, "Owner", "view-cache-owner@mail.com"));
+        booker = userService.create(new UserDto(null, "Booker", "view-cache-booker@mail.com"));
+        item = itemService.create(new ItemDto(null, "Drill", "18V", true, null), owner.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestDatabase.clear(jdbcTemplate);
+    }
+
+    @Test
+    void findAfterUpdateReturnsNewName() {
+        assertEquals("Drill", itemService.find(item.getId(), owner.getId()).getName());
+
+        itemService.update(new ItemDto(null, "Hammer drill", null, null, null), item.getId(), owner.getId());
+
+        assertEquals("Hammer drill", itemService.find(item.getId(), owner.getId()).getName());
+        assertEquals("Hammer drill", itemService.find(item.getId(), booker.getId()).getName());
+    }
+
+    @Test
+    void findAfterApprovalReturnsNextBooking() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingDto booking = bookingService.create(booker.getId(),
+                new BookingCreateDto(null, start, start.plusDays(1), item.getId()));
+        assertNull(itemService.find(item.getId(), owner.getId()).getNextBooking());
+
+        bookingService.update(owner.getId(), booking.getId(), true);
+
+        assertEquals(booking.getId(), itemService.find(item.getId(), owner.getId()).getNextBooking().getId());
+    }
+
+    @Test
+    void findAfterCommentAndAuthorRenameReturnsFreshComment() {
+        LocalDateTime start = LocalDateTime.now().minusDays(2);
+        BookingDto booking = bookingService.create(booker.getId(),
+                new BookingCreateDto(null, start, start.plusDays(1), item.getId()));
+        bookingService.update(owner.getId(), booking.getId(), true);
+        assertEquals(0, itemService.find(item.getId(), booker.getId()).getComments().size());
+
+        itemService.createComment(new CommentDto(null, "Works fine", null, null), item.getId(), booker.getId());
+
+        ItemAllFieldsDto found = itemService.find(item.getId(), booker.getId());
+        assertEquals(1, found.getComments().size());
+        assertEquals("Booker", found.getComments().iterator().next().getAuthorName());
+
+        userService.update(new UserDto(null, "Renamed booker", null), booker.getId());
+
+        found = itemService.find(item.getId(), booker.getId());
+        assertEquals("Renamed booker", found.getComments().iterator().next().getAuthorName());
+    }
+}
@@ -0,0 +1,130 @@
+package ru.practicum.shareit.item.view;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.dto.ItemAllFieldsDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemViewCacheTest {
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final ItemViewCache cache = new ItemViewCache(2, Duration.ofMinutes(10), now::get);
+
+    @Test
+    void testReturnsViewerVariantFromOneLoad() {
+        ItemView first = cache.get(1L, this::load);
+        ItemView second = cache.get(1L, this::load);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertSame(first.ownerView(), second.viewFor(10L));
+        assertSame(first.publicView(), second.viewFor(20L));
+    }
+
+    @Test
+    void testConcurrentMissesRunSingleLoader() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ItemView>> views = new ArrayList<>();
+            views.add(executor.submit(() -> cache.get(1L, itemId -> {
+                loading.countDown();
+                await(release);
+                return load(itemId);
+            })));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 7; i++) {
+                views.add(executor.submit(() -> cache.get(1L, this::load)));
+            }
+            release.countDown();
+
+            ItemView expected = views.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<ItemView> view : views) {
+                assertSame(expected, view.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testInvalidateDuringLoadDropsLoadedView() {
+        cache.get(1L, itemId -> {
+            cache.invalidate(itemId);
+            return load(itemId);
+        });
+        cache.get(1L, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testExpiresAtTtlOrWhenSummaryGoesStale() {
+        cache.get(1L, this::load);
+        now.addAndGet(Duration.ofMinutes(11).toNanos());
+        cache.get(1L, this::load);
+        assertEquals(2, loads.get());
+
+        cache.get(2L, itemId -> view(itemId, LocalDateTime.now().minusSeconds(1)));
+        cache.get(2L, this::load);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void testFailedLoadIsRethrownAndNotCached() {
+        assertThrows(EntityNotFoundException.class, () -> cache.get(1L, itemId -> {
+            throw new EntityNotFoundException("Предмет", itemId);
+        }));
+        cache.get(1L, this::load);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedItem() {
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+        cache.get(1L, this::load);
+        cache.get(3L, this::load);
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+
+        assertEquals(4, loads.get());
+        assertEquals(2, cache.size());
+    }
+
+    private ItemView load(Long itemId) {
+        return view(itemId, null);
+    }
+
+    private ItemView view(Long itemId, LocalDateTime staleAt) {
+        loads.incrementAndGet();
+        return new ItemView(10L,
+                ItemAllFieldsDto.builder().id(itemId).build(),
+                ItemAllFieldsDto.builder().id(itemId).build(),
+                staleAt);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
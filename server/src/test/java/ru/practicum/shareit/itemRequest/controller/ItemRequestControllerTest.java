@@ -8,6 +8,8 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.itemRequest.dto.ItemRequestAllFieldsDto;
 import ru.practicum.shareit.itemRequest.dto.ItemRequestDto;
+import ru.practicum.shareit.itemRequest.dto.ItemRequestWindowDto;
+import ru.practicum.shareit.itemRequest.service.ItemRequestExportService;
 import ru.practicum.shareit.itemRequest.service.ItemRequestService;
 
 import java.time.LocalDateTime;
@@ -22,9 +24,13 @@ import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemRequestController.class)
@@ -33,6 +39,8 @@ public class ItemRequestControllerTest {
     private final String headerSharerUserId = "X-Sharer-User-Id";
     @MockBean
     ItemRequestService itemRequestService;
+    @MockBean
+    ItemRequestExportService itemRequestExportService;
     @Autowired
     ObjectMapper mapper;
     @Autowired
@@ -85,6 +93,21 @@ public class ItemRequestControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void scrollAllItemRequests() throws Exception {
+        when(itemRequestService.scrollAll(1L, "", 1))
+                .thenReturn(new ItemRequestWindowDto(List.of(itemRequestDto), "next"));
+        mvc.perform(get("/requests/all")
+                        .header(headerSharerUserId, 1)
+                        .param("size", "1")
+                        .param("cursor", "")
+                )
+                .andExpect(header().string("X-Next-Cursor", "next"))
+                .andExpect(jsonPath("$[0].id", is(itemRequestDto.getId()), Long.class))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void getAllItemRequestsById() throws Exception {
         when(itemRequestService.findAllUserRequests(anyLong(), anyInt(), anyInt()))
@@ -114,4 +137,20 @@ public class ItemRequestControllerTest {
                 .andExpect(jsonPath("$.items", hasSize(0)))
                 .andExpect(status().isOk());
     }
-}
\ No newline at end of file
+
+    @Test
+    void exportItemRequests() throws Exception {
+        when(itemRequestExportService.exportUserRequests(1L))
+                .thenReturn(outputStream -> outputStream.write("[{\"id\":1}]".getBytes(UTF_8)));
+        var result = mvc.perform(get("/requests/export")
+                        .header(headerSharerUserId, 1)
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].id", is(1)));
+    }
+}
@@ -0,0 +1,134 @@
+package ru.practicum.shareit.itemRequest.controller;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.itemRequest.model.ItemRequest;
+import ru.practicum.shareit.itemRequest.repository.ItemRequestRepository;
+import ru.practicum.shareit.itemRequest.service.ItemRequestExportService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemRequestQueryCountTest {
+    private final MockMvc mvc;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemRequestExportService itemRequestExportService;
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private Statistics statistics;
+    private User smallRequestor;
+    private User largeRequestor;
+    private ItemRequest answered;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        User owner = userRepository.save(new User(null, "Owner", "request-count-owner@mail.com"));
+        smallRequestor = userRepository.save(new User(null, "Small", "request-count-small@mail.com"));
+        largeRequestor = userRepository.save(new User(null, "Large", "request-count-large@mail.com"));
+        createRequests(smallRequestor, owner, 1);
+        answered = createRequests(largeRequestor, owner, 5);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getUserRequestsRunsSameNumberOfStatementsForAnyPageSize() throws Exception {
+        long small = statements(get("/requests").header("X-Sharer-User-Id", smallRequestor.getId()));
+        long large = statements(get("/requests").header("X-Sharer-User-Id", largeRequestor.getId()));
+
+        assertEquals(4, small);
+        assertEquals(small, large);
+    }
+
+    @Test
+    void getRequestReadsOnlyProjections() throws Exception {
+        assertEquals(4, statements(get("/requests/{requestId}", answered.getId())
+                .header("X-Sharer-User-Id", smallRequestor.getId())));
+        assertEquals(1, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void getAllRequestsReadsOnlyProjections() throws Exception {
+        assertEquals(2, statements(get("/requests/all")
+                .header("X-Sharer-User-Id", smallRequestor.getId())
+                .param("from", "0")
+                .param("size", "10")));
+        assertEquals(2, statements(get("/requests/all")
+                .header("X-Sharer-User-Id", smallRequestor.getId())
+                .param("cursor", "")
+                .param("size", "10")));
+        assertEquals(1, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void createRequestDoesNotReloadRequestor() throws Exception {
+        long created = statements(post("/requests")
+                .header("X-Sharer-User-Id", smallRequestor.getId())
+                .contentType(APPLICATION_JSON)
+                .content("{\"description\":\"need a ladder\"}"));
+
+        assertTrue(created <= 3, "user lookup, sequence and insert expected, got " + created);
+        assertEquals(1, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void exportRunsFourStatementsPerChunk() throws Exception {
+        statistics.clear();
+
+        itemRequestExportService.exportUserRequests(largeRequestor.getId()).writeTo(new ByteArrayOutputStream());
+
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    private long statements(MockHttpServletRequestBuilder request) throws Exception {
+        statistics.clear();
+        mvc.perform(request)
+                .andExpect(status().isOk());
+        entityManager.flush();
+        entityManager.clear();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private ItemRequest createRequests(User requestor, User owner, int count) {
+        LocalDateTime created = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        ItemRequest request = null;
+        for (int i = 0; i < count; i++) {
+            request = itemRequestRepository.save(new ItemRequest(null, "request " + i, requestor,
+                    created.plusSeconds(i), null));
+            for (int j = 0; j < 2; j++) {
+                itemRepository.save(new Item(null, "Item " + i + "-" + j, "about", true, owner, request));
+            }
+        }
+        return request;
+    }
+}
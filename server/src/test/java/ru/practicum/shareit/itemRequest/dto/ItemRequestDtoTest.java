@@ -41,7 +41,7 @@ public class ItemRequestDtoTest {
     @Test
     void serializeAllFieldsDto() throws Exception {
         ItemRequestAllFieldsDto all = new ItemRequestAllFieldsDto(
-                3L, "Y", LocalDateTime.now(), List.of()
+                3L, "Y", LocalDateTime.now(), List.of(), List.of()
         );
         var content = itemRequestAllFieldsDtoJacksonTester.write(all);
         assertThat(content).extractingJsonPathNumberValue("@.id").isEqualTo(3);
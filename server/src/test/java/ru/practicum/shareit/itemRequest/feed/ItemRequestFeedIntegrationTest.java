@@ -0,0 +1,83 @@
+package ru.practicum.shareit.itemRequest.feed;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.TestDatabase;
+import ru.practicum.shareit.itemRequest.dto.ItemRequestDto;
+import ru.practicum.shareit.itemRequest.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+// лента запросов в памяти включена, запись коммитится до следующего чтения - как между двумя запросами к API
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shareit-request-feed",
+        "shareit.item-request.feed.size=100"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemRequestFeedIntegrationTest {
+    private final ItemRequestService itemRequestService;
+    private final UserService userService;
+    private final JdbcTemplate jdbcTemplate;
+    private UserDto requester;
+    private UserDto viewer;
+
+    @BeforeEach
+    void setUp() {
+        requester = userService.create(new UserDto(null, "Requester", "feed-requester@mail.com"));
+        viewer = userService.create(new UserDto(null, "Viewer", "feed-viewer@mail.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestDatabase.clear(jdbcTemplate);
+    }
+
+    @Test
+    void findAllAfterCreateReturnsNewRequestFirst() {
+        ItemRequestDto first = create("Need a tent");
+        assertEquals(first.getId(), findAll().get(0));
+
+        ItemRequestDto second = create("Need a stove");
+
+        assertEquals(List.of(second.getId(), first.getId()), findAll().subList(0, 2));
+        assertFalse(itemRequestService.findAll(requester.getId(), 0, 10).stream()
+                .anyMatch(request -> request.getId().equals(second.getId())));
+    }
+
+    @Test
+    void scrollAllAfterCreateReturnsNewRequestFirst() {
+        ItemRequestDto first = create("Need a kayak");
+        assertEquals(first.getId(), scrollAll().get(0));
+
+        ItemRequestDto second = create("Need a paddle");
+
+        assertEquals(List.of(second.getId(), first.getId()), scrollAll().subList(0, 2));
+    }
+
+    private ItemRequestDto create(String description) {
+        return itemRequestService.create(ItemRequestDto.builder().description(description).build(),
+                requester.getId());
+    }
+
+    private List<Long> findAll() {
+        return itemRequestService.findAll(viewer.getId(), 0, 10).stream()
+                .map(ItemRequestDto::getId)
+                .toList();
+    }
+
+    private List<Long> scrollAll() {
+        return itemRequestService.scrollAll(viewer.getId(), null, 10).getRequests().stream()
+                .map(ItemRequestDto::getId)
+                .toList();
+    }
+}
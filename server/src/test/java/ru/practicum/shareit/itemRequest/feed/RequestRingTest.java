@@ -0,0 +1,74 @@
+package ru.practicum.shareit.itemRequest.feed;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.itemRequest.dto.ItemRequestCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestRingTest {
+    private final LocalDateTime base = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void testPageKeepsNewestFirstAndSkipsOwnRequests() {
+        RequestRing ring = new RequestRing(10);
+        ring.add(entry(1L, 1L, 1));
+        ring.add(entry(3L, 2L, 3));
+        ring.add(entry(2L, 2L, 3));
+        ring.add(entry(4L, 1L, 4));
+        ring.add(entry(3L, 2L, 3));
+
+        assertEquals(List.of(4L, 3L, 2L, 1L), ids(ring.page(9L, ItemRequestCursor.FIRST, 0, 10)));
+        assertEquals(List.of(3L, 2L), ids(ring.page(1L, ItemRequestCursor.FIRST, 0, 10)));
+        assertEquals(List.of(2L, 1L), ids(ring.page(9L, ItemRequestCursor.FIRST, 2, 10)));
+        assertEquals(List.of(2L, 1L), ids(ring.page(9L, new ItemRequestCursor(base.plusHours(3), 3L), 0, 10)));
+        assertEquals(4, ring.size());
+    }
+
+    @Test
+    void testOverflowEvictsOldestAndSendsTailToDatabase() {
+        RequestRing ring = new RequestRing(3);
+        for (long id = 1; id <= 5; id++) {
+            ring.add(entry(id, 1L, (int) id));
+        }
+        ring.add(entry(6L, 1L, 0));
+
+        assertEquals(3, ring.size());
+        assertEquals(List.of(5L, 4L), ids(ring.page(9L, ItemRequestCursor.FIRST, 0, 2)));
+        assertEquals(List.of(5L, 4L, 3L), ids(ring.page(9L, ItemRequestCursor.FIRST, 0, 3)));
+        assertNull(ring.page(9L, ItemRequestCursor.FIRST, 0, 4));
+        assertNull(ring.page(9L, new ItemRequestCursor(base.plusHours(4), 4L), 1, 1));
+    }
+
+    @Test
+    void testLateRequestIsInsertedInOrder() {
+        RequestRing ring = new RequestRing(3);
+        ring.add(entry(1L, 1L, 1));
+        ring.add(entry(3L, 1L, 3));
+        ring.add(entry(4L, 1L, 4));
+        ring.add(entry(2L, 1L, 2));
+
+        assertEquals(List.of(4L, 3L, 2L), ids(ring.page(9L, ItemRequestCursor.FIRST, 0, 3)));
+    }
+
+    @Test
+    void testSmallFeedAnswersWholePage() {
+        RequestRing ring = new RequestRing(10);
+        ring.add(entry(1L, 1L, 1));
+
+        assertEquals(List.of(1L), ids(ring.page(9L, ItemRequestCursor.FIRST, 0, 10)));
+        assertEquals(List.of(), ids(ring.page(9L, ItemRequestCursor.FIRST, 5, 10)));
+    }
+
+    private ItemRequestFeedEntry entry(Long id, Long requestorId, int hours) {
+        return new ItemRequestFeedEntry(id, requestorId, "request " + id, base.plusHours(hours));
+    }
+
+    private static List<Long> ids(List<ItemRequestFeedEntry> entries) {
+        return entries.stream()
+                .map(ItemRequestFeedEntry::id)
+                .toList();
+    }
+}
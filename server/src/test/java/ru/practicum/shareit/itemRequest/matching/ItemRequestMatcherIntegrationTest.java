@@ -0,0 +1,79 @@
+package ru.practicum.shareit.itemRequest.matching;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.TestDatabase;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemRequestItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.itemRequest.dto.ItemRequestDto;
+import ru.practicum.shareit.itemRequest.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// подбор предметов идет по расписанию каждые 100 мс, тест ждет его результата
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shareit-request-matcher",
+        "shareit.item-request.matching.interval=PT0.1S"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemRequestMatcherIntegrationTest {
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private final ItemRequestService itemRequestService;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final JdbcTemplate jdbcTemplate;
+    private UserDto owner;
+    private UserDto requester;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.create(new UserDto(null, "Owner", "matcher-owner@mail.com"));
+        requester = userService.create(new UserDto(null, "Requester", "matcher-requester@mail.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestDatabase.clear(jdbcTemplate);
+    }
+
+    @Test
+    void findAfterMatchingReturnsSuggestedItemWhileAvailable() throws InterruptedException {
+        ItemDto ladder = itemService.create(new ItemDto(null, "Folding ladder", "Three meters", true, null),
+                owner.getId());
+        ItemRequestDto request = itemRequestService.create(
+                ItemRequestDto.builder().description("Need a ladder").build(), requester.getId());
+
+        assertEquals(List.of(ladder.getId()), awaitSuggestions(request.getId()));
+
+        itemService.update(new ItemDto(null, null, null, false, null), ladder.getId(), owner.getId());
+
+        assertEquals(List.of(), suggestions(request.getId()));
+    }
+
+    private List<Long> awaitSuggestions(Long requestId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        List<Long> suggestions = suggestions(requestId);
+        while (suggestions.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            suggestions = suggestions(requestId);
+        }
+        return suggestions;
+    }
+
+    private List<Long> suggestions(Long requestId) {
+        return itemRequestService.find(requestId, requester.getId()).getSuggestions().stream()
+                .map(ItemRequestItemDto::getId)
+                .toList();
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.itemRequest.matching;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.item.index.ItemText;
+import ru.practicum.shareit.item.index.RankedItemSearch;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.itemRequest.model.ItemRequest;
+import ru.practicum.shareit.itemRequest.model.RequestSuggestion;
+import ru.practicum.shareit.itemRequest.repository.ItemRequestRepository;
+import ru.practicum.shareit.itemRequest.repository.RequestSuggestionRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemRequestMatcherTest {
+    @Mock
+    private ItemRequestRepository itemRequestRepository;
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private RequestSuggestionRepository requestSuggestionRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private RankedItemSearch rankedItemSearch;
+    private ItemRequestMatcher matcher;
+
+    private final User requestor = new User(1L, "Requestor", "requestor@mail.com");
+    private final User owner = new User(2L, "Owner", "owner@mail.com");
+
+    @BeforeEach
+    void setUp() {
+        rankedItemSearch = new RankedItemSearch(itemRepository);
+        matcher = new ItemRequestMatcher(itemRequestRepository, itemRepository, requestSuggestionRepository,
+                rankedItemSearch, transactionManager);
+    }
+
+    @Test
+    void testMatchPendingSuggestsOthersItemsAndMarksRequest() {
+        loadIndex(new ItemText(10L, "Cordless drill", "18V"), new ItemText(11L, "Drill", "Mine"),
+                new ItemText(12L, "Kayak", "Two seats"));
+        ItemRequest request = new ItemRequest(5L, "Need a drill", requestor, LocalDateTime.now(), null);
+        when(itemRequestRepository.findAllById(List.of(5L))).thenReturn(List.of(request));
+        when(itemRepository.findAllById(List.of(11L, 10L))).thenReturn(List.of(
+                new Item(10L, "Cordless drill", "18V", true, owner, null),
+                new Item(11L, "Drill", "Mine", true, requestor, null)));
+
+        matcher.enqueue(5L);
+        matcher.matchPending();
+
+        ArgumentCaptor<List<RequestSuggestion>> saved = ArgumentCaptor.captor();
+        verify(requestSuggestionRepository).saveAll(saved.capture());
+        assertEquals(List.of(10L), saved.getValue().stream().map(suggestion -> suggestion.getItem().getId()).toList());
+        assertNotNull(request.getMatchedAt());
+    }
+
+    @Test
+    void testMatchPendingPicksUpUnmatchedBacklogOnce() {
+        loadIndex();
+        when(itemRequestRepository.findUnmatchedIds(Limit.of(100))).thenReturn(List.of(7L));
+        ItemRequest request = new ItemRequest(7L, "Need a tent", requestor, LocalDateTime.now(), null);
+        when(itemRequestRepository.findAllById(List.of(7L))).thenReturn(List.of(request));
+
+        matcher.matchPending();
+        matcher.matchPending();
+
+        verify(itemRequestRepository, times(1)).findUnmatchedIds(any());
+        assertNotNull(request.getMatchedAt());
+    }
+
+    @Test
+    void testMatchPendingWaitsForIndex() {
+        matcher.enqueue(5L);
+
+        matcher.matchPending();
+
+        verifyNoInteractions(itemRequestRepository, requestSuggestionRepository);
+    }
+
+    private void loadIndex(ItemText... items) {
+        when(itemRepository.findAvailableTextsByIdAfter(anyLong(), any())).thenReturn(List.of(items));
+        rankedItemSearch.load();
+    }
+}
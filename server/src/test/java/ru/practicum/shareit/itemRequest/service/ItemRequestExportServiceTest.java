@@ -0,0 +1,90 @@
+package ru.practicum.shareit.itemRequest.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.itemRequest.dto.ItemRequestDto;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemRequestExportServiceTest {
+    private final ItemRequestExportService itemRequestExportService;
+    private final ItemRequestService itemRequestService;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private UserDto requestor;
+    private UserDto owner;
+    private List<ItemRequestDto> requests;
+
+    @BeforeEach
+    void setUp() {
+        requestor = userService.create(new UserDto(null, "Requestor", "requestor@mail.com"));
+        owner = userService.create(new UserDto(null, "Owner", "owner@mail.com"));
+
+        requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            requests.add(itemRequestService.create(ItemRequestDto.builder()
+                    .description("request " + i)
+                    .build(), requestor.getId()));
+        }
+        itemService.create(new ItemDto(null, "Tent", "about", true, requests.get(1).getId()), owner.getId());
+        itemService.create(new ItemDto(null, "Kayak", "about", true, requests.get(1).getId()), owner.getId());
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void exportUserRequestsTest() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        itemRequestExportService.exportUserRequests(requestor.getId()).writeTo(outputStream);
+
+        JsonNode exported = objectMapper.readTree(outputStream.toByteArray());
+        assertEquals(3, exported.size());
+        for (int i = 0; i < exported.size(); i++) {
+            ItemRequestDto expected = requests.get(requests.size() - 1 - i);
+            assertEquals(expected.getId(), exported.get(i).get("id").asLong());
+            assertEquals(expected.getDescription(), exported.get(i).get("description").asText());
+        }
+        JsonNode items = exported.get(1).get("items");
+        assertEquals(2, items.size());
+        assertEquals("Tent", items.get(0).get("name").asText());
+        assertEquals(owner.getId(), items.get(0).get("ownerId").asLong());
+        assertEquals(0, exported.get(0).get("items").size());
+    }
+
+    @Test
+    void exportUserWithoutRequestsTest() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        itemRequestExportService.exportUserRequests(owner.getId()).writeTo(outputStream);
+
+        assertEquals("[]", outputStream.toString().replaceAll("\\s", ""));
+    }
+
+    @Test
+    void exportUnknownUserTest() {
+        assertThrows(EntityNotFoundException.class, () -> itemRequestExportService.exportUserRequests(999L));
+    }
+}
@@ -11,10 +11,15 @@ import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.itemRequest.dto.ItemRequestAllFieldsDto;
 import ru.practicum.shareit.itemRequest.dto.ItemRequestDto;
+import ru.practicum.shareit.itemRequest.dto.ItemRequestWindowDto;
+import ru.practicum.shareit.itemRequest.model.ItemRequest;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -107,4 +112,29 @@ public class ItemRequestServiceTest {
         assertEquals(1, others.size());
         assertEquals("about", others.iterator().next().getDescription());
     }
+
+    @Test
+    void testScrollAll_PagesThroughRequestsCreatedAtSameTime() {
+        UserDto other = userService.create(new UserDto(null, "Bob", "bob@mail.com"));
+        LocalDateTime created = LocalDateTime.of(2030, 1, 1, 10, 0);
+        for (String description : List.of("tent", "saw", "kayak")) {
+            entityManager.persist(ItemRequest.builder()
+                    .description(description)
+                    .requestor(entityManager.getReference(User.class, other.getId()))
+                    .created(created)
+                    .build());
+        }
+        entityManager.flush();
+
+        ItemRequestWindowDto first = itemRequestService.scrollAll(user.getId(), null, 2);
+        ItemRequestWindowDto second = itemRequestService.scrollAll(user.getId(), first.getNextCursor(), 2);
+
+        assertEquals(List.of("kayak", "saw"), first.getRequests().stream()
+                .map(ItemRequestDto::getDescription)
+                .toList());
+        assertEquals(List.of("tent"), second.getRequests().stream()
+                .map(ItemRequestDto::getDescription)
+                .toList());
+        assertNull(second.getNextCursor());
+    }
 }
\ No newline at end of file
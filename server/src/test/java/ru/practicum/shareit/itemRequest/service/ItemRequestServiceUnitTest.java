@@ -1,20 +1,29 @@
 package ru.practicum.shareit.itemRequest.service;
 
+import jakarta.validation.ValidationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.exception.EntityNotFoundException;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.dto.ItemRequestItemDto;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.itemRequest.dto.ItemRequestAllFieldsDto;
 import ru.practicum.shareit.itemRequest.dto.ItemRequestDto;
+import ru.practicum.shareit.itemRequest.dto.ItemRequestWindowDto;
+import ru.practicum.shareit.itemRequest.dto.RequestItemView;
+import ru.practicum.shareit.itemRequest.feed.ItemRequestFeed;
+import ru.practicum.shareit.itemRequest.feed.ItemRequestFeedEntry;
 import ru.practicum.shareit.itemRequest.mapper.ItemRequestMapper;
+import ru.practicum.shareit.itemRequest.matching.ItemRequestMatcher;
 import ru.practicum.shareit.itemRequest.model.ItemRequest;
 import ru.practicum.shareit.itemRequest.repository.ItemRequestRepository;
+import ru.practicum.shareit.itemRequest.repository.RequestSuggestionRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -37,7 +46,12 @@ public class ItemRequestServiceUnitTest {
     private ItemRepository itemRepository;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private RequestSuggestionRepository requestSuggestionRepository;
+    @Mock
+    private ItemRequestMatcher itemRequestMatcher;
     private ItemRequestService itemRequestService;
+    private ItemRequestFeed itemRequestFeed;
     private ItemRequestDto itemRequestDto;
     private ItemRequest itemRequest;
     private UserDto userDto;
@@ -56,7 +70,9 @@ public class ItemRequestServiceUnitTest {
                 .description("my request")
                 .created(LocalDateTime.now())
                 .build();
-        itemRequestService = new ItemRequestServiceImpl(itemRequestRepository, userRepository, itemRepository);
+        itemRequestFeed = new ItemRequestFeed(itemRequestRepository, 100);
+        itemRequestService = new ItemRequestServiceImpl(itemRequestRepository, userRepository, itemRepository,
+                itemRequestFeed, requestSuggestionRepository, itemRequestMatcher);
         itemRequest = ItemRequestMapper.toItemRequest(itemRequestDto, userDto.getId());
         itemRequest.setId(itemRequestDto.getId());
     }
@@ -71,6 +87,7 @@ public class ItemRequestServiceUnitTest {
         assertEquals(itemRequest.getId(), created.getId());
         assertEquals(itemRequest.getDescription(), created.getDescription());
         verify(itemRequestRepository, times(1)).save(any(ItemRequest.class));
+        verify(itemRequestMatcher).enqueue(itemRequest.getId());
     }
 
     @Test
@@ -84,20 +101,22 @@ public class ItemRequestServiceUnitTest {
     @Test
     void testFindById_Success() {
         when(userRepository.findById(userDto.getId())).thenReturn(Optional.of(user));
-        when(itemRequestRepository.findById(itemRequest.getId()))
-                .thenReturn(Optional.of(itemRequest));
-        when(itemRepository.findAllByRequest_Id(itemRequest.getId()))
-                .thenReturn(List.of(new Item(1L, "Drill", "Electric",
-                        true, user, itemRequest)));
+        when(itemRequestRepository.findFeedEntryById(itemRequest.getId()))
+                .thenReturn(Optional.of(ItemRequestMapper.toFeedEntry(itemRequest)));
+        when(itemRepository.findRequestItemViews(List.of(itemRequest.getId())))
+                .thenReturn(List.of(new RequestItemView(itemRequest.getId(), 1L, "Drill", user.getId())));
+        when(requestSuggestionRepository.findAvailableByRequestIdIn(List.of(itemRequest.getId())))
+                .thenReturn(List.of(new RequestItemView(itemRequest.getId(), 5L, "Cordless drill", 3L)));
 
         ItemRequestAllFieldsDto found =
                 itemRequestService.find(itemRequest.getId(), userDto.getId());
 
         assertEquals(itemRequest.getId(), found.getId());
         assertEquals(1, found.getItems().size());
+        assertEquals(List.of(new ItemRequestItemDto(5L, "Cordless drill", 3L)), found.getSuggestions());
         assertEquals("Drill", found.getItems().iterator().next().getName());
-        verify(itemRequestRepository, times(1)).findById(itemRequest.getId());
-        verify(itemRepository, times(1)).findAllByRequest_Id(itemRequest.getId());
+        verify(itemRequestRepository, times(1)).findFeedEntryById(itemRequest.getId());
+        verify(itemRepository, times(1)).findRequestItemViews(List.of(itemRequest.getId()));
     }
 
     @Test
@@ -111,7 +130,7 @@ public class ItemRequestServiceUnitTest {
     @Test
     void testFindById_NotFound() {
         when(userRepository.findById(userDto.getId())).thenReturn(Optional.of(user));
-        when(itemRequestRepository.findById(itemRequest.getId()))
+        when(itemRequestRepository.findFeedEntryById(itemRequest.getId()))
                 .thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class,
@@ -121,25 +140,10 @@ public class ItemRequestServiceUnitTest {
     @Test
     void testFindAllUserRequests_Success() {
         when(userRepository.findById(userDto.getId())).thenReturn(Optional.of(user));
-        when(itemRequestRepository.findAllByRequestor_IdOrderByCreatedDesc(
-                eq(userDto.getId()), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(singletonList(itemRequest)));
-        Item i = Item.builder()
-                .id(2L)
-                .name("Saw")
-                .description("Hand saw")
-                .available(true)
-                .owner(user)
-                .request(ItemRequest.builder()
-                        .id(itemRequest.getId())
-                        .created(itemRequest.getCreated())
-                        .requestor(user)
-                        .description(itemRequest.getDescription())
-                        .build())
-                .build();
-
-        when(itemRepository.findAllByRequest_IdIn(anyCollection()))
-                .thenReturn(List.of(i));
+        when(itemRequestRepository.findUserRequests(eq(userDto.getId()), any(PageRequest.class)))
+                .thenReturn(new SliceImpl<>(singletonList(ItemRequestMapper.toFeedEntry(itemRequest))));
+        when(itemRepository.findRequestItemViews(anyCollection()))
+                .thenReturn(List.of(new RequestItemView(itemRequest.getId(), 2L, "Saw", user.getId())));
 
         Collection<ItemRequestAllFieldsDto> list =
                 itemRequestService.findAllUserRequests(userDto.getId(), 0, 10);
@@ -150,9 +154,9 @@ public class ItemRequestServiceUnitTest {
         assertEquals("Saw", dto.getItems().iterator().next().getName());
 
         verify(itemRequestRepository)
-                .findAllByRequestor_IdOrderByCreatedDesc(eq(userDto.getId()), any(PageRequest.class));
+                .findUserRequests(eq(userDto.getId()), any(PageRequest.class));
         verify(itemRepository)
-                .findAllByRequest_IdIn(anyCollection());
+                .findRequestItemViews(anyCollection());
     }
 
     @Test
@@ -165,9 +169,8 @@ public class ItemRequestServiceUnitTest {
     @Test
     void testFindAllOtherUsers_Success() {
         when(userRepository.findById(userDto.getId())).thenReturn(Optional.of(user));
-        when(itemRequestRepository.findAllByRequestor_IdNotOrderByCreatedDesc(
-                eq(userDto.getId()), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(singletonList(itemRequest)));
+        when(itemRequestRepository.findFeed(eq(userDto.getId()), any(PageRequest.class)))
+                .thenReturn(new SliceImpl<>(singletonList(ItemRequestMapper.toFeedEntry(itemRequest))));
 
         Collection<ItemRequestDto> others =
                 itemRequestService.findAll(userDto.getId(), 0, 10);
@@ -178,13 +181,71 @@ public class ItemRequestServiceUnitTest {
     @Test
     void testFindAllOtherUsers_Empty() {
         when(userRepository.findById(userDto.getId())).thenReturn(Optional.of(user));
-        when(itemRequestRepository.findAllByRequestor_IdNotOrderByCreatedDesc(
-                eq(userDto.getId()), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(List.of()));
+        when(itemRequestRepository.findFeed(eq(userDto.getId()), any(PageRequest.class)))
+                .thenReturn(new SliceImpl<>(List.of()));
 
         Collection<ItemRequestDto> others =
                 itemRequestService.findAll(userDto.getId(), 0, 10);
 
         assertTrue(others.isEmpty());
     }
+
+    @Test
+    void testFindAllOtherUsers_ReturnsAllWithoutPagination() {
+        when(userRepository.findById(userDto.getId())).thenReturn(Optional.of(user));
+        when(itemRequestRepository.findFeed(userDto.getId(), Pageable.unpaged()))
+                .thenReturn(new SliceImpl<>(singletonList(ItemRequestMapper.toFeedEntry(itemRequest))));
+
+        Collection<ItemRequestDto> others = itemRequestService.findAll(userDto.getId(), null, null);
+
+        assertEquals(1, others.size());
+        verify(itemRequestRepository).findFeed(userDto.getId(), Pageable.unpaged());
+    }
+
+    @Test
+    void testFindAllOtherUsers_ServedFromFeedAfterLoad() {
+        LocalDateTime created = LocalDateTime.of(2030, 1, 1, 10, 0);
+        when(userRepository.findById(userDto.getId())).thenReturn(Optional.of(user));
+        when(itemRequestRepository.findNewestFeedEntries(any()))
+                .thenReturn(List.of(new ItemRequestFeedEntry(3L, 2L, "tent", created.plusHours(2)),
+                        new ItemRequestFeedEntry(2L, userDto.getId(), "own", created.plusHours(1)),
+                        new ItemRequestFeedEntry(1L, 2L, "kayak", created)));
+        itemRequestFeed.load();
+        itemRequestFeed.add(new ItemRequestFeedEntry(4L, 3L, "saw", created.plusHours(3)));
+
+        Collection<ItemRequestDto> others = itemRequestService.findAll(userDto.getId(), 0, 10);
+        Collection<ItemRequestDto> second = itemRequestService.findAll(userDto.getId(), 1, 1);
+
+        assertEquals(List.of(4L, 3L, 1L), others.stream().map(ItemRequestDto::getId).toList());
+        assertEquals(List.of(3L), second.stream().map(ItemRequestDto::getId).toList());
+        verify(itemRequestRepository, never()).findFeed(anyLong(), any());
+    }
+
+    @Test
+    void testScrollAll_PagesWithCursor() {
+        LocalDateTime created = LocalDateTime.of(2030, 1, 1, 10, 0);
+        when(userRepository.findById(userDto.getId())).thenReturn(Optional.of(user));
+        when(itemRequestRepository.findFeed(userDto.getId(), PageRequest.ofSize(3)))
+                .thenReturn(new SliceImpl<>(List.of(new ItemRequestFeedEntry(3L, 2L, "tent", created.plusHours(2)),
+                        new ItemRequestFeedEntry(2L, 2L, "saw", created.plusHours(1)),
+                        new ItemRequestFeedEntry(1L, 2L, "kayak", created))));
+        when(itemRequestRepository.findFeedAfter(userDto.getId(), created.plusHours(1), 2L, Limit.of(3)))
+                .thenReturn(List.of(new ItemRequestFeedEntry(1L, 2L, "kayak", created)));
+
+        ItemRequestWindowDto first = itemRequestService.scrollAll(userDto.getId(), null, 2);
+        ItemRequestWindowDto second = itemRequestService.scrollAll(userDto.getId(), first.getNextCursor(), 2);
+
+        assertEquals(List.of(3L, 2L), first.getRequests().stream().map(ItemRequestDto::getId).toList());
+        assertNotNull(first.getNextCursor());
+        assertEquals(List.of(1L), second.getRequests().stream().map(ItemRequestDto::getId).toList());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void testScrollAll_InvalidCursor() {
+        when(userRepository.findById(userDto.getId())).thenReturn(Optional.of(user));
+
+        assertThrows(ValidationException.class,
+                () -> itemRequestService.scrollAll(userDto.getId(), "not a cursor", 10));
+    }
 }
\ No newline at end of file
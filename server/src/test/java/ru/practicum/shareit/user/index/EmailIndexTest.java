@@ -0,0 +1,90 @@
+package ru.practicum.shareit.user.index;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EmailIndexTest {
+    @Mock
+    private UserRepository userRepository;
+
+    @Test
+    void testLoadReadsAllBatchesAndGrowsFilter() {
+        List<UserEmail> first = LongStream.rangeClosed(1, 1000)
+                .mapToObj(id -> new UserEmail(id, "user" + id + "@mail.com"))
+                .toList();
+        when(userRepository.findEmailsByIdAfter(0L, Limit.of(1000))).thenReturn(first);
+        when(userRepository.findEmailsByIdAfter(1000L, Limit.of(1000)))
+                .thenReturn(List.of(new UserEmail(1001L, "user1001@mail.com"),
+                        new UserEmail(1002L, "user1002@mail.com")));
+        EmailIndex index = new EmailIndex(userRepository);
+
+        assertFalse(index.isReady());
+        index.load();
+
+        assertTrue(index.isReady());
+        assertEquals(1002, index.size());
+        LongStream.rangeClosed(1, 1002).forEach(id -> assertTrue(index.mightContain("user" + id + "@mail.com")));
+        assertFalse(index.mightContain("user1003@mail.com"));
+        assertFalse(index.mightContain(null));
+    }
+
+    @Test
+    void testRebuildForgetsRemovedAndPicksUpEmailsFromOtherInstances() {
+        when(userRepository.findEmailsByIdAfter(0L, Limit.of(1000)))
+                .thenReturn(List.of(new UserEmail(1L, "john@mail.com")))
+                .thenReturn(List.of(new UserEmail(2L, "paul@mail.com")));
+        EmailIndex index = new EmailIndex(userRepository);
+        index.load();
+        assertTrue(index.mightContain("john@mail.com"));
+        assertFalse(index.mightContain("paul@mail.com"));
+
+        index.rebuild();
+
+        assertFalse(index.mightContain("john@mail.com"));
+        assertTrue(index.mightContain("paul@mail.com"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testEmailAddedDuringRebuildIsKept() {
+        EmailIndex index = new EmailIndex(userRepository);
+        when(userRepository.findEmailsByIdAfter(0L, Limit.of(1000))).thenAnswer(invocation -> {
+            index.add("ringo@mail.com");
+            return List.of(new UserEmail(1L, "john@mail.com"));
+        });
+
+        index.load();
+
+        assertTrue(index.mightContain("john@mail.com"));
+        assertTrue(index.mightContain("ringo@mail.com"));
+    }
+
+    @Test
+    void testOverfullFilterIsRebuiltByScheduledCheck() {
+        EmailIndex index = new EmailIndex(userRepository);
+        index.load();
+        when(userRepository.count()).thenReturn(1025L);
+
+        LongStream.rangeClosed(1, 1024).forEach(id -> index.add("user" + id + "@mail.com"));
+        index.rebuildIfOverfull();
+        index.add("user1025@mail.com");
+
+        verify(userRepository, times(1)).count();
+        index.rebuildIfOverfull();
+
+        verify(userRepository, times(2)).findEmailsByIdAfter(0L, Limit.of(1000));
+        verify(userRepository, times(2)).count();
+        assertFalse(index.isOverfull());
+    }
+}
@@ -1,36 +1,47 @@
 package ru.practicum.shareit.user.service;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import ru.practicum.shareit.exception.DuplicateEmailException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.index.EmailIndex;
+import ru.practicum.shareit.user.index.UserEmail;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.sql.SQLException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class UserServiceUnitTest {
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private ItemSummaryService itemSummaryService;
     private UserService userService;
+    private EmailIndex emailIndex;
     private UserDto userDto;
     private User user;
 
     @BeforeEach
     void setUp() {
-        userService = new UserServiceImpl(userRepository);
+        emailIndex = new EmailIndex(userRepository);
+        userService = new UserServiceImpl(userRepository, emailIndex, itemSummaryService);
         userDto = UserDto.builder()
                 .id(1L)
                 .name("Paul")
@@ -80,7 +91,7 @@ public class UserServiceUnitTest {
 
     @Test
     void testSaveUser_Success() {
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
 
         UserDto savedUser = userService.create(userDto);
 
@@ -88,13 +99,13 @@ public class UserServiceUnitTest {
         assertEquals(userDto.getName(), savedUser.getName());
         assertEquals(userDto.getEmail(), savedUser.getEmail());
 
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
     }
 
     @Test
     void testUpdateUser_Success() {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
 
         UserDto updatedUserDto = new UserDto(user.getId(), "Updated John", "updated.john@example.com");
 
@@ -103,15 +114,80 @@ public class UserServiceUnitTest {
         assertEquals(updatedUserDto.getName(), updatedUser.getName());
         assertEquals(updatedUserDto.getEmail(), updatedUser.getEmail());
 
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
+        verify(itemSummaryService).refreshCommentAuthor(user.getId());
     }
 
     @Test
     void testSaveUser_DuplicateEmail() {
-        when(userRepository.save(any(User.class))).thenThrow(new DuplicateEmailException("Email already exists"));
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(violation(User.EMAIL_CONSTRAINT));
+
+        assertThrows(DuplicateEmailException.class, () -> userService.create(userDto));
+
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
+    }
+
+    @Test
+    void testSaveUser_OtherConstraintViolationIsRethrown() {
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(violation("users_name_check"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> userService.create(userDto));
+    }
+
+    @Test
+    void testSaveUser_SkipsEmailLookupOnceIndexLoaded() {
+        when(userRepository.findEmailsByIdAfter(eq(0L), any()))
+                .thenReturn(List.of(new UserEmail(2L, "john@mail.com")));
+        emailIndex.load();
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
+
+        userService.create(userDto);
+
+        verify(userRepository, never()).existsByEmail(any());
+        assertTrue(emailIndex.mightContain(userDto.getEmail()));
+    }
+
+    @Test
+    void testSaveUser_DuplicateEmailConfirmedByDatabase() {
+        when(userRepository.findEmailsByIdAfter(eq(0L), any()))
+                .thenReturn(List.of(new UserEmail(2L, userDto.getEmail())));
+        emailIndex.load();
+        when(userRepository.existsByEmail(userDto.getEmail())).thenReturn(true);
 
         assertThrows(DuplicateEmailException.class, () -> userService.create(userDto));
 
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+    }
+
+    @Test
+    void testUpdateUser_AddsNewEmailToIndex() {
+        when(userRepository.findEmailsByIdAfter(eq(0L), any()))
+                .thenReturn(List.of(new UserEmail(user.getId(), user.getEmail())));
+        emailIndex.load();
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
+
+        userService.update(new UserDto(null, null, "new.paul@mail.com"), user.getId());
+
+        assertTrue(emailIndex.mightContain("new.paul@mail.com"));
+        verify(userRepository, never()).existsByEmail(any());
+        verify(itemSummaryService, never()).refreshCommentAuthor(any());
+    }
+
+    @Test
+    void testSaveUser_EmailTakenOnAnotherInstanceCaughtByConstraint() {
+        emailIndex.load();
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(violation(User.EMAIL_CONSTRAINT));
+
+        assertThrows(DuplicateEmailException.class, () -> userService.create(userDto));
+
+        verify(userRepository, never()).existsByEmail(any());
+    }
+
+    private static DataIntegrityViolationException violation(String constraintName) {
+        return new DataIntegrityViolationException("constraint violation",
+                new ConstraintViolationException("constraint violation", new SQLException(), constraintName));
     }
-}
\ No newline at end of file
+}